@@ -0,0 +1,23 @@
+package com.eadl.suivi_academique.cache;
+
+import java.util.Collection;
+
+import com.eadl.suivi_academique.utils.CachedEntity;
+
+/**
+ * Diffuse aux autres nœuds les modifications d'entités tenues en cache localement.
+ * Le nœud appelant met lui-même à jour ses caches ; les autres reçoivent l'événement via
+ * {@link CacheInvalidationListener} une fois la transaction appelante validée.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CachedEntity entity, String key);
+
+    // Lot de clés (import, validation par tranches) : les implémentations le diffusent d'un bloc
+    default void publishEach(CachedEntity entity, Collection<String> keys) {
+        keys.forEach(key -> publish(entity, key));
+    }
+
+    // Toutes les entités du type (suppression ou import massif)
+    void publishAll(CachedEntity entity);
+}
@@ -0,0 +1,16 @@
+package com.eadl.suivi_academique.cache;
+
+import java.util.List;
+
+import com.eadl.suivi_academique.utils.CachedEntity;
+
+// Appelé pour chaque modification faite sur un autre nœud ; key null : toutes les entités du type
+public interface CacheInvalidationListener {
+
+    void onInvalidation(CachedEntity entity, String key);
+
+    // Lot publié d'un bloc : un écouteur peut relire toutes les entités en une requête
+    default void onInvalidationEach(CachedEntity entity, List<String> keys) {
+        keys.forEach(key -> onInvalidation(entity, key));
+    }
+}
@@ -0,0 +1,142 @@
+package com.eadl.suivi_academique.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.dto.CoursDTO;
+import com.eadl.suivi_academique.dto.CursorPage;
+import com.eadl.suivi_academique.mappers.CoursMapper;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.utils.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache en lecture du catalogue des cours, devant CoursRepository : cours par code, pages
+ * de la liste, et catalogue complet indexé par crédits et par heures (TreeMap) pour les
+ * filtres « au moins N ». Bornés en taille et en durée de vie, vidés après chaque écriture
+ * validée.
+ */
+@Slf4j
+@Component
+public class CoursCatalogCache {
+
+    private static final String CATALOGUE = "catalogue";
+
+    private final CoursRepository coursRepository;
+    private final CoursMapper coursMapper;
+    private final Cache<String, CoursDTO> byCode;
+    private final Cache<String, CursorPage<CoursDTO>> pages;
+    // Une seule entrée : le catalogue complet, rechargé au premier filtre après invalidation
+    private final Cache<String, Catalogue> catalogue;
+
+    public CoursCatalogCache(
+            CoursRepository coursRepository,
+            CoursMapper coursMapper,
+            MeterRegistry meterRegistry,
+            @Value("${cours.cache.maximum-size:2000}") long maximumSize,
+            @Value("${cours.cache.pages-maximum-size:200}") long pagesMaximumSize,
+            @Value("${cours.cache.ttl:10m}") Duration ttl
+    ) {
+        this.coursRepository = coursRepository;
+        this.coursMapper = coursMapper;
+        this.byCode = register(meterRegistry, "cours.par-code",
+                Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build());
+        this.pages = register(meterRegistry, "cours.pages",
+                Caffeine.newBuilder().maximumSize(pagesMaximumSize).expireAfterWrite(ttl).recordStats().build());
+        this.catalogue = register(meterRegistry, "cours.catalogue",
+                Caffeine.newBuilder().maximumSize(1).expireAfterWrite(ttl).recordStats().build());
+    }
+
+    // null si le cours n'existe pas (les absences ne sont pas mises en cache)
+    public CoursDTO get(String codeCours) {
+        return byCode.get(codeCours, code -> coursRepository.findById(code).map(coursMapper::toDTO).orElse(null));
+    }
+
+    public CursorPage<CoursDTO> page(String after, int size, Supplier<CursorPage<CoursDTO>> loader) {
+        return pages.get(after + '\u001F' + size, key -> loader.get());
+    }
+
+    public List<CoursDTO> withMinCredit(int minCredit) {
+        return Catalogue.atLeast(catalogue().byCredit(), minCredit);
+    }
+
+    public List<CoursDTO> withMinHeures(int minHeures) {
+        return Catalogue.atLeast(catalogue().byHeures(), minHeures);
+    }
+
+    // Le cours modifié, les pages et le catalogue sont relus après la validation de l'écriture
+    public void invalidateAfterCommit(String codeCours) {
+        TransactionHooks.afterCommit(() -> {
+            byCode.invalidate(codeCours);
+            pages.invalidateAll();
+            catalogue.invalidateAll();
+        });
+    }
+
+    public void invalidateAllAfterCommit() {
+        TransactionHooks.afterCommit(() -> {
+            byCode.invalidateAll();
+            pages.invalidateAll();
+            catalogue.invalidateAll();
+        });
+    }
+
+    private Catalogue catalogue() {
+        return catalogue.get(CATALOGUE, key -> {
+            Catalogue loaded = Catalogue.of(coursMapper.toDTOs(coursRepository.findAll()));
+            log.info("Catalogue des cours chargé en cache : {} cours", loaded.size());
+            return loaded;
+        });
+    }
+
+    private static <V> Cache<String, V> register(MeterRegistry meterRegistry, String name, Cache<String, V> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .description("Part des lectures servies par le cache")
+                .register(meterRegistry);
+        return cache;
+    }
+
+    // Cours regroupés par valeur, triés par code dans chaque groupe
+    private record Catalogue(int size, NavigableMap<Integer, List<CoursDTO>> byCredit,
+            NavigableMap<Integer, List<CoursDTO>> byHeures) {
+
+        static Catalogue of(List<CoursDTO> cours) {
+            List<CoursDTO> sorted = new ArrayList<>(cours);
+            sorted.sort(Comparator.comparing(CoursDTO::getCodeCours));
+            return new Catalogue(sorted.size(), group(sorted, CoursDTO::getNbCreditCours),
+                    group(sorted, CoursDTO::getNbHeureCours));
+        }
+
+        static List<CoursDTO> atLeast(NavigableMap<Integer, List<CoursDTO>> index, int min) {
+            List<CoursDTO> result = new ArrayList<>();
+            index.tailMap(min, true).values().forEach(result::addAll);
+            return result;
+        }
+
+        private static NavigableMap<Integer, List<CoursDTO>> group(List<CoursDTO> sorted, ToIntFunction<CoursDTO> key) {
+            NavigableMap<Integer, List<CoursDTO>> index = new TreeMap<>();
+            for (CoursDTO cours : sorted) {
+                index.computeIfAbsent(key.applyAsInt(cours), k -> new ArrayList<>()).add(cours);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.eadl.suivi_academique.cache;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.utils.CachedEntity;
+import com.eadl.suivi_academique.utils.TransactionHooks;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bus en mémoire, pour un nœud unique et les tests (cache.invalidation.mode=local) : chaque
+ * publication est remise aux écouteurs de cette JVM dès la validation de la transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.mode", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<CacheInvalidationListener> listeners;
+
+    @Override
+    public void publish(CachedEntity entity, String key) {
+        TransactionHooks.afterCommit(() -> listeners.forEach(listener -> listener.onInvalidation(entity, key)));
+    }
+
+    @Override
+    public void publishEach(CachedEntity entity, Collection<String> keys) {
+        List<String> batch = List.copyOf(keys);
+        TransactionHooks.afterCommit(() -> listeners.forEach(listener -> listener.onInvalidationEach(entity, batch)));
+    }
+
+    @Override
+    public void publishAll(CachedEntity entity) {
+        publish(entity, null);
+    }
+}
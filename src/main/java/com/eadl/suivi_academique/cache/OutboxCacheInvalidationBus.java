@@ -0,0 +1,150 @@
+package com.eadl.suivi_academique.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.entities.CacheInvalidation;
+import com.eadl.suivi_academique.repositories.CacheInvalidationRepository;
+import com.eadl.suivi_academique.utils.CachedEntity;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bus par outbox en base (mode par défaut, MySQL seul suffit) : la publication insère une ligne
+ * dans la transaction de la modification, et chaque nœud relit la table toutes les
+ * poll-interval. Un nœud voit donc une modification distante au plus poll-interval après sa
+ * validation.
+ *
+ * Les identifiants AUTO_INCREMENT sont attribués à l'insertion mais visibles au commit : une
+ * ligne peut apparaître sous le dernier identifiant lu. Chaque lecture reprend donc aussi les
+ * lignes des grace-period dernières secondes, déjà traitées ou non ; cette fenêtre doit couvrir
+ * la plus longue transaction d'écriture et le décalage d'horloge entre nœuds.
+ *
+ * Un lot de clés est regroupé dans le moins de lignes possible (KEY_LENGTH caractères par
+ * ligne) : une tranche de validation ou un import n'écrit que quelques lignes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.mode", havingValue = "outbox", matchIfMissing = true)
+public class OutboxCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final CacheInvalidationRepository repository;
+    private final List<CacheInvalidationListener> listeners;
+    private final String nodeId;
+    private final Duration gracePeriod;
+    private final Duration retention;
+
+    private long lastId;
+    // Lignes lues au passage précédent et encore dans la fenêtre de rattrapage
+    private Set<Long> recent = new HashSet<>();
+
+    public OutboxCacheInvalidationBus(
+            CacheInvalidationRepository repository,
+            List<CacheInvalidationListener> listeners,
+            @Value("${cache.invalidation.node-id}") String nodeId,
+            @Value("${cache.invalidation.grace-period:30s}") Duration gracePeriod,
+            @Value("${cache.invalidation.retention:1h}") Duration retention
+    ) {
+        this.repository = repository;
+        this.listeners = listeners;
+        this.nodeId = nodeId;
+        this.gracePeriod = gracePeriod;
+        this.retention = retention;
+    }
+
+    // Les caches sont construits au démarrage : seules les modifications ultérieures comptent
+    @PostConstruct
+    synchronized void start() {
+        lastId = repository.findMaxId();
+        recent = new HashSet<>(repository.findSince(lastId, LocalDateTime.now().minus(gracePeriod)).stream()
+                .map(CacheInvalidation::getId)
+                .toList());
+        log.info("Bus d'invalidation (outbox) démarré : nœud {}, dernière invalidation {}", nodeId, lastId);
+    }
+
+    @Override
+    public void publish(CachedEntity entity, String key) {
+        repository.save(CacheInvalidation.builder()
+                .entityType(entity)
+                .entityKey(key)
+                .origin(nodeId)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Override
+    public void publishEach(CachedEntity entity, Collection<String> keys) {
+        StringBuilder packed = new StringBuilder();
+        for (String key : keys) {
+            if (!packed.isEmpty() && packed.length() + 1 + key.length() > CacheInvalidation.KEY_LENGTH) {
+                publish(entity, packed.toString());
+                packed.setLength(0);
+            }
+            if (!packed.isEmpty()) {
+                packed.append(CacheInvalidation.KEY_SEPARATOR);
+            }
+            packed.append(key);
+        }
+        if (!packed.isEmpty()) {
+            publish(entity, packed.toString());
+        }
+    }
+
+    @Override
+    public void publishAll(CachedEntity entity) {
+        publish(entity, null);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:1s}")
+    public synchronized void poll() {
+        List<CacheInvalidation> rows = repository.findSince(lastId, LocalDateTime.now().minus(gracePeriod));
+        Set<Long> seen = new HashSet<>(rows.size());
+        int applied = 0;
+        for (CacheInvalidation row : rows) {
+            seen.add(row.getId());
+            lastId = Math.max(lastId, row.getId());
+            if (!recent.contains(row.getId()) && !nodeId.equals(row.getOrigin())) {
+                dispatch(row.getEntityType(), row.getEntityKeys());
+                applied++;
+            }
+        }
+        recent = seen;
+        if (applied > 0) {
+            log.debug("{} invalidations distantes appliquées (dernière : {})", applied, lastId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.purge-interval:10m}")
+    public void purge() {
+        int deleted = repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Outbox des invalidations purgée : {} lignes", deleted);
+        }
+    }
+
+    // Un écouteur en échec ne doit pas priver les suivants de l'événement
+    private void dispatch(CachedEntity entity, List<String> keys) {
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                if (keys == null || keys.size() == 1) {
+                    listener.onInvalidation(entity, keys == null ? null : keys.get(0));
+                } else {
+                    listener.onInvalidationEach(entity, keys);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Invalidation {} {} non appliquée par {}", entity, keys,
+                        listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.eadl.suivi_academique.cache;
+
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.config.TokenRevocationRegistry;
+import com.eadl.suivi_academique.config.VerifiedTokenCache;
+import com.eadl.suivi_academique.entities.Affectation;
+import com.eadl.suivi_academique.entities.AffectationId;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.scheduling.ProgrammationConflictDetector;
+import com.eadl.suivi_academique.scheduling.SalleAvailabilityIndex;
+import com.eadl.suivi_academique.scheduling.WeeklyCalendar;
+import com.eadl.suivi_academique.search.CoursSearchIndex;
+import com.eadl.suivi_academique.search.PersonnelSearchIndex;
+import com.eadl.suivi_academique.utils.CachedEntity;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applique aux caches de ce nœud une modification faite ailleurs : éviction du cache de second
+ * niveau et des résultats de requêtes (l'horodatage des tables est propre à chaque nœud), puis
+ * relecture de l'entité pour les index en mémoire.
+ */
+@Slf4j
+@Component
+public class RemoteCacheEvictor implements CacheInvalidationListener {
+
+    private static final String COURS_AFFECTATIONS = Cours.class.getName() + ".affectations";
+
+    private final Cache secondLevelCache;
+    private final SalleRepository salleRepository;
+    private final CoursRepository coursRepository;
+    private final PersonnelRepository personnelRepository;
+    private final SalleAvailabilityIndex salleAvailabilityIndex;
+    private final CoursCatalogCache coursCatalogCache;
+    private final CoursSearchIndex coursSearchIndex;
+    private final PersonnelSearchIndex personnelSearchIndex;
+    private final ProgrammationRepository programmationRepository;
+    private final ProgrammationConflictDetector conflictDetector;
+    private final WeeklyCalendar weeklyCalendar;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public RemoteCacheEvictor(
+            EntityManagerFactory entityManagerFactory,
+            SalleRepository salleRepository,
+            CoursRepository coursRepository,
+            PersonnelRepository personnelRepository,
+            SalleAvailabilityIndex salleAvailabilityIndex,
+            CoursCatalogCache coursCatalogCache,
+            CoursSearchIndex coursSearchIndex,
+            PersonnelSearchIndex personnelSearchIndex,
+            ProgrammationRepository programmationRepository,
+            ProgrammationConflictDetector conflictDetector,
+            WeeklyCalendar weeklyCalendar,
+            TokenRevocationRegistry tokenRevocationRegistry,
+            VerifiedTokenCache verifiedTokenCache
+    ) {
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.salleRepository = salleRepository;
+        this.coursRepository = coursRepository;
+        this.personnelRepository = personnelRepository;
+        this.salleAvailabilityIndex = salleAvailabilityIndex;
+        this.coursCatalogCache = coursCatalogCache;
+        this.coursSearchIndex = coursSearchIndex;
+        this.personnelSearchIndex = personnelSearchIndex;
+        this.programmationRepository = programmationRepository;
+        this.conflictDetector = conflictDetector;
+        this.weeklyCalendar = weeklyCalendar;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @Override
+    public void onInvalidation(CachedEntity entity, String key) {
+        log.debug("Invalidation distante : {} {}", entity, key == null ? "(toutes)" : key);
+        // Une révocation ne touche aucune table lue par les requêtes en cache (déconnexions fréquentes)
+        if (entity != CachedEntity.TOKEN_REVOCATION) {
+            secondLevelCache.evictDefaultQueryRegion();
+        }
+        switch (entity) {
+            case SALLE -> {
+                evict(Salle.class, key);
+                if (key == null) {
+                    salleAvailabilityIndex.rebuild();
+                } else {
+                    salleRepository.findById(key).ifPresentOrElse(salleAvailabilityIndex::indexAfterCommit,
+                            () -> salleAvailabilityIndex.removeAfterCommit(key));
+                }
+            }
+            case COURS -> {
+                evict(Cours.class, key);
+                if (key == null) {
+                    coursCatalogCache.invalidateAllAfterCommit();
+                    coursSearchIndex.rebuild();
+                } else {
+                    coursCatalogCache.invalidateAfterCommit(key);
+                    coursRepository.findById(key).ifPresentOrElse(coursSearchIndex::indexAfterCommit,
+                            () -> coursSearchIndex.removeAfterCommit(key));
+                }
+            }
+            case PERSONNEL -> {
+                evict(Personnel.class, key);
+                if (key == null) {
+                    personnelSearchIndex.rebuild();
+                } else {
+                    personnelRepository.findById(key).ifPresentOrElse(personnelSearchIndex::indexAfterCommit,
+                            () -> personnelSearchIndex.removeAfterCommit(key));
+                }
+            }
+            // Les disponibilités des salles se lisent dans l'index des conflits
+            case PROGRAMMATION -> {
+                if (key == null) {
+                    conflictDetector.rebuild();
+                    weeklyCalendar.rebuild();
+                } else {
+                    refreshProgrammations(List.of(key));
+                }
+            }
+            // auto_evict_collection_cache n'agit que sur le nœud qui écrit
+            case AFFECTATION -> {
+                if (key == null) {
+                    secondLevelCache.evictEntityData(Affectation.class);
+                    secondLevelCache.evictCollectionData(COURS_AFFECTATIONS);
+                } else {
+                    AffectationId id = AffectationId.fromKey(key);
+                    secondLevelCache.evictEntityData(Affectation.class, id);
+                    secondLevelCache.evictCollectionData(COURS_AFFECTATIONS, id.getCodeCours());
+                }
+            }
+            // Les révocations sont déjà en base : seul l'état en mémoire de ce nœud est à rattraper
+            case TOKEN_REVOCATION -> {
+                tokenRevocationRegistry.reload(key);
+                if (key == null) {
+                    verifiedTokenCache.invalidateAll();
+                } else {
+                    verifiedTokenCache.invalidateAllOf(key);
+                }
+            }
+        }
+    }
+
+    // Seules les programmations sont relues par lot ; les autres entités clé par clé
+    @Override
+    public void onInvalidationEach(CachedEntity entity, List<String> keys) {
+        if (entity != CachedEntity.PROGRAMMATION) {
+            CacheInvalidationListener.super.onInvalidationEach(entity, keys);
+            return;
+        }
+        log.debug("Invalidation distante : {} x{}", entity, keys.size());
+        secondLevelCache.evictDefaultQueryRegion();
+        refreshProgrammations(keys);
+    }
+
+    // Deux requêtes pour tout le lot : créneaux encore occupés, puis résumés du calendrier
+    private void refreshProgrammations(List<String> keys) {
+        List<Integer> codes = keys.stream().map(Integer::valueOf).toList();
+        conflictDetector.refreshAfterCommit(codes,
+                programmationRepository.findSlotsByCodesExcludingStatus(codes, StatusProgrammation.NON_VALIDE));
+        weeklyCalendar.refreshAfterCommit(codes);
+    }
+
+    private void evict(Class<?> type, String key) {
+        if (key == null) {
+            secondLevelCache.evictEntityData(type);
+        } else {
+            secondLevelCache.evictEntityData(type, key);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.eadl.suivi_academique.config;
 
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,10 +13,12 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.eadl.suivi_academique.repositories.PersonnelRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -27,17 +33,43 @@ public class ApplicationConfig {
                 .orElseThrow(() -> new UsernameNotFoundException("Personnel non trouvé avec le login: " + username));
     }
 
+    // Pool borné pour la connexion, l'inscription et la création ; pool séparé pour les imports
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int poolSize,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.bulk-pool-size:#{T(java.lang.Math).max(1, T(java.lang.Runtime).getRuntime().availableProcessors() / 2)}}") int bulkPoolSize,
+            @Value("${security.password-hashing.max-wait:5s}") Duration maxWait,
+            @Value("${security.password-hashing.strength:0}") int strength,
+            @Value("${security.password-hashing.target-latency:250ms}") Duration targetLatency,
+            @Value("${security.password-hashing.min-strength:10}") int minStrength,
+            @Value("${security.password-hashing.max-strength:14}") int maxStrength
+    ) {
+        int bcryptStrength = strength > 0
+                ? strength
+                : BCryptCostCalibrator.calibrate(targetLatency, minStrength, maxStrength);
+
+        // Les hachages sont stockés sous la forme {bcrypt}$2a$<coût>$... ;
+        // les anciens hachages sans préfixe restent vérifiables puis sont migrés à la connexion.
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(
+                "bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, bulkPoolSize, maxWait, meterRegistry);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(
+            PasswordEncoder passwordEncoder,
+            PersonnelDetailsService personnelDetailsService
+    ) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Re-hachage transparent au coût courant après une connexion réussie
+        authProvider.setUserDetailsPasswordService(personnelDetailsService);
 
         return authProvider;
     }
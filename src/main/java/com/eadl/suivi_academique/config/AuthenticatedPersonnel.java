@@ -0,0 +1,24 @@
+package com.eadl.suivi_academique.config;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Principal construit directement à partir des claims signés du JWT,
+ * sans rechargement de l'entité Personnel.
+ */
+public record AuthenticatedPersonnel(String login, String codePersonnel, String rolePersonnel) implements Principal {
+
+    @Override
+    public String getName() {
+        return login;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + rolePersonnel));
+    }
+}
@@ -0,0 +1,45 @@
+package com.eadl.suivi_academique.config;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Choisit au démarrage le coût BCrypt le plus élevé dont le hachage reste
+ * sous la latence cible sur la machine courante.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Mot2Passe!";
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        // Échauffement du JIT pour ne pas surestimer le premier hachage
+        new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(strength).encode(SAMPLE_PASSWORD);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            log.debug("Calibration BCrypt : coût {} -> {} ms", strength, elapsed.toMillis());
+            if (elapsed.compareTo(targetLatency) > 0) {
+                break;
+            }
+            chosen = strength;
+            // Chaque incrément double le coût : inutile de mesurer si le suivant dépasse forcément
+            if (elapsed.multipliedBy(2).compareTo(targetLatency) > 0) {
+                break;
+            }
+        }
+
+        log.info("Coût BCrypt retenu : {} (latence cible {} ms)", chosen, targetLatency.toMillis());
+        return chosen;
+    }
+}
@@ -0,0 +1,176 @@
+package com.eadl.suivi_academique.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.eadl.suivi_academique.exceptions.authexception.PasswordHashingSaturatedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Exécute le hachage et la vérification des mots de passe sur un pool dédié et borné,
+ * pour qu'une rafale de connexions ne monopolise pas les threads Tomcat.
+ * Quand la file est pleine, la demande est rejetée immédiatement (HTTP 429).
+ *
+ * Les imports massifs ({@link #encodeAll}) passent par un second pool, plus petit et de priorité
+ * basse : un import de plusieurs milliers de comptes ne fait jamais attendre les connexions.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final Duration maxWait;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(
+            PasswordEncoder delegate,
+            int poolSize,
+            int queueCapacity,
+            int bulkPoolSize,
+            Duration maxWait,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        // File non bornée : un lot ne soumet qu'une tâche par thread, les imports concurrents attendent leur tour
+        CustomizableThreadFactory bulkThreadFactory = new CustomizableThreadFactory("password-hash-bulk-");
+        bulkThreadFactory.setThreadPriority(Thread.MIN_PRIORITY);
+        this.bulkExecutor = new ThreadPoolExecutor(
+                bulkPoolSize,
+                bulkPoolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                bulkThreadFactory
+        );
+
+        this.encodeTimer = Timer.builder("password.hashing.latency")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.latency")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    // Hachage d'un lot (import massif) : un sous-lot par thread du pool d'import, dans l'ordre d'entrée
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int threads = bulkExecutor.getMaximumPoolSize();
+        int chunkSize = Math.max(1, (rawPasswords.size() + threads - 1) / threads);
+        List<Future<List<String>>> chunks = new ArrayList<>();
+        try {
+            for (int from = 0; from < rawPasswords.size(); from += chunkSize) {
+                List<? extends CharSequence> chunk = rawPasswords.subList(from, Math.min(from + chunkSize, rawPasswords.size()));
+                chunks.add(bulkExecutor.submit(() -> chunk.stream()
+                        .map(raw -> encodeTimer.record(() -> delegate.encode(raw)))
+                        .toList()));
+            }
+        } catch (RejectedExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            rejectedCounter.increment();
+            throw new PasswordHashingSaturatedException("Pool de hachage saturé, réessayez l'import plus tard");
+        }
+
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        for (Future<List<String>> chunk : chunks) {
+            encoded.addAll(await(chunk));
+        }
+        return encoded;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingSaturatedException("Trop de demandes d'authentification, réessayez plus tard");
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new PasswordHashingSaturatedException("Délai de traitement du mot de passe dépassé, réessayez plus tard");
+        } catch (InterruptedException | ExecutionException e) {
+            throw unwrap(future, e);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw unwrap(future, e);
+        }
+    }
+
+    private RuntimeException unwrap(Future<?> future, Exception failure) {
+        if (failure instanceof InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return new IllegalStateException("Hachage du mot de passe interrompu", e);
+        }
+        if (failure.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Échec du hachage du mot de passe", failure.getCause());
+    }
+}
@@ -0,0 +1,12 @@
+package com.eadl.suivi_academique.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Lecture périodique de l'outbox des invalidations (OutboxCacheInvalidationBus)
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "cache.invalidation.mode", havingValue = "outbox", matchIfMissing = true)
+public class CacheInvalidationConfig {
+}
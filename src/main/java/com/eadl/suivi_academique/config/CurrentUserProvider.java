@@ -4,6 +4,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import com.eadl.suivi_academique.entities.Personnel;
+
 @Component
 public class CurrentUserProvider {
 
@@ -17,4 +19,19 @@ public class CurrentUserProvider {
 
         return authentication.getName();
     }
+
+    // Code du personnel connecté, que le principal vienne des claims du JWT ou de la base ; null sinon
+    public String getCodePersonnel() {
+        Authentication authentication =
+                SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null) {
+            return null;
+        }
+        return switch (authentication.getPrincipal()) {
+            case AuthenticatedPersonnel personnel -> personnel.codePersonnel();
+            case Personnel personnel -> personnel.getCodePersonnel();
+            case null, default -> null;
+        };
+    }
 }
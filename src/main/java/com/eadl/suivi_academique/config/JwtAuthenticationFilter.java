@@ -1,5 +1,6 @@
 package com.eadl.suivi_academique.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,6 +9,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +23,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // Mode sans état : l'authentification est construite à partir des claims, sans requête SQL
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
+
+    // Les réponses en flux (StreamingResponseBody) se terminent par un dispatch ASYNC,
+    // qui repasse par l'autorisation : le token doit donc y être relu
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -29,34 +44,71 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         @NonNull FilterChain filterChain
     ) throws ServletException, java.io.IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userLogin;
+        final String digest;
+        final VerifiedToken token;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userLogin = jwtUtil.extractUsername(jwt);
-
-        if (userLogin != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userLogin);
-            
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        // Signature vérifiée une seule fois par token, puis servie depuis le cache jusqu'à son expiration
+        try {
+            String jwt = authHeader.substring(7);
+            digest = VerifiedTokenCache.digest(jwt);
+            token = verifiedTokenCache.verify(digest, jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (tokenRevocationRegistry.isTokenRevoked(digest)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Les anciens tokens sans claims code/rôle repassent par le chargement du personnel
+            if (stateless && token.hasIdentityClaims()) {
+                authenticateFromClaims(request, token);
+            } else {
+                authenticateFromDatabase(request, token);
             }
         }
         filterChain.doFilter(request, response);
 
     }
 
+    private void authenticateFromDatabase(HttpServletRequest request, VerifiedToken token) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.subject());
+
+        if (jwtUtil.isTokenValid(token, userDetails)) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+    }
+
+    private void authenticateFromClaims(HttpServletRequest request, VerifiedToken token) {
+        if (token.isExpired() || tokenRevocationRegistry.isRevoked(token.subject(), token.issuedAt())) {
+            return;
+        }
+        AuthenticatedPersonnel principal = token.toPrincipal();
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()
+        );
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
 }
@@ -0,0 +1,27 @@
+package com.eadl.suivi_academique.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Taille de page par défaut et plafond communs à tous les endpoints de liste
+@Component
+public class PaginationSettings {
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public PaginationSettings(
+            @Value("${pagination.default-size:50}") int defaultSize,
+            @Value("${pagination.max-size:500}") int maxSize
+    ) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public int resolve(Integer requestedSize) {
+        if (requestedSize == null) {
+            return defaultSize;
+        }
+        return Math.max(1, Math.min(requestedSize, maxSize));
+    }
+}
@@ -1,19 +1,28 @@
 package com.eadl.suivi_academique.config;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
+
+import com.eadl.suivi_academique.entities.Personnel;
 import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.utils.CachedEntity;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class PersonnelDetailsService implements UserDetailsService {
+public class PersonnelDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final PersonnelRepository personnelRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -21,5 +30,20 @@ public class PersonnelDetailsService implements UserDetailsService {
         return personnelRepository.findByLoginPersonnel(username).orElseThrow(() -> new UsernameNotFoundException("Personnel introuvable avec le login: " + username));
     }
 
+    // Appelé par Spring Security après une connexion réussie quand le hachage stocké est obsolète.
+    // Les autres nœuds tiennent ce Personnel en cache de second niveau : l'invalidation part avec la mise à jour
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Personnel personnel = personnelRepository.findByLoginPersonnel(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Personnel introuvable avec le login: " + user.getUsername()));
+
+        personnel.setPasswordPersonnel(newPassword);
+        log.info("Hachage du mot de passe mis à niveau pour : {}", user.getUsername());
+        Personnel saved = personnelRepository.save(personnel);
+        cacheInvalidationBus.publish(CachedEntity.PERSONNEL, saved.getCodePersonnel());
+        return saved;
+    }
+
 
 }
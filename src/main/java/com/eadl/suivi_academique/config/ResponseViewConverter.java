@@ -0,0 +1,16 @@
+package com.eadl.suivi_academique.config;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.utils.ResponseView;
+
+// Enregistré automatiquement par Spring MVC pour les paramètres ?view=
+@Component
+public class ResponseViewConverter implements Converter<String, ResponseView> {
+
+    @Override
+    public ResponseView convert(String source) {
+        return ResponseView.from(source);
+    }
+}
@@ -0,0 +1,21 @@
+package com.eadl.suivi_academique.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Régions du cache de second niveau Hibernate (hibernate-cache.regions dans application.yml).
+ * Taille ou durée de vie absente : région non bornée sur ce critère.
+ */
+@ConfigurationProperties("hibernate-cache")
+public record SecondLevelCacheProperties(Map<String, Region> regions) {
+
+    public SecondLevelCacheProperties {
+        regions = regions == null ? Map.of() : Map.copyOf(regions);
+    }
+
+    public record Region(Long maximumSize, Duration ttl) {
+    }
+}
@@ -2,6 +2,7 @@ package com.eadl.suivi_academique.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -31,6 +32,11 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers("/api/salles/**")
                         .hasRole("ENSEIGNANT")
+                        // Circuit de validation réservé aux responsables
+                        .requestMatchers(HttpMethod.PATCH, "/programmations/*/statut")
+                        .hasAnyRole("RESPONSABLE_ACADEMIQUE", "RESPONSABLE_DISCIPLINE")
+                        .requestMatchers("/programmations/validations/**")
+                        .hasAnyRole("RESPONSABLE_ACADEMIQUE", "RESPONSABLE_DISCIPLINE")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
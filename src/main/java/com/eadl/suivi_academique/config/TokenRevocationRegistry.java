@@ -0,0 +1,155 @@
+package com.eadl.suivi_academique.config;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.entities.TokenRevocation;
+import com.eadl.suivi_academique.repositories.TokenRevocationRepository;
+import com.eadl.suivi_academique.utils.RevocationScope;
+import com.eadl.suivi_academique.utils.TransactionHooks;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registre de révocation des tokens émis avant un changement de compte
+ * (mot de passe, rôle, login, suppression) ou déconnectés.
+ *
+ * Chaque révocation est écrite en base dans la transaction appelante et rechargée au
+ * démarrage ; les maps en mémoire, consultées à chaque requête, ne sont mises à jour qu'après
+ * validation. La taille reste bornée : une entrée plus ancienne que la durée de vie d'un token
+ * ne peut plus rien révoquer et est purgée.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRegistry {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    // Empreinte du token déconnecté -> date d'expiration du token
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private volatile long globalRevokedBefore = 0L;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    // Un redémarrage ne doit réhabiliter aucun token révoqué
+    @PostConstruct
+    void load() {
+        long now = System.currentTimeMillis();
+        tokenRevocationRepository.deleteExpired(now);
+        List<TokenRevocation> active = tokenRevocationRepository.findByExpiresAtGreaterThan(now);
+        active.forEach(this::apply);
+        log.info("Registre de révocation chargé : {} révocations actives", active.size());
+    }
+
+    // Révocations validées par un autre nœud, relues en base (toutes si login est null)
+    public void reload(String login) {
+        long now = System.currentTimeMillis();
+        List<TokenRevocation> active = login == null
+                ? tokenRevocationRepository.findByExpiresAtGreaterThan(now)
+                : tokenRevocationRepository.findByLoginAndExpiresAtGreaterThan(login, now);
+        active.forEach(this::apply);
+    }
+
+    // Révoque tous les tokens émis jusqu'à maintenant pour ce login
+    public void revokeTokensOf(String login) {
+        if (login == null) {
+            return;
+        }
+        long threshold = nextSecond();
+        record(TokenRevocation.builder()
+                .revocationKey("login:" + login)
+                .scope(RevocationScope.LOGIN)
+                .login(login)
+                .revokedBefore(threshold)
+                .expiresAt(threshold + jwtExpiration)
+                .build());
+    }
+
+    // Révoque un token précis (déconnexion) jusqu'à son expiration
+    public void revokeToken(String login, String digest, Date expiration) {
+        record(TokenRevocation.builder()
+                .revocationKey("token:" + digest)
+                .scope(RevocationScope.TOKEN)
+                .login(login)
+                .digest(digest)
+                .expiresAt(expiration == null ? System.currentTimeMillis() : expiration.getTime())
+                .build());
+    }
+
+    // Révoque tous les tokens émis jusqu'à maintenant, tous comptes confondus
+    public void revokeAllTokens() {
+        long threshold = nextSecond();
+        record(TokenRevocation.builder()
+                .revocationKey("all")
+                .scope(RevocationScope.ALL)
+                .revokedBefore(threshold)
+                .expiresAt(threshold + jwtExpiration)
+                .build());
+    }
+
+    public boolean isRevoked(String login, Date issuedAt) {
+        if (issuedAt == null) {
+            return true;
+        }
+        long iat = issuedAt.getTime();
+        if (iat < globalRevokedBefore) {
+            return true;
+        }
+        Long threshold = revokedBefore.get(login);
+        return threshold != null && iat < threshold;
+    }
+
+    public boolean isTokenRevoked(String digest) {
+        return revokedTokens.containsKey(digest);
+    }
+
+    public int size() {
+        return revokedBefore.size() + revokedTokens.size();
+    }
+
+    private void record(TokenRevocation revocation) {
+        tokenRevocationRepository.deleteExpired(System.currentTimeMillis());
+        tokenRevocationRepository.save(revocation);
+        TransactionHooks.afterCommit(() -> {
+            purgeExpired();
+            apply(revocation);
+        });
+    }
+
+    private void apply(TokenRevocation revocation) {
+        switch (revocation.getScope()) {
+            case TOKEN -> revokedTokens.put(revocation.getDigest(), revocation.getExpiresAt());
+            case LOGIN -> revokedBefore.merge(revocation.getLogin(), revocation.getRevokedBefore(), Math::max);
+            case ALL -> {
+                // Les seuils par login antérieurs sont couverts par le seuil global
+                globalRevokedBefore = Math.max(globalRevokedBefore, revocation.getRevokedBefore());
+                revokedBefore.values().removeIf(threshold -> threshold <= globalRevokedBefore);
+            }
+        }
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long limit = now - jwtExpiration;
+        revokedBefore.values().removeIf(threshold -> threshold < limit);
+        revokedTokens.values().removeIf(expiration -> expiration < now);
+    }
+
+    // Le claim "iat" est tronqué à la seconde : on arrondit à la seconde supérieure
+    // pour qu'un token émis dans la même seconde que la révocation soit aussi rejeté.
+    private long nextSecond() {
+        return (System.currentTimeMillis() / 1000 + 1) * 1000;
+    }
+}
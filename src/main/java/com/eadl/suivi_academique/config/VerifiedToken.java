@@ -0,0 +1,41 @@
+package com.eadl.suivi_academique.config;
+
+import java.util.Date;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Vue immuable d'un JWT dont la signature a déjà été vérifiée :
+ * le token n'est parsé qu'une seule fois par requête.
+ */
+public record VerifiedToken(
+        String subject,
+        String codePersonnel,
+        String rolePersonnel,
+        Date issuedAt,
+        Date expiration
+) {
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(JwtUtil.CLAIM_CODE, String.class),
+                claims.get(JwtUtil.CLAIM_ROLE, String.class),
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
+    }
+
+    // Vrai si le code et le rôle sont signés dans le token (mode sans état possible)
+    public boolean hasIdentityClaims() {
+        return codePersonnel != null && rolePersonnel != null;
+    }
+
+    public boolean isExpired() {
+        return expiration == null || expiration.before(new Date());
+    }
+
+    public AuthenticatedPersonnel toPrincipal() {
+        return new AuthenticatedPersonnel(subject, codePersonnel, rolePersonnel);
+    }
+}
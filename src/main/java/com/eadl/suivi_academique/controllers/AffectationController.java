@@ -8,7 +8,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.eadl.suivi_academique.dto.AffectationDTO;
+import com.eadl.suivi_academique.dto.AffectationWorkload;
+import com.eadl.suivi_academique.dto.CursorPage;
 import com.eadl.suivi_academique.services.implementation.AffectationService;
+import com.eadl.suivi_academique.utils.ResponseView;
 
 @RestController
 @RequestMapping("/affectations")
@@ -23,21 +26,42 @@ public class AffectationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // Keyset pagination on (codeCours, codePersonnel), view=compact for codes and labels only
     @GetMapping
-    public ResponseEntity<List<AffectationDTO>> getAll() {
-        List<AffectationDTO> affectations = affectationService.getAll();
+    public ResponseEntity<CursorPage<?>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "expanded") ResponseView view) {
+        if (view.isCompact()) {
+            return ResponseEntity.ok(affectationService.getSummaries(cursor, size));
+        }
+        CursorPage<AffectationDTO> affectations = affectationService.getAll(cursor, size);
         return new ResponseEntity<>(affectations, HttpStatus.OK);
     }
 
     @GetMapping("/{codeCours}/{codePersonnel}")
-    public ResponseEntity<AffectationDTO> getById(
+    public ResponseEntity<?> getById(
             @PathVariable String codeCours,
-            @PathVariable String codePersonnel) {
+            @PathVariable String codePersonnel,
+            @RequestParam(defaultValue = "expanded") ResponseView view) {
+        if (view.isCompact()) {
+            return ResponseEntity.ok(affectationService.getSummary(codeCours, codePersonnel));
+        }
 
         AffectationDTO dto = affectationService.getById(codeCours, codePersonnel);
         return ResponseEntity.ok(dto);
     }
 
+    // Tableau de bord : charge de plusieurs enseignants en un appel (?codes=P1,P2 ou codes répétés)
+    @GetMapping("/charges/personnels")
+    public ResponseEntity<List<AffectationWorkload>> getPersonnelWorkloads(@RequestParam List<String> codes) {
+        return ResponseEntity.ok(affectationService.getPersonnelWorkloads(codes));
+    }
+
+    @GetMapping("/charges/cours")
+    public ResponseEntity<List<AffectationWorkload>> getCoursWorkloads(@RequestParam List<String> codes) {
+        return ResponseEntity.ok(affectationService.getCoursWorkloads(codes));
+    }
 
     @DeleteMapping("/{codeCours}/{codePersonnel}")
     public ResponseEntity<Void> delete(
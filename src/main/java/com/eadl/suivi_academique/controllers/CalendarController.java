@@ -0,0 +1,48 @@
+package com.eadl.suivi_academique.controllers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import com.eadl.suivi_academique.dto.WeekCalendarDTO;
+import com.eadl.suivi_academique.services.implementation.CalendarService;
+
+@RestController
+@RequestMapping("/programmations/calendrier")
+public class CalendarController {
+
+    private final CalendarService calendarService;
+
+    public CalendarController(CalendarService calendarService) {
+        this.calendarService = calendarService;
+    }
+
+    // Semaine d'un enseignant (?semaine=2030-W01) ; 304 si If-None-Match correspond encore
+    @GetMapping("/personnels/{codePersonnel}")
+    public ResponseEntity<WeekCalendarDTO> personnelWeek(
+            @PathVariable String codePersonnel,
+            @RequestParam(required = false) String semaine,
+            WebRequest request) {
+        return conditional(calendarService.getPersonnelWeek(codePersonnel, semaine), request);
+    }
+
+    @GetMapping("/salles/{codeSalle}")
+    public ResponseEntity<WeekCalendarDTO> salleWeek(
+            @PathVariable String codeSalle,
+            @RequestParam(required = false) String semaine,
+            WebRequest request) {
+        return conditional(calendarService.getSalleWeek(codeSalle, semaine), request);
+    }
+
+    private static ResponseEntity<WeekCalendarDTO> conditional(WeekCalendarDTO week, WebRequest request) {
+        String etag = "\"" + week.getVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(week);
+    }
+}
@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.eadl.suivi_academique.dto.CoursDTO;
+import com.eadl.suivi_academique.dto.CursorPage;
+import com.eadl.suivi_academique.dto.PageResponse;
 import com.eadl.suivi_academique.services.implementation.CoursService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,11 +36,13 @@ public class CoursController {
         return coursService.createCours(coursDTO);
     }
 
-    // READ - Récupérer tous les cours
+    // READ - Récupérer les cours page par page
     @GetMapping
-    @Operation(summary = "Afficher Cours", description = "Afficher tous les cours")
-    public ResponseEntity<List<CoursDTO>> getAllCours() {
-        List<CoursDTO> coursList = coursService.getAllCours();
+    @Operation(summary = "Afficher Cours", description = "Afficher les cours page par page (curseur)")
+    public ResponseEntity<CursorPage<CoursDTO>> getAllCours(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<CoursDTO> coursList = coursService.getAllCours(cursor, size);
         return new ResponseEntity<>(coursList, HttpStatus.OK);
     }
 
@@ -50,6 +54,17 @@ public class CoursController {
         return coursService.getCoursByCode(codeCours);
     }
 
+    // READ - Recherche plein texte (autocomplétion : le dernier mot peut être incomplet)
+    @GetMapping("/search")
+    @Operation(summary = "Rechercher cours", description = "Recherche classée sur le titre et la description")
+    public ResponseEntity<PageResponse<CoursDTO>> searchCours(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageResponse<CoursDTO> result = coursService.searchCours(query, page, size);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     // READ - Rechercher les cours par label
     @GetMapping("/search/label")
     @Operation(summary = "Rechercher cours", description = "Rechercher les cours par label")
@@ -1,5 +1,6 @@
 package com.eadl.suivi_academique.controllers;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,9 +13,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.eadl.suivi_academique.dto.CursorPage;
+import com.eadl.suivi_academique.dto.PageResponse;
 import com.eadl.suivi_academique.dto.PersonnelDTO;
+import com.eadl.suivi_academique.dto.PersonnelImportResult;
 import com.eadl.suivi_academique.services.implementation.PersonnelService;
 
 @RestController
@@ -31,13 +36,39 @@ public class PersonnelController {
         return new ResponseEntity<>(createdPersonnel, HttpStatus.CREATED);
     }
 
-    // READ - Récupérer tous les personnels
+    // CREATE - Import massif depuis un tableau JSON
+    @PostMapping("/import")
+    public ResponseEntity<PersonnelImportResult> importPersonnels(@RequestBody List<PersonnelDTO> personnels) {
+        PersonnelImportResult result = personnelService.importPersonnels(personnels);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // CREATE - Import massif depuis un fichier CSV (corps brut text/csv)
+    @PostMapping(value = "/import/csv", consumes = "text/csv")
+    public ResponseEntity<PersonnelImportResult> importPersonnelsCsv(InputStream csv) {
+        PersonnelImportResult result = personnelService.importPersonnelsCsv(csv);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // READ - Récupérer les personnels page par page (curseur)
     @GetMapping
-    public ResponseEntity<List<PersonnelDTO>> getAllPersonnels() {
-        List<PersonnelDTO> personnels = personnelService.getAllPersonnels();
+    public ResponseEntity<CursorPage<PersonnelDTO>> getAllPersonnels(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<PersonnelDTO> personnels = personnelService.getAllPersonnels(cursor, size);
         return new ResponseEntity<>(personnels, HttpStatus.OK);
     }
 
+    // READ - Recherche par nom ou login (sélecteur de personnel)
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<PersonnelDTO>> searchPersonnels(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageResponse<PersonnelDTO> result = personnelService.searchPersonnels(query, page, size);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     // READ - Récupérer un personnel par son code
     @GetMapping("/{codePersonnel}")
     public ResponseEntity<PersonnelDTO> getPersonnelByCode(@PathVariable String codePersonnel) {
@@ -0,0 +1,35 @@
+package com.eadl.suivi_academique.controllers;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.eadl.suivi_academique.dto.PlanningJobDTO;
+import com.eadl.suivi_academique.dto.PlanningRequest;
+import com.eadl.suivi_academique.services.implementation.PlanningService;
+
+@RestController
+@RequestMapping("/programmations/planning")
+public class PlanningController {
+
+    private final PlanningService planningService;
+
+    public PlanningController(PlanningService planningService) {
+        this.planningService = planningService;
+    }
+
+    // Génération asynchrone : 202 + Location à interroger pour suivre la progression
+    @PostMapping
+    public ResponseEntity<PlanningJobDTO> generate(@RequestBody PlanningRequest request) {
+        PlanningJobDTO job = planningService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/programmations/planning/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PlanningJobDTO> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(planningService.getJob(jobId));
+    }
+}
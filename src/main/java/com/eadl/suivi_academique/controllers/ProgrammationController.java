@@ -1,13 +1,27 @@
 package com.eadl.suivi_academique.controllers;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.eadl.suivi_academique.dto.CursorPage;
 import com.eadl.suivi_academique.dto.ProgrammationDTO;
+import com.eadl.suivi_academique.dto.ProgrammationExportFilter;
 import com.eadl.suivi_academique.dto.ProgrammationRequest;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.dto.ProgrammationWindowFilter;
 import com.eadl.suivi_academique.services.implementation.ProgrammationService;
+import com.eadl.suivi_academique.utils.ExportFormat;
+import com.eadl.suivi_academique.utils.ResponseView;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
 
 @RestController
 @RequestMapping("/programmations")
@@ -26,15 +40,68 @@ public class ProgrammationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
-    // READ - all
+    // CREATE - lot (vue compacte en retour)
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ProgrammationSummary>> createBulk(@RequestBody List<ProgrammationRequest> dtos) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(programmationService.createProgrammations(dtos));
+    }
+
+    // READ - all (keyset pagination on codeProgrammation), view=compact for codes and labels only
     @GetMapping
-    public ResponseEntity<List<ProgrammationDTO>> getAll() {
-        return ResponseEntity.ok(programmationService.getAllProgrammations());
+    public ResponseEntity<CursorPage<?>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "expanded") ResponseView view) {
+        if (view.isCompact()) {
+            return ResponseEntity.ok(programmationService.getProgrammationSummaries(cursor, size));
+        }
+        return ResponseEntity.ok(programmationService.getAllProgrammations(cursor, size));
+    }
+
+    // READ - séances débutant un jour, une semaine ISO (2030-W02) ou dans [debut, fin), par ordre chronologique
+    @GetMapping("/periode")
+    public ResponseEntity<CursorPage<ProgrammationSummary>> getByPeriod(
+            @RequestParam(required = false) String codeSalle,
+            @RequestParam(required = false) String codePersonnel,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate jour,
+            @RequestParam(required = false) String semaine,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime debut,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        ProgrammationWindowFilter filter = new ProgrammationWindowFilter(codeSalle, codePersonnel, jour, semaine, debut, fin);
+        return ResponseEntity.ok(programmationService.getProgrammationsInWindow(filter, cursor, size));
+    }
+
+    // READ - export en flux, mémoire constante quel que soit le volume
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) StatusProgrammation status,
+            @RequestParam(required = false) String codeSalle,
+            @RequestParam(required = false) String codeCours,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        ProgrammationExportFilter filter = new ProgrammationExportFilter(status, codeSalle, codeCours, from, to);
+        StreamingResponseBody body = output -> programmationService.exportProgrammations(filter, format, output);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"programmations." + format.getExtension() + "\"")
+                .body(body);
     }
 
     // READ - by id
     @GetMapping("/{id}")
-    public ResponseEntity<ProgrammationDTO> getById(@PathVariable int id) {
+    public ResponseEntity<?> getById(
+            @PathVariable int id,
+            @RequestParam(defaultValue = "expanded") ResponseView view) {
+        if (view.isCompact()) {
+            return ResponseEntity.ok(programmationService.getProgrammationSummary(id));
+        }
         ProgrammationDTO programmation = programmationService.getProgrammationById(id);
         return ResponseEntity.ok(programmation);
     }
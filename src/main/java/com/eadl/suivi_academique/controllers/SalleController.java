@@ -1,8 +1,10 @@
 package com.eadl.suivi_academique.controllers;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,9 +14,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.eadl.suivi_academique.dto.CursorPage;
 import com.eadl.suivi_academique.dto.SalleDTO;
+import com.eadl.suivi_academique.dto.SalleDisponibiliteDTO;
 import com.eadl.suivi_academique.services.implementation.SalleService;
 import com.eadl.suivi_academique.utils.SalleStatus;
 
@@ -35,11 +40,13 @@ public class SalleController {
         return salleService.createSalle(salleDTO);
     }
 
-    // READ - Récupérer toutes les salles
+    // READ - Récupérer les salles page par page
     @GetMapping
-    @Operation(summary = "Afficher Salles", description = "Afficher toutes les salles")
-    public ResponseEntity<List<SalleDTO>> getAllSalles() {
-        List<SalleDTO> salles = salleService.getAllSalles();
+    @Operation(summary = "Afficher Salles", description = "Afficher les salles page par page (curseur)")
+    public ResponseEntity<CursorPage<SalleDTO>> getAllSalles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<SalleDTO> salles = salleService.getAllSalles(cursor, size);
         return new ResponseEntity<>(salles, HttpStatus.OK);
     }
 
@@ -62,8 +69,31 @@ public class SalleController {
     // READ - Récupérer les salles par statut
     @GetMapping("/filter/status/{status}")
     @Operation(summary = "Afficher salles", description = "Afficher les salles en fonction du statut")
-    public ResponseEntity<List<SalleDTO>> getSallesByStatus(@PathVariable String status) {
-        List<SalleDTO> salles = salleService.getSallesByStatus(SalleStatus.valueOf(status));
+    public ResponseEntity<List<SalleDTO>> getSallesByStatus(@PathVariable SalleStatus status) {
+        List<SalleDTO> salles = salleService.getSallesByStatus(status);
+        return new ResponseEntity<>(salles, HttpStatus.OK);
+    }
+
+    // READ - Filtre combiné statut + contenance minimale
+    @GetMapping("/filter")
+    @Operation(summary = "Filtrer salles", description = "Filtrer les salles par statut et contenance minimum")
+    public ResponseEntity<List<SalleDTO>> filterSalles(
+            @RequestParam(required = false) SalleStatus status,
+            @RequestParam(defaultValue = "0") int minContenance) {
+        List<SalleDTO> salles = salleService.filterSalles(status, minContenance);
+        return new ResponseEntity<>(salles, HttpStatus.OK);
+    }
+
+    // READ - Salles disponibles sur une fenêtre horaire
+    @GetMapping("/disponibles")
+    @Operation(summary = "Salles disponibles", description = "Salles libres entre debut et fin, avec contenance et durée minimales, classées par contenance")
+    public ResponseEntity<List<SalleDisponibiliteDTO>> getSallesDisponibles(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime debut,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+            @RequestParam(defaultValue = "0") int minContenance,
+            @RequestParam(required = false) Integer duree,
+            @RequestParam(required = false) Integer limit) {
+        List<SalleDisponibiliteDTO> salles = salleService.findAvailableSalles(debut, fin, minContenance, duree, limit);
         return new ResponseEntity<>(salles, HttpStatus.OK);
     }
 
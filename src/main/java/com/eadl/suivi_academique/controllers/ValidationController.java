@@ -0,0 +1,48 @@
+package com.eadl.suivi_academique.controllers;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.eadl.suivi_academique.config.CurrentUserProvider;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.dto.ValidationBatchDTO;
+import com.eadl.suivi_academique.dto.ValidationRequest;
+import com.eadl.suivi_academique.services.implementation.ValidationService;
+
+@RestController
+@RequestMapping("/programmations")
+public class ValidationController {
+
+    private final ValidationService validationService;
+    private final CurrentUserProvider currentUserProvider;
+
+    public ValidationController(ValidationService validationService, CurrentUserProvider currentUserProvider) {
+        this.validationService = validationService;
+        this.currentUserProvider = currentUserProvider;
+    }
+
+    // Changement de statut seul : le personnel connecté devient le validateur
+    @PatchMapping("/{id}/statut")
+    public ResponseEntity<ProgrammationSummary> changeStatus(
+            @PathVariable int id,
+            @RequestBody ValidationRequest request) {
+        return ResponseEntity.ok(validationService.changeStatus(id, request.getStatut(),
+                currentUserProvider.getCodePersonnel()));
+    }
+
+    // Validation par lot : 202 + Location à interroger pour suivre l'avancement
+    @PostMapping("/validations")
+    public ResponseEntity<ValidationBatchDTO> submit(@RequestBody ValidationRequest request) {
+        ValidationBatchDTO batch = validationService.submit(request, currentUserProvider.getCodePersonnel());
+        return ResponseEntity.accepted()
+                .location(URI.create("/programmations/validations/" + batch.getLotId()))
+                .body(batch);
+    }
+
+    @GetMapping("/validations/{lotId}")
+    public ResponseEntity<ValidationBatchDTO> getBatch(@PathVariable String lotId) {
+        return ResponseEntity.ok(validationService.getBatch(lotId));
+    }
+}
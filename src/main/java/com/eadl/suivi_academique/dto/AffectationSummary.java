@@ -0,0 +1,18 @@
+package com.eadl.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Vue compacte d'une affectation : codes et libellés seulement, construite par la requête
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AffectationSummary {
+
+    private String codeCours;
+    private String labelCours;
+    private String codePersonnel;
+    private String nomPersonnel;
+
+}
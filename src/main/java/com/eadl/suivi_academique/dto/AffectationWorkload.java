@@ -0,0 +1,30 @@
+package com.eadl.suivi_academique.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Charge d'un enseignant ou effectif d'un cours : totaux calculés par la requête groupée,
+// affectations ajoutées ensuite par le service
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AffectationWorkload {
+
+    private String code;
+    private String libelle;
+    private long nbAffectations;
+    private long totalHeures;
+    private long totalCredits;
+    private List<AffectationSummary> affectations = new ArrayList<>();
+
+    public AffectationWorkload(String code, String libelle, long nbAffectations, long totalHeures, long totalCredits) {
+        this(code, libelle, nbAffectations, totalHeures, totalCredits, new ArrayList<>());
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.eadl.suivi_academique.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.eadl.suivi_academique.utils.CursorCodec;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    // À renvoyer tel quel dans ?cursor= pour obtenir la page suivante
+    private String nextCursor;
+
+    // « fetched » contient au plus size + 1 éléments : le surplus indique seulement qu'une page suit
+    public static <E, T> CursorPage<T> of(List<E> fetched, int size, Function<E, T> mapper,
+            Function<E, String[]> keyOf) {
+        boolean hasNext = fetched.size() > size;
+        List<E> page = hasNext ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasNext ? CursorCodec.encode(keyOf.apply(page.get(page.size() - 1))) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
@@ -1,5 +1,7 @@
 package com.eadl.suivi_academique.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import lombok.*;
 
 @Data
@@ -14,6 +16,8 @@ public class PersonnelDTO {
 
     private String loginPersonnel;
 
+    // Accepté en entrée (création, inscription), jamais renvoyé dans les réponses
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String passwordPersonnel;
 
     private String sexe;
@@ -0,0 +1,24 @@
+package com.eadl.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PersonnelImportLine {
+
+    public static final String IMPORTE = "IMPORTE";
+    public static final String REJETE = "REJETE";
+
+    // Rang de l'enregistrement dans l'import (hors en-tête CSV), à partir de 1
+    private int ligne;
+    private String loginPersonnel;
+    private String codePersonnel;
+    private String statut;
+    private String message;
+
+}
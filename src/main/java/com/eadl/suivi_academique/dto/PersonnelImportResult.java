@@ -0,0 +1,21 @@
+package com.eadl.suivi_academique.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PersonnelImportResult {
+
+    private int total;
+    private int importes;
+    private int rejetes;
+    private List<PersonnelImportLine> lignes;
+
+}
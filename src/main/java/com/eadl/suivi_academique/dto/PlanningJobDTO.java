@@ -0,0 +1,29 @@
+package com.eadl.suivi_academique.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlanningJobDTO {
+
+    private String jobId;
+    private String statut;
+    private int progression;
+    private String message;
+    private int seances;
+    private Long scoreInitial;
+    private Long meilleurScore;
+    private Long conflits;
+    private Long penalites;
+    private int programmationsCreees;
+    private List<String> coursIgnores;
+    private Instant soumisLe;
+    private Instant termineLe;
+
+}
@@ -0,0 +1,42 @@
+package com.eadl.suivi_academique.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Paramètres de génération d'un planning de semestre (jours ouvrés du lundi au vendredi)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlanningRequest {
+
+    private LocalDate debut;
+
+    private LocalDate fin;
+
+    // Durée d'une séance, en heures
+    private int dureeSeance = 2;
+
+    private int heureDebutJournee = 8;
+
+    private int heureFinJournee = 18;
+
+    // Effectif attendu : contenance minimale des salles retenues
+    private int effectif;
+
+    // Cours à planifier ; tous les cours ayant au moins une affectation si vide
+    private List<String> codesCours;
+
+    // Salles utilisables ; toutes les salles libres assez grandes si vide
+    private List<String> codesSalles;
+
+    // Itérations par chaîne de recuit ; valeur par défaut de la configuration si absent
+    private Long iterations;
+
+    private Long seed;
+}
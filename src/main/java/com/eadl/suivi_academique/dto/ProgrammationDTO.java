@@ -1,6 +1,6 @@
 package com.eadl.suivi_academique.dto;
 
-import java.sql.Date;
+import java.time.LocalDateTime;
 
 import lombok.*;
 
@@ -15,11 +15,11 @@ public class ProgrammationDTO {
 
     private int nbHeureProgammation;
 
-    private Date dateProgammation;
+    private LocalDateTime dateProgammation;
 
-    private Date debutProgammation;
+    private LocalDateTime debutProgammation;
 
-    private Date finProgammation;
+    private LocalDateTime finProgammation;
 
     private String statusProgrammation;
 
@@ -0,0 +1,25 @@
+package com.eadl.suivi_academique.dto;
+
+import java.time.LocalDate;
+
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Critères optionnels de l'export ; les bornes de dates portent sur dateProgammation (incluses)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProgrammationExportFilter {
+
+    private StatusProgrammation status;
+    private String codeSalle;
+    private String codeCours;
+    private LocalDate from;
+    private LocalDate to;
+
+}
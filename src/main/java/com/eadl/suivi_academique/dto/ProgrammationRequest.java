@@ -1,6 +1,6 @@
 package com.eadl.suivi_academique.dto;
 
-import java.sql.Date;
+import java.time.LocalDateTime;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,11 +17,11 @@ public class ProgrammationRequest {
 
     private int nbHeureProgammation;
 
-    private Date dateProgammation;
+    private LocalDateTime dateProgammation;
 
-    private Date debutProgammation;
+    private LocalDateTime debutProgammation;
 
-    private Date finProgammation;
+    private LocalDateTime finProgammation;
 
     private String statusProgrammation;
 
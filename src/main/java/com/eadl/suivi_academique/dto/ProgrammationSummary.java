@@ -0,0 +1,31 @@
+package com.eadl.suivi_academique.dto;
+
+import java.time.LocalDateTime;
+
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Vue compacte à plat (liste « compact » et export) : construite par la requête, sans entité gérée
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProgrammationSummary {
+
+    private int codeProgrammation;
+    private int nbHeureProgammation;
+    private LocalDateTime dateProgammation;
+    private LocalDateTime debutProgammation;
+    private LocalDateTime finProgammation;
+    private StatusProgrammation statusProgrammation;
+    private String codeSalle;
+    private String codeCours;
+    private String labelCours;
+    private String codePersonnelProg;
+    private String nomPersonnelProg;
+    private String codePersonnelVal;
+    private String nomPersonnelVal;
+
+}
@@ -0,0 +1,25 @@
+package com.eadl.suivi_academique.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Fenêtre de recherche sur le début des séances : un jour, une semaine ISO ou [debut, fin)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProgrammationWindowFilter {
+
+    private String codeSalle;
+    private String codePersonnel;
+    private LocalDate jour;
+    private String semaine;
+    private LocalDateTime debut;
+    private LocalDateTime fin;
+
+}
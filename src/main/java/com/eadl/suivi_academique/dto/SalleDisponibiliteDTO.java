@@ -0,0 +1,21 @@
+package com.eadl.suivi_academique.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Salle libre sur la fenêtre demandée, avec le premier créneau libre suffisant
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalleDisponibiliteDTO {
+
+    private String codeSalle;
+    private String descSalle;
+    private int contenance;
+    private LocalDateTime debutLibre;
+    private LocalDateTime finLibre;
+
+}
@@ -0,0 +1,25 @@
+package com.eadl.suivi_academique.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ValidationBatchDTO {
+
+    private String lotId;
+    private String statut;
+    private String statutCible;
+    private int demandees;
+    private int traitees;
+    private int modifiees;
+    private int ignorees;
+    private String message;
+    private Instant soumisLe;
+    private Instant termineLe;
+
+}
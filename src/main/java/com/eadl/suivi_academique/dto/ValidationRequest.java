@@ -0,0 +1,20 @@
+package com.eadl.suivi_academique.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Statut cible (VALIDE ou NON_VALIDE) ; la liste des codes ne sert qu'aux validations par lot
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ValidationRequest {
+
+    private String statut;
+
+    private List<Integer> codesProgrammations;
+}
@@ -0,0 +1,27 @@
+package com.eadl.suivi_academique.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Semaine ISO d'un enseignant ou d'une salle ; version sert d'ETag et n'est pas sérialisée
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WeekCalendarDTO {
+
+    private String code;
+    private String semaine;
+    private LocalDate debut;
+    private LocalDate fin;
+    private List<ProgrammationSummary> seances;
+
+    @JsonIgnore
+    private String version;
+
+}
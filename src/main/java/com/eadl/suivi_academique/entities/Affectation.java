@@ -1,15 +1,22 @@
 package com.eadl.suivi_academique.entities;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Basic;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
 import lombok.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "affectation")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -22,13 +29,13 @@ public class Affectation {
     private AffectationId codeAffectation;
 
     @MapsId("codePersonnel")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "code_personnel", referencedColumnName = "codePersonnel")
     @Basic(optional = false)
     private Personnel personnel;
 
     @MapsId("codeCours")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "code_cours")
     @Basic(optional = false)
     private Cours cours;
@@ -15,6 +15,9 @@ import lombok.Setter;
 
 public class AffectationId implements Serializable {
 
+    // Séparateur de champs absent des codes métier
+    private static final String KEY_SEPARATOR = "\u001F";
+
     @Basic(optional = false)
     private String codeCours;
 
@@ -26,5 +29,15 @@ public class AffectationId implements Serializable {
         this.codePersonnel = codePersonnel;
     }
 
+    // Clé d'invalidation diffusée aux autres nœuds
+    public String toKey() {
+        return codeCours + KEY_SEPARATOR + codePersonnel;
+    }
+
+    public static AffectationId fromKey(String key) {
+        String[] codes = key.split(KEY_SEPARATOR, 2);
+        return new AffectationId(codes[0], codes[1]);
+    }
+
 
 }
@@ -0,0 +1,70 @@
+package com.eadl.suivi_academique.entities;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.eadl.suivi_academique.utils.CachedEntity;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outbox des invalidations de cache : une ligne par entité modifiée, ou par lot de clés
+ * séparées par KEY_SEPARATOR, écrite dans la transaction de la modification puis relue par
+ * chaque nœud. entityKey null : toutes les entités du type.
+ */
+@Entity
+@Table(name = "cache_invalidation", indexes = {
+    @Index(name = "idx_cache_invalidation_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class CacheInvalidation {
+
+    public static final int KEY_LENGTH = 8000;
+    // Séparateur d'enregistrements ASCII : absent des codes, distinct de celui d'AffectationId
+    public static final String KEY_SEPARATOR = "\u001E";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Basic(optional = false)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 32)
+    private CachedEntity entityType;
+
+    @Column(name = "entity_key", length = KEY_LENGTH)
+    private String entityKey;
+
+    // Nœud à l'origine de la modification : il a déjà mis à jour ses propres caches
+    @Basic(optional = false)
+    @Column(name = "origin", length = 64)
+    private String origin;
+
+    @Basic(optional = false)
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public List<String> getEntityKeys() {
+        return entityKey == null ? null : List.of(entityKey.split(KEY_SEPARATOR));
+    }
+
+}
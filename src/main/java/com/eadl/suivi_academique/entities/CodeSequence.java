@@ -0,0 +1,32 @@
+package com.eadl.suivi_academique.entities;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Compteur des codes matricules par préfixe de rôle et par année (ex : "ENS2026").
+ * Les valeurs sont réservées par blocs : nextValue est la première valeur non encore distribuée.
+ */
+@Entity
+@Table(name = "code_sequence")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class CodeSequence {
+
+    @Id
+    @Basic(optional = false)
+    private String codeSequence;
+
+    @Basic(optional = false)
+    private long nextValue;
+
+}
@@ -2,9 +2,12 @@ package com.eadl.suivi_academique.entities;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.validator.constraints.Length;
 
 import jakarta.persistence.Basic;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -17,6 +20,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cours")
 @Table(name = "cours")
 @Getter
 @Setter
@@ -46,6 +51,8 @@ public class Cours {
     @OneToMany(mappedBy = "cours", cascade = CascadeType.ALL)
     private List<Programmation> programmations;
 
+    // Identifiants des affectations en cache ; évincés sur chaque nœud via CachedEntity.AFFECTATION
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cours-affectations")
     @OneToMany(mappedBy = "cours", cascade = CascadeType.ALL)
     private List<Affectation> affectations;
 
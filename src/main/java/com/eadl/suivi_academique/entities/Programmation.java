@@ -1,6 +1,6 @@
 package com.eadl.suivi_academique.entities;
 
-import java.util.Date;
+import java.time.LocalDateTime;
 
 import com.eadl.suivi_academique.utils.StatusProgrammation;
 
@@ -9,14 +9,19 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.*;
 
 @NamedQueries({
@@ -28,49 +33,72 @@ import lombok.*;
     @NamedQuery(name = "Programmation.findByPersonnelProg", query = "SELECT p FROM Programmation p WHERE p.personnelProg.codePersonnel = :codePersonnel"),
     @NamedQuery(name = "Programmation.findByPersonnelVal", query = "SELECT p FROM Programmation p WHERE p.personnelVal.codePersonnel = :codePersonnel")
 })
+// Plan de chargement des lectures : les quatre associations en une seule requête (jointures)
+@NamedEntityGraph(name = Programmation.DETAILS_GRAPH, attributeNodes = {
+    @NamedAttributeNode("salle"),
+    @NamedAttributeNode("cours"),
+    @NamedAttributeNode("personnelProg"),
+    @NamedAttributeNode("personnelVal")
+})
 @Entity
-@Table(name = "programmation")
+// Index composites : une fenêtre de dates par salle ou par enseignant se lit par une descente
+// dans l'index suivie d'un parcours des seules lignes de la fenêtre
+@Table(name = "programmation", indexes = {
+    @Index(name = "idx_programmation_salle_debut", columnList = "code_salle, debut_progammation"),
+    @Index(name = "idx_programmation_personnel_prog_debut", columnList = "code_personnel_prog, debut_progammation"),
+    @Index(name = "idx_programmation_debut", columnList = "debut_progammation")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Programmation {
 
+    public static final String DETAILS_GRAPH = "Programmation.details";
+    public static final String ID_SEQUENCE = "PROGRAMMATION";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    private static final String ID_GENERATOR = "programmation_id";
+
     @Id
     @Column(unique = true)
     @Basic(optional = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Identifiants réservés par blocs dans code_sequence : pas d'INSERT immédiat, les insertions partent en lots JDBC.
+    // Optimiseur pooled : une valeur V en table donne le bloc [V - allocationSize + 1, V]. Compteur absent
+    // (base existante) : créé au démarrage par CodeGenerator à MAX(code_programmation) + allocationSize.
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = ID_GENERATOR)
+    @TableGenerator(name = ID_GENERATOR, table = "code_sequence", pkColumnName = "code_sequence",
+            valueColumnName = "next_value", pkColumnValue = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private int codeProgrammation;
 
     @Basic(optional = false)
     private int nbHeureProgammation;
 
     @Basic(optional = false)
-    private Date dateProgammation;
+    private LocalDateTime dateProgammation;
 
     @Basic(optional = false)
-    private Date debutProgammation;
+    private LocalDateTime debutProgammation;
 
     @Basic(optional = false)
-    private Date finProgammation;
+    private LocalDateTime finProgammation;
 
     @Basic(optional = false)
     @Enumerated(EnumType.STRING)
     private StatusProgrammation statusProgrammation;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "code_salle", referencedColumnName = "codeSalle")
     private Salle salle;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "code_cours", referencedColumnName = "codeCours")
     private Cours cours;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "code_personnel_prog", referencedColumnName = "codePersonnel")
     private Personnel personnelProg;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "code_personnel_val", referencedColumnName = "codePersonnel")
     private Personnel personnelVal;
 
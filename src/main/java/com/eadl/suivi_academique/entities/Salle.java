@@ -4,12 +4,17 @@ import java.util.List;
 
 import com.eadl.suivi_academique.utils.SalleStatus;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Basic;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
 import jakarta.persistence.OneToMany;
@@ -26,7 +31,12 @@ import lombok.Setter;
     @NamedQuery(name = "Salle.findByStatus", query = "SELECT s FROM Salle s WHERE s.statusSalle = :statusSalle")
 })
 @Entity
-@Table(name = "salles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "salle")
+// Sert le filtre par statut seul comme le filtre statut + contenance minimale
+@Table(name = "salles", indexes = {
+    @Index(name = "idx_salles_status_contenance", columnList = "statusSalle, contenance")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -0,0 +1,62 @@
+package com.eadl.suivi_academique.entities;
+
+import com.eadl.suivi_academique.utils.RevocationScope;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Révocation de tokens conservée en base, pour survivre au redémarrage et être relue par les
+ * autres nœuds. Dates en millisecondes epoch, comme les claims des tokens ; une ligne dont
+ * expiresAt est passé ne révoque plus rien et peut être purgée.
+ */
+@Entity
+@Table(name = "token_revocation", indexes = {
+    @Index(name = "idx_token_revocation_login", columnList = "login"),
+    @Index(name = "idx_token_revocation_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class TokenRevocation {
+
+    // "token:<empreinte>", "login:<login>" ou "all" : une révocation plus récente remplace la précédente
+    @Id
+    @Column(name = "revocation_key", length = 160)
+    private String revocationKey;
+
+    @Basic(optional = false)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", length = 16)
+    private RevocationScope scope;
+
+    @Column(name = "login")
+    private String login;
+
+    @Column(name = "digest", length = 64)
+    private String digest;
+
+    // Tokens émis avant cette date rejetés (portées LOGIN et ALL)
+    @Basic(optional = false)
+    @Column(name = "revoked_before")
+    private long revokedBefore;
+
+    @Basic(optional = false)
+    @Column(name = "expires_at")
+    private long expiresAt;
+
+}
@@ -1,15 +1,26 @@
 package com.eadl.suivi_academique.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.eadl.suivi_academique.exceptions.affectationexception.AffectationNotFoundException;
+import com.eadl.suivi_academique.exceptions.authexception.PasswordHashingSaturatedException;
 import com.eadl.suivi_academique.exceptions.coursexception.CoursNotFoundException;
 import com.eadl.suivi_academique.exceptions.coursexception.InvalidCoursException;
+import com.eadl.suivi_academique.exceptions.paginationexception.InvalidCursorException;
 import com.eadl.suivi_academique.exceptions.personnelexception.PersonnelNotFoundException;
+import com.eadl.suivi_academique.exceptions.planningexception.InvalidPlanningException;
+import com.eadl.suivi_academique.exceptions.planningexception.PlanningJobNotFoundException;
+import com.eadl.suivi_academique.exceptions.planningexception.PlanningSaturatedException;
+import com.eadl.suivi_academique.exceptions.programmationexception.InvalidProgrammationException;
+import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationConflictException;
 import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationNotFoundException;
+import com.eadl.suivi_academique.exceptions.programmationexception.ValidationBatchNotFoundException;
+import com.eadl.suivi_academique.exceptions.programmationexception.ValidationSaturatedException;
 import com.eadl.suivi_academique.exceptions.salleexception.InvalidSalleException;
 import com.eadl.suivi_academique.exceptions.salleexception.SalleIndisponibleException;
 import com.eadl.suivi_academique.exceptions.salleexception.SalleNotFoundException;
@@ -64,6 +75,18 @@ public class GlobalExceptionHandler {
                 .body(ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidProgrammationException.class)
+    public ResponseEntity<?> handleInvalidProgrammation(InvalidProgrammationException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ProgrammationConflictException.class)
+    public ResponseEntity<?> handleProgrammationConflict(ProgrammationConflictException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(SalleNotFoundException.class)
     public ResponseEntity<?> handleProgrammationNotFoundException(SalleNotFoundException ex) {
         return ResponseEntity
@@ -77,4 +100,60 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.NOT_FOUND)
                 .body(ex.getMessage());
     }
+
+    // Paramètre de requête non convertible (ex. statut de salle inconnu)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<?> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body("Valeur invalide pour le paramètre " + ex.getName() + " : " + ex.getValue());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<?> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingSaturatedException.class)
+    public ResponseEntity<?> handlePasswordHashingSaturated(PasswordHashingSaturatedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidPlanningException.class)
+    public ResponseEntity<?> handleInvalidPlanning(InvalidPlanningException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(PlanningJobNotFoundException.class)
+    public ResponseEntity<?> handlePlanningJobNotFound(PlanningJobNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(PlanningSaturatedException.class)
+    public ResponseEntity<?> handlePlanningSaturated(PlanningSaturatedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ValidationBatchNotFoundException.class)
+    public ResponseEntity<?> handleValidationBatchNotFound(ValidationBatchNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ValidationSaturatedException.class)
+    public ResponseEntity<?> handleValidationSaturated(ValidationSaturatedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ex.getMessage());
+    }
 }
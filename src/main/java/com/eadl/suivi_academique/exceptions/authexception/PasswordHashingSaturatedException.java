@@ -0,0 +1,7 @@
+package com.eadl.suivi_academique.exceptions.authexception;
+
+public class PasswordHashingSaturatedException extends RuntimeException {
+    public PasswordHashingSaturatedException(String message) {
+        super(message);
+    }
+}
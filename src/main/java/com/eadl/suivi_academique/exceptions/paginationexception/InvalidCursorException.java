@@ -0,0 +1,9 @@
+package com.eadl.suivi_academique.exceptions.paginationexception;
+
+public class InvalidCursorException extends RuntimeException{
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.eadl.suivi_academique.exceptions.planningexception;
+
+public class InvalidPlanningException extends RuntimeException {
+    public InvalidPlanningException(String message) {
+        super(message);
+    }
+}
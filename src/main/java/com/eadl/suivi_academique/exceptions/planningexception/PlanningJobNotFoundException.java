@@ -0,0 +1,7 @@
+package com.eadl.suivi_academique.exceptions.planningexception;
+
+public class PlanningJobNotFoundException extends RuntimeException {
+    public PlanningJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eadl.suivi_academique.exceptions.planningexception;
+
+public class PlanningSaturatedException extends RuntimeException {
+    public PlanningSaturatedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eadl.suivi_academique.exceptions.programmationexception;
+
+public class InvalidProgrammationException extends RuntimeException {
+    public InvalidProgrammationException(String message) {
+        super(message);
+    }
+}
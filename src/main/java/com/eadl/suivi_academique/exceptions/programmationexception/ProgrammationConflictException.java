@@ -0,0 +1,7 @@
+package com.eadl.suivi_academique.exceptions.programmationexception;
+
+public class ProgrammationConflictException extends RuntimeException {
+    public ProgrammationConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eadl.suivi_academique.exceptions.programmationexception;
+
+public class ValidationBatchNotFoundException extends RuntimeException {
+    public ValidationBatchNotFoundException(String message) {
+        super(message);
+    }
+}
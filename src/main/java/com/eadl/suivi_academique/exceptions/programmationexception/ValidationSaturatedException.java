@@ -0,0 +1,7 @@
+package com.eadl.suivi_academique.exceptions.programmationexception;
+
+public class ValidationSaturatedException extends RuntimeException {
+    public ValidationSaturatedException(String message) {
+        super(message);
+    }
+}
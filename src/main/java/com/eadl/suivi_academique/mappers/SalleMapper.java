@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 
 import com.eadl.suivi_academique.dto.SalleDTO;
 import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.projections.SalleView;
 
 
 @Mapper(componentModel = "spring")
@@ -12,6 +13,8 @@ import com.eadl.suivi_academique.entities.Salle;
 public interface SalleMapper {
     
     SalleDTO toDTO(Salle salle);
+
+    SalleDTO toDTO(SalleView salleView);
     
     @Mapping(target = "programmations", ignore = true)
     Salle toEntity(SalleDTO salleDTO);
@@ -1,35 +1,88 @@
 package com.eadl.suivi_academique.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.eadl.suivi_academique.dto.AffectationSummary;
+import com.eadl.suivi_academique.dto.AffectationWorkload;
 import com.eadl.suivi_academique.entities.Affectation;
 import com.eadl.suivi_academique.entities.AffectationId;
 
 public interface AffectationRepository extends JpaRepository<Affectation, AffectationId> {
 
+    // Compact view: only the key plus course label and staff name, no entity loaded
+    String SUMMARY_SELECT = "SELECT new com.eadl.suivi_academique.dto.AffectationSummary("
+            + "a.codeAffectation.codeCours, c.labelCours, a.codeAffectation.codePersonnel, p.nomPersonnel) "
+            + "FROM Affectation a JOIN a.cours c JOIN a.personnel p";
+
+    // personnel et cours sont chargés à la demande : les méthodes qui renvoient des entités les joignent
+
     // Find all affectations by personnel code
-    @Query("SELECT a FROM Affectation a WHERE a.personnel.codePersonnel = :codePersonnel")
+    @Query("SELECT a FROM Affectation a JOIN FETCH a.personnel JOIN FETCH a.cours WHERE a.personnel.codePersonnel = :codePersonnel")
     List<Affectation> findByPersonnelCode(@Param("codePersonnel") String codePersonnel);
 
     // Find all affectations by cours code
-    @Query("SELECT a FROM Affectation a WHERE a.cours.codeCours = :codeCours")
+    @Query("SELECT a FROM Affectation a JOIN FETCH a.personnel JOIN FETCH a.cours WHERE a.cours.codeCours = :codeCours")
     List<Affectation> findByCoursCode(@Param("codeCours") String codeCours);
 
     // Find affectation by personnel and cours codes
-    @Query("SELECT a FROM Affectation a WHERE a.personnel.codePersonnel = :codePersonnel AND a.cours.codeCours = :codeCours")
+    @Query("SELECT a FROM Affectation a JOIN FETCH a.personnel JOIN FETCH a.cours WHERE a.personnel.codePersonnel = :codePersonnel AND a.cours.codeCours = :codeCours")
     Optional<Affectation> findByPersonnelAndCoursCode(@Param("codePersonnel") String codePersonnel, @Param("codeCours") String codeCours);
 
     // Count affectations by personnel
     @Query("SELECT COUNT(a) FROM Affectation a WHERE a.personnel.codePersonnel = :codePersonnel")
     long countByPersonnelCode(@Param("codePersonnel") String codePersonnel);
 
+    // Keyset pagination on the (codeCours, codePersonnel) primary key ("" / "" for the first page)
+    @Query("SELECT a FROM Affectation a JOIN FETCH a.personnel JOIN FETCH a.cours WHERE a.codeAffectation.codeCours > :codeCours "
+            + "OR (a.codeAffectation.codeCours = :codeCours AND a.codeAffectation.codePersonnel > :codePersonnel) "
+            + "ORDER BY a.codeAffectation.codeCours, a.codeAffectation.codePersonnel")
+    List<Affectation> findPageAfter(@Param("codeCours") String codeCours,
+            @Param("codePersonnel") String codePersonnel, Limit limit);
+
     // Count affectations by cours
     @Query("SELECT COUNT(a) FROM Affectation a WHERE a.cours.codeCours = :codeCours")
     long countByCoursCode(@Param("codeCours") String codeCours);
 
+    @Query(SUMMARY_SELECT + " WHERE a.codeAffectation.codeCours > :codeCours "
+            + "OR (a.codeAffectation.codeCours = :codeCours AND a.codeAffectation.codePersonnel > :codePersonnel) "
+            + "ORDER BY a.codeAffectation.codeCours, a.codeAffectation.codePersonnel")
+    List<AffectationSummary> findSummariesAfter(@Param("codeCours") String codeCours,
+            @Param("codePersonnel") String codePersonnel, Limit limit);
+
+    @Query(SUMMARY_SELECT + " WHERE a.codeAffectation.codeCours = :codeCours AND a.codeAffectation.codePersonnel = :codePersonnel")
+    Optional<AffectationSummary> findSummaryById(@Param("codeCours") String codeCours,
+            @Param("codePersonnel") String codePersonnel);
+
+    @Query(SUMMARY_SELECT + " ORDER BY a.codeAffectation.codeCours, a.codeAffectation.codePersonnel")
+    List<AffectationSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + " WHERE a.codeAffectation.codePersonnel IN :codes "
+            + "ORDER BY a.codeAffectation.codePersonnel, a.codeAffectation.codeCours")
+    List<AffectationSummary> findSummariesByPersonnelCodes(@Param("codes") Collection<String> codes);
+
+    @Query(SUMMARY_SELECT + " WHERE a.codeAffectation.codeCours IN :codes "
+            + "ORDER BY a.codeAffectation.codeCours, a.codeAffectation.codePersonnel")
+    List<AffectationSummary> findSummariesByCoursCodes(@Param("codes") Collection<String> codes);
+
+    // Charge par enseignant en une requête groupée ; jointure externe : un enseignant sans cours a une charge nulle
+    @Query("SELECT new com.eadl.suivi_academique.dto.AffectationWorkload(p.codePersonnel, p.nomPersonnel, "
+            + "COUNT(c), COALESCE(SUM(c.nbHeureCours), 0), COALESCE(SUM(c.nbCreditCours), 0)) "
+            + "FROM Personnel p LEFT JOIN p.affectations a LEFT JOIN a.cours c "
+            + "WHERE p.codePersonnel IN :codes GROUP BY p.codePersonnel, p.nomPersonnel ORDER BY p.codePersonnel")
+    List<AffectationWorkload> findPersonnelWorkloads(@Param("codes") Collection<String> codes);
+
+    // Effectif par cours : nombre d'enseignants affectés ; heures et crédits comptés une seule fois par cours
+    @Query("SELECT new com.eadl.suivi_academique.dto.AffectationWorkload(c.codeCours, c.labelCours, "
+            + "COUNT(a), CAST(c.nbHeureCours AS Long), CAST(c.nbCreditCours AS Long)) "
+            + "FROM Cours c LEFT JOIN c.affectations a WHERE c.codeCours IN :codes "
+            + "GROUP BY c.codeCours, c.labelCours, c.nbHeureCours, c.nbCreditCours ORDER BY c.codeCours")
+    List<AffectationWorkload> findCoursWorkloads(@Param("codes") Collection<String> codes);
+
 }
@@ -0,0 +1,29 @@
+package com.eadl.suivi_academique.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eadl.suivi_academique.entities.CacheInvalidation;
+
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM CacheInvalidation c")
+    long findMaxId();
+
+    // Nouvelles lignes, plus celles de la fenêtre de rattrapage : un identifiant attribué avant un
+    // autre peut être validé après lui
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.id > :afterId OR c.createdAt >= :since ORDER BY c.id")
+    List<CacheInvalidation> findSince(@Param("afterId") long afterId, @Param("since") LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+
+}
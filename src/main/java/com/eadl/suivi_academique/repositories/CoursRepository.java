@@ -3,6 +3,7 @@ package com.eadl.suivi_academique.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 
@@ -20,4 +21,7 @@ public interface CoursRepository extends JpaRepository<Cours, String>{
     List<Cours> findByNbHeureCoursGreaterThanEqual(int minHeures);
 
     Optional <Cours> findByCodeCours(String codeCours);
+
+    // Pagination par clé : cours après le dernier code renvoyé ("" pour la première page)
+    List<Cours> findByCodeCoursGreaterThanOrderByCodeCours(String codeCours, Limit limit);
 }
@@ -1,19 +1,28 @@
 package com.eadl.suivi_academique.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.eadl.suivi_academique.entities.Personnel;
 
-public interface PersonnelRepository extends JpaRepository<Personnel, String> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface PersonnelRepository extends JpaRepository<Personnel, String>, PersonnelRepositoryCustom {
 
     List<Personnel> findByNomPersonnel(String nomPersonnel);
 
-    @Query("SELECT p FROM Personnel p WHERE p.nomPersonnel LIKE '%:token%'")
+    @Query("SELECT p FROM Personnel p WHERE p.nomPersonnel LIKE CONCAT('%', :token, '%')")
     List<Personnel> searchByName(@Param("token") String token);
 
     @Query(value = "SELECT count(*) FROM personnel p WHERE p.sexe_personnel = :sexe", nativeQuery = true)
@@ -23,9 +32,25 @@ public interface PersonnelRepository extends JpaRepository<Personnel, String> {
 
     Optional<Personnel> findByCodePersonnel(String codePersonnel);
 
+    // Appelée à chaque requête authentifiée : servie par le cache de requêtes et le cache de second niveau
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Personnel> findByLoginPersonnel(String loginPersonnel);
 
     boolean existsByLoginPersonnel(String loginPersonnel);
 
+    // Pagination par clé : personnels après le dernier code renvoyé ("" pour la première page)
+    List<Personnel> findByCodePersonnelGreaterThanOrderByCodePersonnel(String codePersonnel, Limit limit);
+
+    // Verrou de ligne pris avant de contrôler les créneaux : sérialise les réservations d'un enseignant entre nœuds
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT p FROM Personnel p WHERE p.codePersonnel IN :codes ORDER BY p.codePersonnel")
+    List<Personnel> lockAllByCodes(@Param("codes") Collection<String> codesPersonnels);
+
+    // Codes existants d'un préfixe, du plus grand au plus petit (amorçage des compteurs de matricules)
+    @Query("SELECT p.codePersonnel FROM Personnel p WHERE p.codePersonnel LIKE CONCAT(:prefix, '%') "
+            + "ORDER BY LENGTH(p.codePersonnel) DESC, p.codePersonnel DESC")
+    List<String> findCodesByPrefixDesc(@Param("prefix") String prefix, Pageable pageable);
+
 
 }
@@ -0,0 +1,16 @@
+package com.eadl.suivi_academique.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import com.eadl.suivi_academique.entities.Personnel;
+
+public interface PersonnelRepositoryCustom {
+
+    // Logins déjà présents en base parmi ceux fournis (requêtes IN par paquets)
+    Set<String> findExistingLogins(Collection<String> logins);
+
+    // Insertion massive : persist sans SELECT préalable, flush par lots JDBC
+    void insertAll(List<Personnel> personnels);
+}
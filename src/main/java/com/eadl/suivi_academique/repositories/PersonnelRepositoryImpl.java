@@ -0,0 +1,64 @@
+package com.eadl.suivi_academique.repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.eadl.suivi_academique.entities.Personnel;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Fragment d'implémentation de {@link PersonnelRepository} pour l'import massif.
+ * Le matricule étant attribué par l'application, {@code save()} ferait un merge
+ * (donc un SELECT) par ligne : on passe directement par {@code persist()}.
+ */
+public class PersonnelRepositoryImpl implements PersonnelRepositoryCustom {
+
+    // Reste sous la limite de paramètres d'une clause IN sur tous les SGBD
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public Set<String> findExistingLogins(Collection<String> logins) {
+        List<String> pending = new ArrayList<>(logins);
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < pending.size(); from += IN_CLAUSE_SIZE) {
+            existing.addAll(entityManager.createQuery(
+                            "SELECT p.loginPersonnel FROM Personnel p WHERE p.loginPersonnel IN :logins", String.class)
+                    .setParameter("logins", pending.subList(from, Math.min(from + IN_CLAUSE_SIZE, pending.size())))
+                    .getResultList());
+        }
+        return existing;
+    }
+
+    @Override
+    public void insertAll(List<Personnel> personnels) {
+        int flushed = 0;
+        for (int i = 0; i < personnels.size(); i++) {
+            entityManager.persist(personnels.get(i));
+            // Détache chaque lot pour garder une mémoire constante sur 10k lignes, sans toucher
+            // aux entités déjà gérées par l'appelant
+            if ((i + 1) % batchSize == 0) {
+                flushed = flushAndDetach(personnels, flushed, i + 1);
+            }
+        }
+        flushAndDetach(personnels, flushed, personnels.size());
+    }
+
+    private int flushAndDetach(List<Personnel> personnels, int from, int to) {
+        entityManager.flush();
+        personnels.subList(from, to).forEach(entityManager::detach);
+        return to;
+    }
+}
@@ -1,36 +1,163 @@
 package com.eadl.suivi_academique.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.entities.Personnel;
 import com.eadl.suivi_academique.entities.Programmation;
+import com.eadl.suivi_academique.scheduling.ProgrammationSlot;
 import com.eadl.suivi_academique.utils.StatusProgrammation;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
-public interface ProgrammationRepository extends JpaRepository<Programmation, Integer>{
+// Associations en LAZY : chaque lecture mappée en DTO déclare le plan Programmation.details
+public interface ProgrammationRepository extends JpaRepository<Programmation, Integer>, ProgrammationRepositoryCustom {
 
+	// Vue compacte : colonnes scalaires et codes/libellés des associations, une seule requête sans entité
+	String SUMMARY_SELECT = "SELECT new com.eadl.suivi_academique.dto.ProgrammationSummary("
+			+ "p.codeProgrammation, p.nbHeureProgammation, p.dateProgammation, p.debutProgammation, "
+			+ "p.finProgammation, p.statusProgrammation, s.codeSalle, c.codeCours, c.labelCours, "
+			+ "pp.codePersonnel, pp.nomPersonnel, pv.codePersonnel, pv.nomPersonnel) "
+			+ "FROM Programmation p LEFT JOIN p.salle s LEFT JOIN p.cours c "
+			+ "LEFT JOIN p.personnelProg pp LEFT JOIN p.personnelVal pv";
+
+	@Override
+	@EntityGraph(Programmation.DETAILS_GRAPH)
+	Optional<Programmation> findById(Integer codeProgrammation);
+
+	@Override
+	@EntityGraph(Programmation.DETAILS_GRAPH)
+	List<Programmation> findAll();
+
+	@EntityGraph(Programmation.DETAILS_GRAPH)
 	@Query(name = "Programmation.findAll")
 	List<Programmation> findAllByNamed();
 
+	@EntityGraph(Programmation.DETAILS_GRAPH)
 	@Query(name = "Programmation.findByCode")
 	Optional<Programmation> findByCodeNamed(@Param("codeProgrammation") int codeProgrammation);
 
+	@EntityGraph(Programmation.DETAILS_GRAPH)
 	@Query(name = "Programmation.findByStatus")
 	List<Programmation> findByStatusNamed(@Param("statusProgrammation") StatusProgrammation status);
 
+	@EntityGraph(Programmation.DETAILS_GRAPH)
 	@Query(name = "Programmation.findBySalle")
 	List<Programmation> findBySalleCode(@Param("codeSalle") String codeSalle);
 
+	@EntityGraph(Programmation.DETAILS_GRAPH)
 	@Query(name = "Programmation.findByCours")
 	List<Programmation> findByCoursCode(@Param("codeCours") String codeCours);
 
+	@EntityGraph(Programmation.DETAILS_GRAPH)
 	@Query(name = "Programmation.findByPersonnelProg")
 	List<Programmation> findByPersonnelProgCode(@Param("codePersonnel") String codePersonnel);
 
+	@EntityGraph(Programmation.DETAILS_GRAPH)
 	@Query(name = "Programmation.findByPersonnelVal")
 	List<Programmation> findByPersonnelValCode(@Param("codePersonnel") String codePersonnel);
 
+	// Pagination par clé : programmations après le dernier identifiant renvoyé (0 pour la première page)
+	@EntityGraph(Programmation.DETAILS_GRAPH)
+	List<Programmation> findByCodeProgrammationGreaterThanOrderByCodeProgrammation(int codeProgrammation, Limit limit);
+
+	@Query(SUMMARY_SELECT + " WHERE p.codeProgrammation > :codeProgrammation ORDER BY p.codeProgrammation")
+	List<ProgrammationSummary> findSummariesAfter(@Param("codeProgrammation") int codeProgrammation, Limit limit);
+
+	/*
+	 * Programmations qui débutent dans [from, to), triées par (début, code), page suivant la clé
+	 * (afterDebut, afterCode) : (from, 0) pour la première page. La borne redondante
+	 * « >= :afterDebut » donne une plage d'index fermée ; avec une salle ou un enseignant, l'index
+	 * composite (code, début) rend le tri gratuit et la lecture en O(log n + taille de page).
+	 */
+	String WINDOW_KEYSET = " p.debutProgammation >= :afterDebut AND p.debutProgammation < :to"
+			+ " AND (p.debutProgammation > :afterDebut"
+			+ " OR (p.debutProgammation = :afterDebut AND p.codeProgrammation > :afterCode))"
+			+ " ORDER BY p.debutProgammation, p.codeProgrammation";
+
+	@Query(SUMMARY_SELECT + " WHERE" + WINDOW_KEYSET)
+	List<ProgrammationSummary> findSummariesStartingBetween(@Param("afterDebut") LocalDateTime afterDebut,
+			@Param("afterCode") int afterCode, @Param("to") LocalDateTime to, Limit limit);
+
+	@Query(SUMMARY_SELECT + " WHERE p.salle.codeSalle = :codeSalle AND" + WINDOW_KEYSET)
+	List<ProgrammationSummary> findSalleSummariesStartingBetween(@Param("codeSalle") String codeSalle,
+			@Param("afterDebut") LocalDateTime afterDebut, @Param("afterCode") int afterCode,
+			@Param("to") LocalDateTime to, Limit limit);
+
+	@Query(SUMMARY_SELECT + " WHERE p.personnelProg.codePersonnel = :codePersonnel AND" + WINDOW_KEYSET)
+	List<ProgrammationSummary> findPersonnelSummariesStartingBetween(@Param("codePersonnel") String codePersonnel,
+			@Param("afterDebut") LocalDateTime afterDebut, @Param("afterCode") int afterCode,
+			@Param("to") LocalDateTime to, Limit limit);
+
+	@Query(SUMMARY_SELECT + " WHERE p.codeProgrammation = :codeProgrammation")
+	Optional<ProgrammationSummary> findSummaryById(@Param("codeProgrammation") int codeProgrammation);
+
+	@Query(SUMMARY_SELECT + " WHERE p.codeProgrammation IN :codes")
+	List<ProgrammationSummary> findSummariesByCodes(@Param("codes") Collection<Integer> codes);
+
+	// Tranche ]from, to] des identifiants : reconstruction du calendrier par partitions parallèles
+	@Query(SUMMARY_SELECT + " WHERE p.codeProgrammation > :from AND p.codeProgrammation <= :to")
+	List<ProgrammationSummary> findSummariesInRange(@Param("from") int from, @Param("to") int to);
+
+	@Query("SELECT COALESCE(MAX(p.codeProgrammation), 0) FROM Programmation p")
+	int findMaxCode();
+
+	// Créneaux occupés (index de détection des conflits), sans charger d'entité
+	@Query("SELECT new com.eadl.suivi_academique.scheduling.ProgrammationSlot("
+			+ "p.codeProgrammation, s.codeSalle, pp.codePersonnel, p.debutProgammation, p.finProgammation) "
+			+ "FROM Programmation p LEFT JOIN p.salle s LEFT JOIN p.personnelProg pp "
+			+ "WHERE p.statusProgrammation <> :excluded")
+	List<ProgrammationSlot> findSlotsExcludingStatus(@Param("excluded") StatusProgrammation excluded);
+
+	@Query("SELECT new com.eadl.suivi_academique.scheduling.ProgrammationSlot("
+			+ "p.codeProgrammation, s.codeSalle, pp.codePersonnel, p.debutProgammation, p.finProgammation) "
+			+ "FROM Programmation p LEFT JOIN p.salle s LEFT JOIN p.personnelProg pp "
+			+ "WHERE p.codeProgrammation IN :codes AND p.statusProgrammation <> :excluded")
+	List<ProgrammationSlot> findSlotsByCodesExcludingStatus(@Param("codes") Collection<Integer> codes,
+			@Param("excluded") StatusProgrammation excluded);
+
+	// Lectures verrouillantes du contrôle de conflits : voient les derniers commits même en REPEATABLE READ.
+	// Sans flush : les lignes de la transaction courante sont vérifiées par l'index en mémoire.
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT p FROM Programmation p WHERE p.salle.codeSalle IN :codes "
+			+ "AND p.statusProgrammation <> :excluded "
+			+ "AND p.debutProgammation < :end AND p.finProgammation > :start")
+	List<Programmation> lockOverlappingInSalles(@Param("codes") Collection<String> codesSalles,
+			@Param("excluded") StatusProgrammation excluded,
+			@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT p FROM Programmation p WHERE p.personnelProg.codePersonnel IN :codes "
+			+ "AND p.statusProgrammation <> :excluded "
+			+ "AND p.debutProgammation < :end AND p.finProgammation > :start")
+	List<Programmation> lockOverlappingForPersonnels(@Param("codes") Collection<String> codesPersonnels,
+			@Param("excluded") StatusProgrammation excluded,
+			@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+	// Changement de statut en une requête : seules les programmations encore au statut attendu sont modifiées
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Programmation p SET p.statusProgrammation = :to, p.personnelVal = :validator "
+			+ "WHERE p.codeProgrammation IN :codes AND p.statusProgrammation = :from")
+	int transitionStatus(@Param("codes") Collection<Integer> codes, @Param("from") StatusProgrammation from,
+			@Param("to") StatusProgrammation to, @Param("validator") Personnel validator);
+
+	@Query("SELECT p.codeProgrammation FROM Programmation p "
+			+ "WHERE p.codeProgrammation IN :codes AND p.statusProgrammation = :status")
+	List<Integer> findCodesByStatus(@Param("codes") Collection<Integer> codes, @Param("status") StatusProgrammation status);
+
 }
@@ -0,0 +1,12 @@
+package com.eadl.suivi_academique.repositories;
+
+import java.util.stream.Stream;
+
+import com.eadl.suivi_academique.dto.ProgrammationExportFilter;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+
+public interface ProgrammationRepositoryCustom {
+
+    // Curseur en lecture seule : à consommer dans une transaction puis fermer
+    Stream<ProgrammationSummary> streamForExport(ProgrammationExportFilter filter);
+}
@@ -0,0 +1,65 @@
+package com.eadl.suivi_academique.repositories;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import com.eadl.suivi_academique.dto.ProgrammationExportFilter;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Fragment d'implémentation de {@link ProgrammationRepository} pour l'export.
+ * La requête construit directement des lignes à plat (aucune entité dans le contexte
+ * de persistance) et les lit par paquets de « fetch size » via un curseur avant seul.
+ */
+public class ProgrammationRepositoryImpl implements ProgrammationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${programmation.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    public Stream<ProgrammationSummary> streamForExport(ProgrammationExportFilter filter) {
+        StringBuilder jpql = new StringBuilder(ProgrammationRepository.SUMMARY_SELECT + " WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filter.getStatus() != null) {
+            jpql.append(" AND p.statusProgrammation = :status");
+            parameters.put("status", filter.getStatus());
+        }
+        if (filter.getCodeSalle() != null) {
+            jpql.append(" AND s.codeSalle = :codeSalle");
+            parameters.put("codeSalle", filter.getCodeSalle());
+        }
+        if (filter.getCodeCours() != null) {
+            jpql.append(" AND c.codeCours = :codeCours");
+            parameters.put("codeCours", filter.getCodeCours());
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" AND p.dateProgammation >= :from");
+            parameters.put("from", filter.getFrom().atStartOfDay());
+        }
+        if (filter.getTo() != null) {
+            // Borne haute incluse : tout le jour « to »
+            jpql.append(" AND p.dateProgammation < :to");
+            parameters.put("to", filter.getTo().plusDays(1).atStartOfDay());
+        }
+        jpql.append(" ORDER BY p.codeProgrammation");
+
+        TypedQuery<ProgrammationSummary> query = entityManager
+                .createQuery(jpql.toString(), ProgrammationSummary.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+        parameters.forEach(query::setParameter);
+        return query.getResultStream();
+    }
+}
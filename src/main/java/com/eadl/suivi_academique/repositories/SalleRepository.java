@@ -1,15 +1,24 @@
 package com.eadl.suivi_academique.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.projections.SalleView;
 import com.eadl.suivi_academique.utils.SalleStatus;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface SalleRepository extends JpaRepository<Salle, String> {
 
@@ -21,16 +30,37 @@ public interface SalleRepository extends JpaRepository<Salle, String> {
     Optional<Salle> findByCodeSalle(String codeSalle);
 
     // Methods that call the NamedQueries defined on the Salle entity
+    // Listes de salles en cache de requêtes : invalidées à la première écriture sur la table
     @Query(name = "Salle.findAll")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Salle> findAllByNamed();
 
     @Query(name = "Salle.findByCodeSalle")
     Optional<Salle> findByCodeSalleNamed(@Param("codeSalle") String codeSalle);
 
     @Query(name = "Salle.findByContenanceGreaterThanEquals")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Salle> findByContenanceGreaterThanEqualsNamed(@Param("contenance") int contenance);
 
     @Query(name = "Salle.findByStatus")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Salle> findByStatusNamed(@Param("statusSalle") SalleStatus status);
 
+    // Pagination par clé : salles après le dernier code renvoyé ("" pour la première page)
+    List<Salle> findByCodeSalleGreaterThanOrderByCodeSalle(String codeSalle, Limit limit);
+
+    // Projections servies par l'index (statusSalle, contenance)
+    List<SalleView> findViewsByStatusSalle(SalleStatus statusSalle);
+
+    List<SalleView> findViewsByStatusSalleAndContenanceGreaterThanEqualOrderByContenance(
+            SalleStatus statusSalle, int contenance);
+
+    List<SalleView> findViewsByContenanceGreaterThanEqualOrderByContenance(int contenance);
+
+    // Verrou de ligne pris avant de contrôler les créneaux : sérialise les réservations d'une salle entre nœuds
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT s FROM Salle s WHERE s.codeSalle IN :codes ORDER BY s.codeSalle")
+    List<Salle> lockAllByCodes(@Param("codes") Collection<String> codesSalles);
+
 }
@@ -0,0 +1,24 @@
+package com.eadl.suivi_academique.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eadl.suivi_academique.entities.TokenRevocation;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+
+    List<TokenRevocation> findByExpiresAtGreaterThan(long now);
+
+    List<TokenRevocation> findByLoginAndExpiresAtGreaterThan(String login, long now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocation t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") long now);
+
+}
@@ -0,0 +1,15 @@
+package com.eadl.suivi_academique.repositories.projections;
+
+import com.eadl.suivi_academique.utils.SalleStatus;
+
+// Projection fermée : seules ces colonnes sont lues, sans entité gérée ni programmations
+public interface SalleView {
+
+    String getCodeSalle();
+
+    String getDescSalle();
+
+    int getContenance();
+
+    SalleStatus getStatusSalle();
+}
@@ -0,0 +1,82 @@
+package com.eadl.suivi_academique.scheduling;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.eadl.suivi_academique.dto.PlanningJobDTO;
+import com.eadl.suivi_academique.utils.JobStatus;
+
+// État d'une génération de planning, lu par les requêtes de suivi pendant que le calcul avance
+public class PlanningJob {
+
+    private final String id;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicLong progress = new AtomicLong();
+
+    private volatile JobStatus status = JobStatus.EN_ATTENTE;
+    private volatile String message;
+    private volatile long totalWork = 1;
+    private volatile int sessions;
+    private volatile List<String> skippedCours = List.of();
+    private volatile TimetableSolver.Solution solution;
+    private volatile int created;
+    private volatile Instant finishedAt;
+
+    public PlanningJob(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public AtomicLong progress() {
+        return progress;
+    }
+
+    public void start(int sessions, long totalWork, List<String> skippedCours) {
+        this.sessions = sessions;
+        this.totalWork = Math.max(1, totalWork);
+        this.skippedCours = List.copyOf(skippedCours);
+        this.status = JobStatus.EN_COURS;
+    }
+
+    public void solved(TimetableSolver.Solution solution) {
+        this.solution = solution;
+    }
+
+    public void succeed(int created, String message) {
+        this.created = created;
+        this.message = message;
+        this.finishedAt = Instant.now();
+        this.status = JobStatus.TERMINE;
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        this.finishedAt = Instant.now();
+        this.status = JobStatus.ECHEC;
+    }
+
+    public PlanningJobDTO toDTO() {
+        TimetableSolver.Solution best = solution;
+        int percent = status == JobStatus.TERMINE
+                ? 100
+                : (int) Math.min(99, progress.get() * 100 / totalWork);
+        return new PlanningJobDTO(
+                id,
+                status.name(),
+                percent,
+                message,
+                sessions,
+                best == null ? null : best.initialScore(),
+                best == null ? null : best.score(),
+                best == null ? null : best.hardViolations(),
+                best == null ? null : best.softPenalty(),
+                created,
+                skippedCours,
+                submittedAt,
+                finishedAt);
+    }
+}
@@ -0,0 +1,365 @@
+package com.eadl.suivi_academique.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.entities.Programmation;
+import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationConflictException;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.utils.IntervalTree;
+import com.eadl.suivi_academique.utils.RebuildableIndex;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+import com.eadl.suivi_academique.utils.TransactionHooks;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Détection des chevauchements de créneaux : un arbre d'intervalles par salle et un par
+ * enseignant programmateur, tenus en mémoire et mis à jour à chaque écriture.
+ *
+ * L'index ne voit que les écritures de ce nœud : chaque réservation verrouille d'abord en base
+ * les lignes de la salle et de l'enseignant (SELECT ... FOR UPDATE), puis relit les créneaux
+ * validés qui chevauchent. Deux réservations du même créneau sont ainsi sérialisées quel que
+ * soit le nœud. La vérification et l'inscription dans l'index se font ensuite sous un même
+ * verrou local ; une inscription est annulée si la transaction appelante échoue.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgrammationConflictDetector {
+
+    private final ProgrammationRepository programmationRepository;
+    private final SalleRepository salleRepository;
+    private final PersonnelRepository personnelRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Integer, ProgrammationSlot> slots = new HashMap<>();
+    private final Map<String, IntervalTree> salles = new HashMap<>();
+    private final Map<String, IntervalTree> personnels = new HashMap<>();
+
+    private final RebuildableIndex rebuildable = new RebuildableIndex(lock);
+
+    // Une programmation refusée ne bloque ni la salle ni l'enseignant
+    public static boolean occupies(StatusProgrammation status) {
+        return status != StatusProgrammation.NON_VALIDE;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProgrammationSlot> active = rebuildable.rebuild(
+                () -> programmationRepository.findSlotsExcludingStatus(StatusProgrammation.NON_VALIDE),
+                loaded -> {
+                    slots.clear();
+                    salles.clear();
+                    personnels.clear();
+                    loaded.forEach(this::add);
+                });
+        log.info("Index des créneaux construit : {} programmations, {} salles", active.size(), salles.size());
+    }
+
+    /**
+     * Vérifie que ni la salle ni l'enseignant ne sont déjà pris sur le créneau, puis l'inscrit
+     * (en remplaçant l'ancien créneau de la même programmation lors d'une mise à jour).
+     * Doit être appelée dans la transaction qui écrit la programmation.
+     */
+    public void reserve(ProgrammationSlot slot) {
+        checkStored(List.of(slot), false);
+        ProgrammationSlot[] previous = new ProgrammationSlot[1];
+        lock.lock();
+        try {
+            checkFree(slot, salles, personnels);
+            previous[0] = slots.get(slot.codeProgrammation());
+            rebuildable.write(() -> add(slot));
+        } finally {
+            lock.unlock();
+        }
+        TransactionHooks.afterRollback(() -> rebuildable.write(() -> {
+            remove(slot.codeProgrammation());
+            if (previous[0] != null) {
+                add(previous[0]);
+            }
+        }));
+    }
+
+    /**
+     * Inscription d'un lot en une seule prise de verrou : chaque créneau est vérifié contre
+     * l'index et contre les créneaux précédents du lot. Au premier conflit rien n'est inscrit.
+     */
+    public void reserveAll(List<ProgrammationSlot> batch) {
+        checkStored(batch, true);
+        List<ProgrammationSlot> previous = new ArrayList<>(batch.size());
+        lock.lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                ProgrammationSlot slot = batch.get(i);
+                try {
+                    checkFree(slot, salles, personnels);
+                } catch (ProgrammationConflictException e) {
+                    List<ProgrammationSlot> added = List.copyOf(batch.subList(0, i));
+                    List<ProgrammationSlot> replaced = new ArrayList<>(previous);
+                    rebuildable.write(() -> undo(added, replaced));
+                    throw new ProgrammationConflictException("Élément " + (i + 1) + " du lot : " + e.getMessage());
+                }
+                previous.add(slots.get(slot.codeProgrammation()));
+                rebuildable.write(() -> add(slot));
+            }
+        } finally {
+            lock.unlock();
+        }
+        TransactionHooks.afterRollback(() -> rebuildable.write(() -> undo(batch, previous)));
+    }
+
+    public void releaseAfterCommit(int codeProgrammation) {
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> remove(codeProgrammation)));
+    }
+
+    // Lot écrit par un autre nœud, déjà vérifié là-bas : occupied (ceux des codes qui occupent
+    // encore leur créneau) est inscrit tel quel
+    public void refreshAfterCommit(Collection<Integer> codesProgrammations, List<ProgrammationSlot> occupied) {
+        List<Integer> codes = List.copyOf(codesProgrammations);
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> {
+            codes.forEach(this::remove);
+            occupied.forEach(this::add);
+        }));
+    }
+
+    public void clearAfterCommit() {
+        TransactionHooks.afterCommit(() -> rebuildable.clear(() -> {
+            slots.clear();
+            salles.clear();
+            personnels.clear();
+        }));
+    }
+
+    /**
+     * Premier intervalle libre d'au moins {@code minDuration} ms dans [start, end) pour la salle,
+     * sous la forme [début, fin] du trou trouvé ; null si la salle est prise sur toute la fenêtre.
+     */
+    public long[] firstFreeGap(String codeSalle, long start, long end, long minDuration) {
+        lock.lock();
+        try {
+            IntervalTree tree = salles.get(codeSalle);
+            if (tree == null) {
+                return new long[] { start, end };
+            }
+            if (minDuration >= end - start) {
+                // Fenêtre entière demandée : une seule descente dans l'arbre
+                return tree.findFirstOverlap(start, end, -1) < 0 ? new long[] { start, end } : null;
+            }
+            long cursor = start;
+            for (int id : tree.findOverlaps(start, end)) {
+                long[] booked = tree.get(id);
+                if (booked[0] - cursor >= minDuration) {
+                    return new long[] { cursor, booked[0] };
+                }
+                cursor = Math.max(cursor, booked[1]);
+            }
+            return end - cursor >= minDuration ? new long[] { cursor, end } : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Créneaux déjà réservés (triés par début) de la salle ou de l'enseignant qui chevauchent [start, end)
+    public List<long[]> salleBookings(String codeSalle, long start, long end) {
+        return bookings(salles, codeSalle, start, end);
+    }
+
+    public List<long[]> personnelBookings(String codePersonnel, long start, long end) {
+        return bookings(personnels, codePersonnel, start, end);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Contrôle en base ---
+
+    /**
+     * Verrouille les salles puis les enseignants du lot (toujours dans cet ordre, triés par code,
+     * pour éviter les interblocages) et vérifie le lot contre les créneaux lus en base par des
+     * lectures verrouillantes, qui voient les derniers commits même en REPEATABLE READ. Les lignes
+     * de la transaction courante non encore écrites sont couvertes par l'index.
+     */
+    private void checkStored(List<ProgrammationSlot> batch, boolean numbered) {
+        Set<String> codesSalles = new TreeSet<>();
+        Set<String> codesPersonnels = new TreeSet<>();
+        Set<Integer> own = new HashSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (ProgrammationSlot slot : batch) {
+            own.add(slot.codeProgrammation());
+            if (slot.debut() == null || slot.fin() == null) {
+                continue;
+            }
+            if (slot.codeSalle() != null) {
+                codesSalles.add(slot.codeSalle());
+            }
+            if (slot.codePersonnelProg() != null) {
+                codesPersonnels.add(slot.codePersonnelProg());
+            }
+            from = from == null || slot.debut().isBefore(from) ? slot.debut() : from;
+            to = to == null || slot.fin().isAfter(to) ? slot.fin() : to;
+        }
+        if (from == null) {
+            return;
+        }
+
+        List<Programmation> stored = new ArrayList<>();
+        if (!codesSalles.isEmpty()) {
+            salleRepository.lockAllByCodes(codesSalles);
+        }
+        if (!codesPersonnels.isEmpty()) {
+            personnelRepository.lockAllByCodes(codesPersonnels);
+        }
+        if (!codesSalles.isEmpty()) {
+            stored.addAll(programmationRepository.lockOverlappingInSalles(codesSalles,
+                    StatusProgrammation.NON_VALIDE, from, to));
+        }
+        if (!codesPersonnels.isEmpty()) {
+            stored.addAll(programmationRepository.lockOverlappingForPersonnels(codesPersonnels,
+                    StatusProgrammation.NON_VALIDE, from, to));
+        }
+
+        Map<String, IntervalTree> storedSalles = new HashMap<>();
+        Map<String, IntervalTree> storedPersonnels = new HashMap<>();
+        for (Programmation programmation : stored) {
+            if (own.contains(programmation.getCodeProgrammation())) {
+                continue;
+            }
+            long start = ProgrammationSlot.toEpochMilli(programmation.getDebutProgammation());
+            long end = ProgrammationSlot.toEpochMilli(programmation.getFinProgammation());
+            if (programmation.getSalle() != null) {
+                storedSalles.computeIfAbsent(programmation.getSalle().getCodeSalle(), key -> new IntervalTree())
+                        .put(programmation.getCodeProgrammation(), start, end);
+            }
+            if (programmation.getPersonnelProg() != null) {
+                storedPersonnels.computeIfAbsent(programmation.getPersonnelProg().getCodePersonnel(),
+                        key -> new IntervalTree()).put(programmation.getCodeProgrammation(), start, end);
+            }
+        }
+        if (storedSalles.isEmpty() && storedPersonnels.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            ProgrammationSlot slot = batch.get(i);
+            if (slot.debut() == null || slot.fin() == null) {
+                continue;
+            }
+            try {
+                checkFree(slot, storedSalles, storedPersonnels);
+            } catch (ProgrammationConflictException e) {
+                if (!numbered) {
+                    throw e;
+                }
+                throw new ProgrammationConflictException("Élément " + (i + 1) + " du lot : " + e.getMessage());
+            }
+        }
+    }
+
+    // --- Gestion interne (appelée sous verrou) ---
+
+    private static void checkFree(ProgrammationSlot slot, Map<String, IntervalTree> salles,
+            Map<String, IntervalTree> personnels) {
+        long start = slot.startMillis();
+        long end = slot.endMillis();
+
+        int salleConflict = findConflict(salles, slot.codeSalle(), start, end, slot.codeProgrammation());
+        if (salleConflict >= 0) {
+            throw new ProgrammationConflictException("La salle " + slot.codeSalle()
+                    + " est déjà réservée sur ce créneau (programmation " + salleConflict + ")");
+        }
+        int personnelConflict = findConflict(personnels, slot.codePersonnelProg(), start, end, slot.codeProgrammation());
+        if (personnelConflict >= 0) {
+            throw new ProgrammationConflictException("L'enseignant " + slot.codePersonnelProg()
+                    + " a déjà une programmation sur ce créneau (programmation " + personnelConflict + ")");
+        }
+    }
+
+    private List<long[]> bookings(Map<String, IntervalTree> trees, String key, long start, long end) {
+        lock.lock();
+        try {
+            IntervalTree tree = trees.get(key);
+            if (tree == null) {
+                return List.of();
+            }
+            List<long[]> intervals = new ArrayList<>();
+            for (int id : tree.findOverlaps(start, end)) {
+                intervals.add(tree.get(id));
+            }
+            return intervals;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int findConflict(Map<String, IntervalTree> trees, String key, long start, long end, int excludedId) {
+        if (key == null) {
+            return -1;
+        }
+        IntervalTree tree = trees.get(key);
+        return tree == null ? -1 : tree.findFirstOverlap(start, end, excludedId);
+    }
+
+    private void add(ProgrammationSlot slot) {
+        remove(slot.codeProgrammation());
+        if (slot.debut() == null || slot.fin() == null) {
+            return;
+        }
+        slots.put(slot.codeProgrammation(), slot);
+        long start = slot.startMillis();
+        long end = slot.endMillis();
+        if (slot.codeSalle() != null) {
+            salles.computeIfAbsent(slot.codeSalle(), key -> new IntervalTree()).put(slot.codeProgrammation(), start, end);
+        }
+        if (slot.codePersonnelProg() != null) {
+            personnels.computeIfAbsent(slot.codePersonnelProg(), key -> new IntervalTree()).put(slot.codeProgrammation(), start, end);
+        }
+    }
+
+    private void remove(int codeProgrammation) {
+        ProgrammationSlot previous = slots.remove(codeProgrammation);
+        if (previous == null) {
+            return;
+        }
+        detach(salles, previous.codeSalle(), codeProgrammation);
+        detach(personnels, previous.codePersonnelProg(), codeProgrammation);
+    }
+
+    // Retire les créneaux inscrits, du dernier au premier, en rétablissant ceux qu'ils remplaçaient
+    private void undo(List<ProgrammationSlot> added, List<ProgrammationSlot> previous) {
+        for (int i = added.size() - 1; i >= 0; i--) {
+            remove(added.get(i).codeProgrammation());
+            if (previous.get(i) != null) {
+                add(previous.get(i));
+            }
+        }
+    }
+
+    private static void detach(Map<String, IntervalTree> trees, String key, int codeProgrammation) {
+        IntervalTree tree = key == null ? null : trees.get(key);
+        if (tree != null && tree.remove(codeProgrammation) && tree.isEmpty()) {
+            trees.remove(key);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.eadl.suivi_academique.scheduling;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Créneau occupé par une programmation : seules les colonnes utiles à la détection de conflits
+public record ProgrammationSlot(
+        int codeProgrammation,
+        String codeSalle,
+        String codePersonnelProg,
+        LocalDateTime debut,
+        LocalDateTime fin
+) {
+
+    // Bornes en millisecondes, dans le fuseau du serveur, pour les arbres d'intervalles
+    public long startMillis() {
+        return toEpochMilli(debut);
+    }
+
+    public long endMillis() {
+        return toEpochMilli(fin);
+    }
+
+    public static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime ofEpochMilli(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,148 @@
+package com.eadl.suivi_academique.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.dto.SalleDisponibiliteDTO;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.repositories.projections.SalleView;
+import com.eadl.suivi_academique.utils.RebuildableIndex;
+import com.eadl.suivi_academique.utils.SalleStatus;
+import com.eadl.suivi_academique.utils.TransactionHooks;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index en mémoire des salles réservables (statut LIBRE), triées par contenance.
+ *
+ * La recherche parcourt les salles de la plus petite contenance suffisante à la plus grande
+ * (meilleur ajustement d'abord) et interroge pour chacune l'arbre des créneaux de
+ * {@link ProgrammationConflictDetector} : aucun accès à la base.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalleAvailabilityIndex {
+
+    private final SalleRepository salleRepository;
+    private final ProgrammationConflictDetector conflictDetector;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Room> rooms = new HashMap<>();
+    private final TreeMap<Integer, NavigableSet<String>> byContenance = new TreeMap<>();
+
+    private final RebuildableIndex rebuildable = new RebuildableIndex(lock.writeLock());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<SalleView> libres = rebuildable.rebuild(
+                () -> salleRepository.findViewsByStatusSalle(SalleStatus.LIBRE),
+                loaded -> {
+                    rooms.clear();
+                    byContenance.clear();
+                    loaded.forEach(view -> add(new Room(view.getCodeSalle(), view.getDescSalle(), view.getContenance())));
+                });
+        log.info("Index des disponibilités construit : {} salles réservables", libres.size());
+    }
+
+    // Une salle qui n'est plus LIBRE sort de l'index
+    public void indexAfterCommit(Salle salle) {
+        Room room = new Room(salle.getCodeSalle(), salle.getDescSalle(), salle.getContenance());
+        boolean reservable = salle.getStatusSalle() == SalleStatus.LIBRE;
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> {
+            remove(room.code());
+            if (reservable) {
+                add(room);
+            }
+        }));
+    }
+
+    public void removeAfterCommit(String codeSalle) {
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> remove(codeSalle)));
+    }
+
+    /**
+     * Salles d'au moins {@code minContenance} places ayant un créneau libre d'au moins
+     * {@code minDuration} ms dans [start, end), classées par contenance croissante puis par code.
+     */
+    public List<SalleDisponibiliteDTO> findAvailable(long start, long end, int minContenance, long minDuration, int limit) {
+        List<SalleDisponibiliteDTO> result = new ArrayList<>(Math.min(limit, 64));
+        lock.readLock().lock();
+        try {
+            for (NavigableSet<String> codes : byContenance.tailMap(minContenance, true).values()) {
+                for (String code : codes) {
+                    long[] gap = conflictDetector.firstFreeGap(code, start, end, minDuration);
+                    if (gap == null) {
+                        continue;
+                    }
+                    Room room = rooms.get(code);
+                    result.add(new SalleDisponibiliteDTO(room.code(), room.description(), room.contenance(),
+                            ProgrammationSlot.ofEpochMilli(gap[0]), ProgrammationSlot.ofEpochMilli(gap[1])));
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // Codes des salles réservables d'au moins minContenance places, par contenance croissante
+    public Map<String, Integer> reservableRooms(int minContenance) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            byContenance.tailMap(minContenance, true).forEach((contenance, codes) ->
+                    codes.forEach(code -> result.put(code, contenance)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rooms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Gestion interne (appelée sous verrou d'écriture) ---
+
+    private void add(Room room) {
+        rooms.put(room.code(), room);
+        byContenance.computeIfAbsent(room.contenance(), key -> new TreeSet<>()).add(room.code());
+    }
+
+    private void remove(String code) {
+        Room previous = rooms.remove(code);
+        if (previous == null) {
+            return;
+        }
+        NavigableSet<String> codes = byContenance.get(previous.contenance());
+        if (codes != null && codes.remove(code) && codes.isEmpty()) {
+            byContenance.remove(previous.contenance());
+        }
+    }
+
+    private record Room(String code, String description, int contenance) {
+    }
+}
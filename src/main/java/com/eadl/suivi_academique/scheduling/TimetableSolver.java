@@ -0,0 +1,249 @@
+package com.eadl.suivi_academique.scheduling;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Affectation de séances à des couples (créneau, salle) par recuit simulé.
+ *
+ * Contraintes dures : une salle et un enseignant ne servent qu'une séance par créneau,
+ * et jamais sur un créneau déjà réservé. Contraintes souples : pas deux séances du même
+ * cours le même jour, et des salles aussi proches que possible de l'effectif.
+ * Plusieurs chaînes indépendantes (graines différentes) tournent en parallèle ; la meilleure gagne.
+ */
+public final class TimetableSolver {
+
+    public static final long HARD_WEIGHT = 1000;
+    static final long SAME_DAY_WEIGHT = 10;
+    // Une place inoccupée sur dix coûte un point
+    static final int WASTE_SEATS_PER_POINT = 10;
+
+    private static final double START_TEMPERATURE = 200.0;
+    private static final double END_TEMPERATURE = 0.5;
+    private static final int GREEDY_CANDIDATES = 64;
+    private static final int PROGRESS_STEP = 1024;
+
+    private TimetableSolver() {
+    }
+
+    /**
+     * Lance {@code chains} chaînes de {@code iterations} itérations sur le pool fourni ;
+     * {@code progress} reçoit le nombre total d'itérations effectuées.
+     */
+    public static Solution solve(Problem problem, int chains, long iterations, long seed,
+            ExecutorService pool, AtomicLong progress) {
+        if (problem.sessions() == 0) {
+            progress.addAndGet((long) chains * iterations);
+            return new Solution(new int[0], new int[0], 0, 0, 0);
+        }
+
+        List<Future<Solution>> futures = new ArrayList<>(chains);
+        for (int chain = 0; chain < chains; chain++) {
+            SplittableRandom random = new SplittableRandom(seed + chain * 0x9E3779B97F4A7C15L);
+            futures.add(pool.submit(() -> new Chain(problem, random).run(iterations, progress)));
+        }
+
+        Solution best = null;
+        try {
+            for (Future<Solution> future : futures) {
+                Solution candidate = future.get();
+                if (best == null || candidate.score() < best.score()) {
+                    best = candidate;
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Génération du planning interrompue", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Échec de la génération du planning", e.getCause());
+        }
+        return best;
+    }
+
+    /**
+     * Données du problème, toutes indexées par entier.
+     * {@code roomBlocked} et {@code teacherBlocked} sont indexés par ressource * slots() + créneau.
+     */
+    public record Problem(
+            int slotsPerDay,
+            int days,
+            int[] roomCapacity,
+            int[] sessionCours,
+            int[] sessionTeacher,
+            int coursCount,
+            int teacherCount,
+            BitSet roomBlocked,
+            BitSet teacherBlocked,
+            int effectif
+    ) {
+
+        public int slots() {
+            return slotsPerDay * days;
+        }
+
+        public int sessions() {
+            return sessionCours.length;
+        }
+
+        public int rooms() {
+            return roomCapacity.length;
+        }
+    }
+
+    // slot[i] et room[i] : créneau et salle (indices) de la séance i ; initialScore : score après l'amorce gloutonne
+    public record Solution(int[] slot, int[] room, long hardViolations, long softPenalty, long initialScore) {
+
+        public long score() {
+            return hardViolations * HARD_WEIGHT + softPenalty;
+        }
+    }
+
+    private static final class Chain {
+
+        private final Problem problem;
+        private final SplittableRandom random;
+        private final int slots;
+
+        private final int[] slot;
+        private final int[] room;
+        private final int[] roomSlot;
+        private final int[] teacherSlot;
+        private final int[] coursDay;
+
+        private long hard;
+        private long soft;
+        private long initialScore;
+
+        private Chain(Problem problem, SplittableRandom random) {
+            this.problem = problem;
+            this.random = random;
+            this.slots = problem.slots();
+            this.slot = new int[problem.sessions()];
+            this.room = new int[problem.sessions()];
+            this.roomSlot = new int[problem.rooms() * slots];
+            this.teacherSlot = new int[problem.teacherCount() * slots];
+            this.coursDay = new int[problem.coursCount() * problem.days()];
+        }
+
+        private Solution run(long iterations, AtomicLong progress) {
+            greedyStart();
+            initialScore = score();
+            Solution best = snapshot();
+
+            double temperature = START_TEMPERATURE;
+            double cooling = Math.pow(END_TEMPERATURE / START_TEMPERATURE, 1.0 / Math.max(1, iterations));
+            long done = 0;
+            long reported = 0;
+
+            for (; done < iterations && best.score() > 0; done++) {
+                int session = random.nextInt(problem.sessions());
+                int oldSlot = slot[session];
+                int oldRoom = room[session];
+                int newSlot = random.nextInt(slots);
+                int newRoom = random.nextInt(4) == 0 ? random.nextInt(problem.rooms()) : oldRoom;
+
+                long before = score();
+                place(session, oldSlot, oldRoom, -1);
+                place(session, newSlot, newRoom, 1);
+                long delta = score() - before;
+
+                if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                    if (score() < best.score()) {
+                        best = snapshot();
+                    }
+                } else {
+                    place(session, newSlot, newRoom, -1);
+                    place(session, oldSlot, oldRoom, 1);
+                }
+                temperature *= cooling;
+
+                if (done - reported >= PROGRESS_STEP) {
+                    progress.addAndGet(done - reported);
+                    reported = done;
+                }
+            }
+            // Solution parfaite trouvée plus tôt : les itérations restantes comptent comme faites
+            progress.addAndGet(iterations - reported);
+            return best;
+        }
+
+        // Chaque séance, dans un ordre aléatoire, prend le meilleur de quelques candidats tirés au sort
+        private void greedyStart() {
+            int[] order = new int[problem.sessions()];
+            for (int i = 0; i < order.length; i++) {
+                int j = random.nextInt(i + 1);
+                order[i] = order[j];
+                order[j] = i;
+            }
+            for (int session : order) {
+                int bestSlot = 0;
+                int bestRoom = 0;
+                long bestDelta = Long.MAX_VALUE;
+                for (int candidate = 0; candidate < GREEDY_CANDIDATES && bestDelta > 0; candidate++) {
+                    int candidateSlot = random.nextInt(slots);
+                    int candidateRoom = random.nextInt(problem.rooms());
+                    long before = score();
+                    place(session, candidateSlot, candidateRoom, 1);
+                    long delta = score() - before;
+                    place(session, candidateSlot, candidateRoom, -1);
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        bestSlot = candidateSlot;
+                        bestRoom = candidateRoom;
+                    }
+                }
+                place(session, bestSlot, bestRoom, 1);
+            }
+        }
+
+        // Ajoute (sign = 1) ou retire (sign = -1) la séance du créneau et de la salle, en tenant les coûts à jour
+        private void place(int session, int atSlot, int atRoom, int sign) {
+            int cours = problem.sessionCours()[session];
+            int teacher = problem.sessionTeacher()[session];
+            int day = atSlot / problem.slotsPerDay();
+
+            hard += clash(roomSlot, atRoom * slots + atSlot, sign);
+            hard += clash(teacherSlot, teacher * slots + atSlot, sign);
+            if (problem.roomBlocked().get(atRoom * slots + atSlot)) {
+                hard += sign;
+            }
+            if (problem.teacherBlocked().get(teacher * slots + atSlot)) {
+                hard += sign;
+            }
+            soft += SAME_DAY_WEIGHT * clash(coursDay, cours * problem.days() + day, sign);
+            soft += (long) sign * ((problem.roomCapacity()[atRoom] - problem.effectif()) / WASTE_SEATS_PER_POINT);
+
+            if (sign > 0) {
+                slot[session] = atSlot;
+                room[session] = atRoom;
+            }
+        }
+
+        // Variation du nombre de doublons d'une case quand on y ajoute ou retire une séance
+        private static int clash(int[] counts, int cell, int sign) {
+            if (sign > 0) {
+                return counts[cell]++ >= 1 ? 1 : 0;
+            }
+            return --counts[cell] >= 1 ? -1 : 0;
+        }
+
+        private long score() {
+            return hard * HARD_WEIGHT + soft;
+        }
+
+        private Solution snapshot() {
+            return new Solution(slot.clone(), room.clone(), hard, soft, initialScore);
+        }
+    }
+}
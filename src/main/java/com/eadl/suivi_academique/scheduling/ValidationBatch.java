@@ -0,0 +1,69 @@
+package com.eadl.suivi_academique.scheduling;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.eadl.suivi_academique.dto.ValidationBatchDTO;
+import com.eadl.suivi_academique.utils.JobStatus;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+
+// État d'un lot de validation ; les tranches le mettent à jour depuis leurs threads virtuels
+public class ValidationBatch {
+
+    private final String id;
+    private final StatusProgrammation target;
+    private final int requested;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger updated = new AtomicInteger();
+
+    private volatile JobStatus status = JobStatus.EN_ATTENTE;
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    public ValidationBatch(String id, StatusProgrammation target, int requested) {
+        this.id = id;
+        this.target = target;
+        this.requested = requested;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void start() {
+        this.status = JobStatus.EN_COURS;
+    }
+
+    public void chunkDone(int size, int changed) {
+        processed.addAndGet(size);
+        updated.addAndGet(changed);
+    }
+
+    public void succeed() {
+        this.finishedAt = Instant.now();
+        this.status = JobStatus.TERMINE;
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        this.finishedAt = Instant.now();
+        this.status = JobStatus.ECHEC;
+    }
+
+    public ValidationBatchDTO toDTO() {
+        int done = processed.get();
+        int changed = updated.get();
+        return new ValidationBatchDTO(
+                id,
+                status.name(),
+                target.name(),
+                requested,
+                done,
+                changed,
+                done - changed,
+                message,
+                submittedAt,
+                finishedAt);
+    }
+}
@@ -0,0 +1,287 @@
+package com.eadl.suivi_academique.scheduling;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.utils.RebuildableIndex;
+import com.eadl.suivi_academique.utils.TransactionHooks;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Emplois du temps hebdomadaires tenus en mémoire : les programmations sont rangées par
+ * enseignant programmateur et par salle, puis par semaine ISO de leur début.
+ *
+ * Lire une semaine est une seule recherche dans une table de hachage. Chaque semaine porte
+ * un tampon, changé à chaque modification, qui sert d'ETag aux requêtes conditionnelles.
+ */
+@Slf4j
+@Component
+public class WeeklyCalendar {
+
+    private static final Comparator<ProgrammationSummary> BY_START = Comparator
+            .comparing(ProgrammationSummary::getDebutProgammation)
+            .thenComparingInt(ProgrammationSummary::getCodeProgrammation);
+    private static final int REFRESH_CHUNK = 1000;
+
+    private final ProgrammationRepository programmationRepository;
+    private final TransactionTemplate refreshTransaction;
+    private final int rebuildPartitions;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, ProgrammationSummary> entries = new HashMap<>();
+    private final Map<WeekKey, Week> personnelWeeks = new HashMap<>();
+    private final Map<WeekKey, Week> salleWeeks = new HashMap<>();
+    // generation change à chaque reconstruction, stamp à chaque écriture : ensemble ils forment l'ETag
+    private long generation;
+    private long stamp;
+
+    private final RebuildableIndex rebuildable = new RebuildableIndex(lock.writeLock());
+
+    public WeeklyCalendar(
+            ProgrammationRepository programmationRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${calendar.rebuild-partitions:4}") int rebuildPartitions
+    ) {
+        this.programmationRepository = programmationRepository;
+        // Relecture après validation : hors de la transaction qui vient de se terminer
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshTransaction.setReadOnly(true);
+        this.rebuildPartitions = Math.max(1, rebuildPartitions);
+    }
+
+    /**
+     * Reconstruction complète : la plage des identifiants est découpée en partitions chargées
+     * et rangées en parallèle, puis fusionnées sous le verrou d'écriture.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Partition> partitions = rebuildable.rebuild(this::loadPartitions, loaded -> {
+            entries.clear();
+            personnelWeeks.clear();
+            salleWeeks.clear();
+            generation = System.currentTimeMillis();
+            stamp = 0;
+            for (Partition partition : loaded) {
+                entries.putAll(partition.entries());
+                partition.personnelWeeks().forEach((key, rows) -> week(personnelWeeks, key).rows.addAll(rows));
+                partition.salleWeeks().forEach((key, rows) -> week(salleWeeks, key).rows.addAll(rows));
+            }
+        });
+        log.info("Calendrier hebdomadaire construit : {} programmations, {} partitions", entries.size(), partitions.size());
+    }
+
+    // Lignes déjà complètes (codes et libellés chargés) : rangées telles quelles après validation
+    public void indexAfterCommit(Collection<ProgrammationSummary> summaries) {
+        List<ProgrammationSummary> snapshot = List.copyOf(summaries);
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> snapshot.forEach(this::put)));
+    }
+
+    // Programmations modifiées par ailleurs : relues depuis la base une fois la transaction validée
+    public void refreshAfterCommit(Collection<Integer> codesProgrammations) {
+        List<Integer> codes = List.copyOf(codesProgrammations);
+        TransactionHooks.afterCommit(() -> {
+            for (int from = 0; from < codes.size(); from += REFRESH_CHUNK) {
+                List<Integer> chunk = codes.subList(from, Math.min(codes.size(), from + REFRESH_CHUNK));
+                List<ProgrammationSummary> rows = refreshTransaction.execute(
+                        status -> programmationRepository.findSummariesByCodes(chunk));
+                rebuildable.write(() -> {
+                    chunk.forEach(this::remove);
+                    rows.forEach(this::put);
+                });
+            }
+        });
+    }
+
+    public void removeAfterCommit(int codeProgrammation) {
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> remove(codeProgrammation)));
+    }
+
+    public void clearAfterCommit() {
+        TransactionHooks.afterCommit(() -> rebuildable.clear(() -> {
+            entries.clear();
+            personnelWeeks.clear();
+            salleWeeks.clear();
+            stamp++;
+        }));
+    }
+
+    public WeekView personnelWeek(String codePersonnel, int weekYear, int week) {
+        return read(personnelWeeks, new WeekKey(codePersonnel, weekYear, week));
+    }
+
+    public WeekView salleWeek(String codeSalle, int weekYear, int week) {
+        return read(salleWeeks, new WeekKey(codeSalle, weekYear, week));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Séances de la semaine triées par début, et version à renvoyer comme ETag
+    public record WeekView(List<ProgrammationSummary> seances, String version) {
+    }
+
+    private List<Partition> loadPartitions() {
+        int maxCode = programmationRepository.findMaxCode();
+        int span = Math.max(1, (maxCode + rebuildPartitions - 1) / rebuildPartitions);
+
+        List<Partition> partitions = new ArrayList<>(rebuildPartitions);
+        try (ExecutorService pool = Executors.newFixedThreadPool(rebuildPartitions,
+                new CustomizableThreadFactory("calendar-rebuild-"))) {
+            List<Future<Partition>> futures = new ArrayList<>(rebuildPartitions);
+            for (int from = 0; from < maxCode; from += span) {
+                int lower = from;
+                int upper = Math.min(maxCode, from + span);
+                futures.add(pool.submit(() -> Partition.of(programmationRepository.findSummariesInRange(lower, upper))));
+            }
+            for (Future<Partition> future : futures) {
+                partitions.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstruction du calendrier interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec de la reconstruction du calendrier", e.getCause());
+        }
+        return partitions;
+    }
+
+    // --- Gestion interne (appelée sous verrou d'écriture) ---
+
+    private void put(ProgrammationSummary row) {
+        remove(row.getCodeProgrammation());
+        if (row.getDebutProgammation() == null) {
+            return;
+        }
+        stamp++;
+        entries.put(row.getCodeProgrammation(), row);
+        WeekKey personnelKey = WeekKey.of(row.getCodePersonnelProg(), row);
+        if (personnelKey != null) {
+            touch(week(personnelWeeks, personnelKey)).rows.add(row);
+        }
+        WeekKey salleKey = WeekKey.of(row.getCodeSalle(), row);
+        if (salleKey != null) {
+            touch(week(salleWeeks, salleKey)).rows.add(row);
+        }
+    }
+
+    private void remove(int codeProgrammation) {
+        ProgrammationSummary previous = entries.remove(codeProgrammation);
+        if (previous == null) {
+            return;
+        }
+        stamp++;
+        detach(personnelWeeks, WeekKey.of(previous.getCodePersonnelProg(), previous), previous);
+        detach(salleWeeks, WeekKey.of(previous.getCodeSalle(), previous), previous);
+    }
+
+    private void detach(Map<WeekKey, Week> weeks, WeekKey key, ProgrammationSummary row) {
+        Week week = key == null ? null : weeks.get(key);
+        if (week == null || !week.rows.remove(row)) {
+            return;
+        }
+        // Une semaine vidée disparaît : elle reprend la version d'une semaine vide
+        if (week.rows.isEmpty()) {
+            weeks.remove(key);
+        } else {
+            touch(week);
+        }
+    }
+
+    private Week touch(Week week) {
+        week.stamp = stamp;
+        return week;
+    }
+
+    private static Week week(Map<WeekKey, Week> weeks, WeekKey key) {
+        return weeks.computeIfAbsent(key, k -> new Week());
+    }
+
+    private WeekView read(Map<WeekKey, Week> weeks, WeekKey key) {
+        lock.readLock().lock();
+        try {
+            Week week = weeks.get(key);
+            long version = week == null ? 0 : week.stamp;
+            List<ProgrammationSummary> rows = week == null ? List.of() : List.copyOf(week.rows);
+            return new WeekView(rows, Long.toString(generation, 36) + "-" + Long.toString(version, 36));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record WeekKey(String code, int weekYear, int week) {
+
+        // Semaine ISO du début de la séance, dans le fuseau du serveur
+        static WeekKey of(String code, ProgrammationSummary row) {
+            if (code == null) {
+                return null;
+            }
+            LocalDate day = row.getDebutProgammation().toLocalDate();
+            return new WeekKey(code, day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        }
+    }
+
+    private static final class Week {
+        private final NavigableSet<ProgrammationSummary> rows = new TreeSet<>(BY_START);
+        private long stamp;
+    }
+
+    // Résultat d'une partition de la reconstruction, rangé hors verrou
+    private record Partition(
+            Map<Integer, ProgrammationSummary> entries,
+            Map<WeekKey, List<ProgrammationSummary>> personnelWeeks,
+            Map<WeekKey, List<ProgrammationSummary>> salleWeeks
+    ) {
+
+        static Partition of(List<ProgrammationSummary> rows) {
+            Partition partition = new Partition(new HashMap<>(), new HashMap<>(), new HashMap<>());
+            for (ProgrammationSummary row : rows) {
+                if (row.getDebutProgammation() == null) {
+                    continue;
+                }
+                partition.entries.put(row.getCodeProgrammation(), row);
+                WeekKey personnelKey = WeekKey.of(row.getCodePersonnelProg(), row);
+                if (personnelKey != null) {
+                    partition.personnelWeeks.computeIfAbsent(personnelKey, k -> new ArrayList<>()).add(row);
+                }
+                WeekKey salleKey = WeekKey.of(row.getCodeSalle(), row);
+                if (salleKey != null) {
+                    partition.salleWeeks.computeIfAbsent(salleKey, k -> new ArrayList<>()).add(row);
+                }
+            }
+            return partition;
+        }
+    }
+}
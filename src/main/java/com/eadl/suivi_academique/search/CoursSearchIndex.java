@@ -0,0 +1,213 @@
+package com.eadl.suivi_academique.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.dto.CoursDTO;
+import com.eadl.suivi_academique.dto.PageResponse;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.utils.RebuildableIndex;
+import com.eadl.suivi_academique.utils.TextNormalizer;
+import com.eadl.suivi_academique.utils.TransactionHooks;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index inversé en mémoire des cours, sur le titre et la description (sans accents ni casse).
+ *
+ * Chaque terme de la requête doit apparaître dans le cours ; le dernier est pris comme préfixe,
+ * la requête étant envoyée à chaque frappe. Les résultats sont classés par score BM25, une
+ * occurrence dans le titre comptant pour LABEL_WEIGHT occurrences dans la description.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CoursSearchIndex {
+
+    private static final int LABEL_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Un mot seulement commencé pèse un peu moins que le mot exact
+    private static final double PREFIX_FACTOR = 0.9;
+
+    private final CoursRepository coursRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    // terme -> (code du cours -> fréquence pondérée) ; trié pour les recherches par préfixe
+    private final TreeMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    private long totalLength;
+
+    private final RebuildableIndex rebuildable = new RebuildableIndex(lock.writeLock());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Cours> cours = rebuildable.rebuild(coursRepository::findAll, loaded -> {
+            entries.clear();
+            postings.clear();
+            totalLength = 0;
+            loaded.forEach(c -> add(Entry.of(c)));
+        });
+        log.info("Index de recherche des cours construit : {} cours, {} termes", cours.size(), postings.size());
+    }
+
+    // Les mises à jour ne sont visibles qu'une fois la transaction appelante validée
+    public void indexAfterCommit(Cours cours) {
+        Entry entry = Entry.of(cours);
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> add(entry)));
+    }
+
+    public void removeAfterCommit(String codeCours) {
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> remove(codeCours)));
+    }
+
+    public PageResponse<CoursDTO> search(String query, int page, int size) {
+        String[] terms = TextNormalizer.terms(query);
+        if (terms.length == 0 || size <= 0) {
+            return PageResponse.of(List.of(), page, size, 0);
+        }
+
+        int limit = (int) Math.min((long) (page + 1) * size, Integer.MAX_VALUE);
+        // Tas borné : on ne garde que les « limit » meilleurs résultats, le pire en tête
+        PriorityQueue<Hit> best = new PriorityQueue<>(Hit.ORDER.reversed());
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = null;
+            for (int i = 0; i < terms.length; i++) {
+                Map<String, Double> termScores = termScores(terms[i], i == terms.length - 1);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((code, score) -> score + termScores.get(code));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            for (Map.Entry<String, Double> scored : scores.entrySet()) {
+                total++;
+                best.offer(new Hit(entries.get(scored.getKey()), scored.getValue()));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(Hit.ORDER);
+        List<CoursDTO> content = ranked.stream()
+                .skip((long) page * size)
+                .map(hit -> hit.entry().toDTO())
+                .toList();
+        return PageResponse.of(content, page, size, total);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Gestion interne de l'index (appelée sous verrou) ---
+
+    // Score BM25 de chaque cours contenant le terme ; pour un préfixe, meilleur des mots qui le prolongent
+    private Map<String, Double> termScores(String term, boolean prefix) {
+        Map<String, Double> scores = new HashMap<>();
+        Collection<Map.Entry<String, Map<String, Integer>>> matches = prefix
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()
+                : postings.containsKey(term) ? List.of(Map.entry(term, postings.get(term))) : List.of();
+        double averageLength = entries.isEmpty() ? 1 : (double) totalLength / entries.size();
+        for (Map.Entry<String, Map<String, Integer>> match : matches) {
+            Map<String, Integer> frequencies = match.getValue();
+            double idf = Math.log(1 + (entries.size() - frequencies.size() + 0.5) / (frequencies.size() + 0.5));
+            double factor = match.getKey().equals(term) ? 1 : PREFIX_FACTOR;
+            frequencies.forEach((code, frequency) -> {
+                double norm = K1 * (1 - B + B * entries.get(code).length() / averageLength);
+                double score = factor * idf * frequency * (K1 + 1) / (frequency + norm);
+                scores.merge(code, score, Math::max);
+            });
+        }
+        return scores;
+    }
+
+    private void add(Entry entry) {
+        remove(entry.code());
+        entries.put(entry.code(), entry);
+        totalLength += entry.length();
+        entry.frequencies().forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(entry.code(), frequency));
+    }
+
+    private void remove(String code) {
+        Entry previous = entries.remove(code);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length();
+        for (String term : previous.frequencies().keySet()) {
+            Map<String, Integer> codes = postings.get(term);
+            if (codes != null && codes.remove(code) != null && codes.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private record Entry(
+            String code,
+            String label,
+            String description,
+            int nbCredit,
+            int nbHeure,
+            int length,
+            Map<String, Integer> frequencies
+    ) {
+
+        static Entry of(Cours cours) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = count(TextNormalizer.terms(cours.getLabelCours()), LABEL_WEIGHT, frequencies)
+                    + count(TextNormalizer.terms(cours.getDescCours()), 1, frequencies);
+            return new Entry(cours.getCodeCours(), cours.getLabelCours(), cours.getDescCours(),
+                    cours.getNbCreditCours(), cours.getNbHeureCours(), length, frequencies);
+        }
+
+        private static int count(String[] terms, int weight, Map<String, Integer> frequencies) {
+            for (String term : terms) {
+                frequencies.merge(term, weight, Integer::sum);
+            }
+            return terms.length * weight;
+        }
+
+        CoursDTO toDTO() {
+            return new CoursDTO(code, label, description, nbCredit, nbHeure);
+        }
+    }
+
+    private record Hit(Entry entry, double score) {
+
+        static final Comparator<Hit> ORDER = Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(hit -> hit.entry().label(), Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(hit -> hit.entry().code());
+    }
+}
@@ -0,0 +1,297 @@
+package com.eadl.suivi_academique.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.eadl.suivi_academique.dto.PageResponse;
+import com.eadl.suivi_academique.dto.PersonnelDTO;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.utils.RebuildableIndex;
+import com.eadl.suivi_academique.utils.TextNormalizer;
+import com.eadl.suivi_academique.utils.TransactionHooks;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index en mémoire des personnels pour la recherche par nom et par login.
+ *
+ * Chaque terme de la requête doit apparaître dans le nom ou le login (sans accents ni casse) :
+ * les termes d'au moins 3 caractères passent par un index de trigrammes, les plus courts
+ * par un index des préfixes de mots. Les résultats sont classés (terme exact, puis préfixe
+ * de mot, puis sous-chaîne) et paginés sans trier toute la liste des candidats.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PersonnelSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private final PersonnelRepository personnelRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final TreeMap<String, Set<String>> words = new TreeMap<>();
+
+    private final RebuildableIndex rebuildable = new RebuildableIndex(lock.writeLock());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Personnel> personnels = rebuildable.rebuild(personnelRepository::findAll, loaded -> {
+            entries.clear();
+            trigrams.clear();
+            words.clear();
+            loaded.forEach(this::add);
+        });
+        log.info("Index de recherche des personnels construit : {} entrées", personnels.size());
+    }
+
+    // Les mises à jour ne sont visibles qu'une fois la transaction appelante validée
+    public void indexAfterCommit(Collection<Personnel> personnels) {
+        List<Entry> snapshot = personnels.stream().map(Entry::of).toList();
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> snapshot.forEach(this::add)));
+    }
+
+    public void indexAfterCommit(Personnel personnel) {
+        indexAfterCommit(List.of(personnel));
+    }
+
+    public void removeAfterCommit(String codePersonnel) {
+        TransactionHooks.afterCommit(() -> rebuildable.write(() -> remove(codePersonnel)));
+    }
+
+    public void clearAfterCommit() {
+        TransactionHooks.afterCommit(() -> rebuildable.clear(() -> {
+            entries.clear();
+            trigrams.clear();
+            words.clear();
+        }));
+    }
+
+    public PageResponse<PersonnelDTO> search(String query, int page, int size) {
+        String[] terms = TextNormalizer.terms(query);
+        if (terms.length == 0 || size <= 0) {
+            return PageResponse.of(List.of(), page, size, 0);
+        }
+
+        int limit = (int) Math.min((long) (page + 1) * size, Integer.MAX_VALUE);
+        // Tas borné : on ne garde que les « limit » meilleurs résultats, le pire en tête
+        PriorityQueue<Hit> best = new PriorityQueue<>(Hit.ORDER.reversed());
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            for (String code : candidates(terms)) {
+                Entry entry = entries.get(code);
+                int score = entry.score(terms);
+                if (score < 0) {
+                    continue;
+                }
+                total++;
+                best.offer(new Hit(entry, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(Hit.ORDER);
+        List<PersonnelDTO> content = ranked.stream()
+                .skip((long) page * size)
+                .map(hit -> hit.entry().toDTO())
+                .toList();
+        return PageResponse.of(content, page, size, total);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Gestion interne des index (appelée sous verrou d'écriture) ---
+
+    private void add(Personnel personnel) {
+        add(Entry.of(personnel));
+    }
+
+    private void add(Entry entry) {
+        remove(entry.code());
+        entries.put(entry.code(), entry);
+        for (String gram : entry.grams()) {
+            trigrams.computeIfAbsent(gram, key -> new HashSet<>()).add(entry.code());
+        }
+        for (String word : entry.words()) {
+            words.computeIfAbsent(word, key -> new HashSet<>()).add(entry.code());
+        }
+    }
+
+    private void remove(String code) {
+        Entry previous = entries.remove(code);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : previous.grams()) {
+            detach(trigrams, gram, code);
+        }
+        for (String word : previous.words()) {
+            detach(words, word, code);
+        }
+    }
+
+    private static void detach(Map<String, Set<String>> postings, String key, String code) {
+        Set<String> codes = postings.get(key);
+        if (codes != null && codes.remove(code) && codes.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    // Intersection des listes de chaque terme, en partant de la plus courte
+    private Set<String> candidates(String[] terms) {
+        List<Set<String>> postings = new ArrayList<>();
+        for (String term : terms) {
+            Set<String> matches = term.length() >= GRAM_SIZE ? byTrigrams(term) : byWordPrefix(term);
+            if (matches.isEmpty()) {
+                return Set.of();
+            }
+            postings.add(matches);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private Set<String> byTrigrams(String term) {
+        List<Set<String>> postings = new ArrayList<>();
+        for (int i = 0; i + GRAM_SIZE <= term.length(); i++) {
+            Set<String> codes = trigrams.get(term.substring(i, i + GRAM_SIZE));
+            if (codes == null) {
+                return Set.of();
+            }
+            postings.add(codes);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<String> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private Set<String> byWordPrefix(String prefix) {
+        Set<String> result = new HashSet<>();
+        words.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .values()
+                .forEach(result::addAll);
+        return result;
+    }
+
+    private record Entry(
+            String code,
+            String nom,
+            String login,
+            String sexe,
+            String role,
+            String normalizedNom,
+            String normalizedLogin,
+            Set<String> grams,
+            Set<String> words
+    ) {
+
+        static Entry of(Personnel personnel) {
+            String normalizedNom = TextNormalizer.normalize(personnel.getNomPersonnel());
+            String normalizedLogin = TextNormalizer.normalize(personnel.getLoginPersonnel());
+
+            Set<String> words = new HashSet<>();
+            Set<String> grams = new HashSet<>();
+            for (String field : List.of(normalizedNom, normalizedLogin)) {
+                for (String word : field.split(" ")) {
+                    if (!word.isEmpty()) {
+                        words.add(word);
+                    }
+                }
+                for (int i = 0; i + GRAM_SIZE <= field.length(); i++) {
+                    grams.add(field.substring(i, i + GRAM_SIZE));
+                }
+            }
+
+            return new Entry(
+                    personnel.getCodePersonnel(),
+                    personnel.getNomPersonnel(),
+                    personnel.getLoginPersonnel(),
+                    personnel.getSexe(),
+                    personnel.getRolePersonnel() == null ? null : personnel.getRolePersonnel().name(),
+                    normalizedNom,
+                    normalizedLogin,
+                    grams,
+                    words);
+        }
+
+        // Somme des scores par terme (plus petit = plus pertinent), -1 si un terme est absent
+        int score(String[] terms) {
+            int total = 0;
+            for (String term : terms) {
+                int termScore = termScore(term);
+                if (termScore < 0) {
+                    return -1;
+                }
+                total += termScore;
+            }
+            return total;
+        }
+
+        private int termScore(String term) {
+            if (words.contains(term)) {
+                return 0;
+            }
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    return 1;
+                }
+            }
+            if (normalizedNom.contains(term) || normalizedLogin.contains(term)) {
+                return 2;
+            }
+            return -1;
+        }
+
+        PersonnelDTO toDTO() {
+            return new PersonnelDTO(code, nom, login, null, sexe, role);
+        }
+    }
+
+    private record Hit(Entry entry, int score) {
+
+        static final Comparator<Hit> ORDER = Comparator.comparingInt(Hit::score)
+                .thenComparingInt(hit -> hit.entry().normalizedNom().length())
+                .thenComparing(hit -> hit.entry().normalizedNom())
+                .thenComparing(hit -> hit.entry().code());
+    }
+}
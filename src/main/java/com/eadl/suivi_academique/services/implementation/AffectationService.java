@@ -1,6 +1,11 @@
 package com.eadl.suivi_academique.services.implementation;
 
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
+import com.eadl.suivi_academique.config.PaginationSettings;
 import com.eadl.suivi_academique.dto.AffectationDTO;
+import com.eadl.suivi_academique.dto.AffectationSummary;
+import com.eadl.suivi_academique.dto.AffectationWorkload;
+import com.eadl.suivi_academique.dto.CursorPage;
 import com.eadl.suivi_academique.entities.*;
 import com.eadl.suivi_academique.exceptions.affectationexception.AffectationNotFoundException;
 import com.eadl.suivi_academique.exceptions.coursexception.CoursNotFoundException;
@@ -10,13 +15,21 @@ import com.eadl.suivi_academique.repositories.AffectationRepository;
 import com.eadl.suivi_academique.repositories.CoursRepository;
 import com.eadl.suivi_academique.repositories.PersonnelRepository;
 import com.eadl.suivi_academique.services.interfaces.AffectationInterface;
+import com.eadl.suivi_academique.utils.CachedEntity;
+import com.eadl.suivi_academique.utils.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -28,6 +41,11 @@ public class AffectationService implements AffectationInterface {
     private final PersonnelRepository personnelRepository;
     private final CoursRepository coursRepository;
     private final AffectationMapper affectationMapper;
+    private final PaginationSettings paginationSettings;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${affectation.workload.max-codes:500}")
+    private int workloadMaxCodes;
 
     // Le code actuel etait fonctionnel, mais il souffrait de ce qu'on appelle la "Fat Service Layer" : les méthodes était longues, contennaient trop de blocs try-catch répétitifs et mélangeaient la logique métier avec la validation technique.
 
@@ -53,6 +71,7 @@ public class AffectationService implements AffectationInterface {
         aff.setCours(cours);
 
         Affectation saved = affectationRepository.save(aff);
+        cacheInvalidationBus.publish(CachedEntity.AFFECTATION, id.toKey());
         log.info("Affectation créée avec succès.");
 
         return affectationMapper.toDTO(saved);
@@ -60,9 +79,25 @@ public class AffectationService implements AffectationInterface {
 
     @Override
     @Transactional(readOnly = true)
-    public List<AffectationDTO> getAll() {
-        log.debug("Récupération de toutes les affectations");
-        return affectationMapper.toDtos(affectationRepository.findAll());
+    public CursorPage<AffectationDTO> getAll(String cursor, Integer size) {
+        log.debug("Récupération d'une page d'affectations");
+        int pageSize = paginationSettings.resolve(size);
+        String[] after = CursorCodec.decode(cursor, 2);
+        List<Affectation> fetched = affectationRepository.findPageAfter(
+                after == null ? "" : after[0], after == null ? "" : after[1], Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, affectationMapper::toDTO, a -> new String[] {
+                a.getCodeAffectation().getCodeCours(), a.getCodeAffectation().getCodePersonnel() });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<AffectationSummary> getSummaries(String cursor, Integer size) {
+        int pageSize = paginationSettings.resolve(size);
+        String[] after = CursorCodec.decode(cursor, 2);
+        List<AffectationSummary> fetched = affectationRepository.findSummariesAfter(
+                after == null ? "" : after[0], after == null ? "" : after[1], Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, summary -> summary, summary -> new String[] {
+                summary.getCodeCours(), summary.getCodePersonnel() });
     }
 
     @Override
@@ -77,6 +112,40 @@ public class AffectationService implements AffectationInterface {
                         String.format("Affectation non trouvée pour Personnel %s et Cours %s", codePersonnel, codeCours)));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public AffectationSummary getSummary(String codeCours, String codePersonnel) {
+        Assert.hasText(codeCours, "Le code cours est requis");
+        Assert.hasText(codePersonnel, "Le code personnel est requis");
+
+        return affectationRepository.findSummaryById(codeCours, codePersonnel)
+                .orElseThrow(() -> new AffectationNotFoundException(
+                        String.format("Affectation non trouvée pour Personnel %s et Cours %s", codePersonnel, codeCours)));
+    }
+
+    // Deux requêtes quel que soit le nombre d'enseignants : les totaux groupés, puis leurs affectations
+    @Override
+    @Transactional(readOnly = true)
+    public List<AffectationWorkload> getPersonnelWorkloads(List<String> codesPersonnel) {
+        List<String> codes = validateWorkloadCodes(codesPersonnel);
+        Map<String, AffectationWorkload> workloads = byCode(affectationRepository.findPersonnelWorkloads(codes));
+        affectationRepository.findSummariesByPersonnelCodes(codes)
+                .forEach(summary -> workloads.get(summary.getCodePersonnel()).getAffectations().add(summary));
+        log.debug("Charge de {} enseignants demandée, {} trouvés", codes.size(), workloads.size());
+        return List.copyOf(workloads.values());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AffectationWorkload> getCoursWorkloads(List<String> codesCours) {
+        List<String> codes = validateWorkloadCodes(codesCours);
+        Map<String, AffectationWorkload> workloads = byCode(affectationRepository.findCoursWorkloads(codes));
+        affectationRepository.findSummariesByCoursCodes(codes)
+                .forEach(summary -> workloads.get(summary.getCodeCours()).getAffectations().add(summary));
+        log.debug("Effectif de {} cours demandé, {} trouvés", codes.size(), workloads.size());
+        return List.copyOf(workloads.values());
+    }
+
     @Override
     public void delete(String codeCours, String codePersonnel) {
         log.info("Suppression affectation : Personnel {} -> Cours {}", codePersonnel, codeCours);
@@ -88,9 +157,25 @@ public class AffectationService implements AffectationInterface {
         }
 
         affectationRepository.deleteById(id);
+        cacheInvalidationBus.publish(CachedEntity.AFFECTATION, id.toKey());
         log.info("Affectation supprimée.");
     }
 
+    // Codes inconnus ignorés : ils sont simplement absents de la réponse
+    private List<String> validateWorkloadCodes(List<String> codes) {
+        Assert.notEmpty(codes, "Au moins un code est requis");
+        List<String> distinct = codes.stream().filter(code -> code != null && !code.isBlank()).distinct().toList();
+        Assert.notEmpty(distinct, "Au moins un code est requis");
+        Assert.isTrue(distinct.size() <= workloadMaxCodes,
+                "Au plus " + workloadMaxCodes + " codes par requête (" + distinct.size() + " reçus)");
+        return distinct;
+    }
+
+    private static Map<String, AffectationWorkload> byCode(List<AffectationWorkload> workloads) {
+        return workloads.stream().collect(Collectors.toMap(AffectationWorkload::getCode, Function.identity(),
+                (first, second) -> first, LinkedHashMap::new));
+    }
+
     /**
      * Centralisation des validations métier
      */
@@ -1,12 +1,19 @@
 package com.eadl.suivi_academique.services.implementation;
 
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
 import com.eadl.suivi_academique.config.JwtUtil;
+import com.eadl.suivi_academique.config.TokenRevocationRegistry;
+import com.eadl.suivi_academique.config.VerifiedToken;
+import com.eadl.suivi_academique.config.VerifiedTokenCache;
 import com.eadl.suivi_academique.dto.*;
 import com.eadl.suivi_academique.entities.Personnel;
 import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.search.PersonnelSearchIndex;
 import com.eadl.suivi_academique.services.interfaces.AuthentificationInterface;
+import com.eadl.suivi_academique.utils.CachedEntity;
 import com.eadl.suivi_academique.utils.CodeGenerator;
 import com.eadl.suivi_academique.utils.RolePersonnel;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,6 +33,10 @@ public class AuthentificationService implements AuthentificationInterface {
     private final JwtUtil jwtService;
     private final AuthenticationManager authenticationManager;
     private final CodeGenerator codeGenerator;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final PersonnelSearchIndex personnelSearchIndex;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
     public AuthResponse authenticate(AuthRequest request) {
@@ -52,6 +63,7 @@ public class AuthentificationService implements AuthentificationInterface {
         validateRegistrationRequest(dto);
 
         // 1. Préparation de l'entité
+        String passwordHash = passwordEncoder.encode(dto.getPasswordPersonnel());
         String generatedCode = codeGenerator.generate(dto.getRolePersonnel());
         Assert.notNull(generatedCode, "Échec de génération du code matricule");
 
@@ -61,16 +73,37 @@ public class AuthentificationService implements AuthentificationInterface {
                 .loginPersonnel(dto.getLoginPersonnel())
                 .sexe(dto.getSexe())
                 .rolePersonnel(parseRole(dto.getRolePersonnel()))
-                .passwordPersonnel(passwordEncoder.encode(dto.getPasswordPersonnel()))
+                .passwordPersonnel(passwordHash)
                 .build();
 
         // 2. Sauvegarde
         Personnel saved = personnelRepository.save(personnel);
+        personnelSearchIndex.indexAfterCommit(saved);
+        cacheInvalidationBus.publish(CachedEntity.PERSONNEL, saved.getCodePersonnel());
         log.info("Personnel enregistré avec succès (ID: {})", saved.getCodePersonnel());
 
         return buildAuthResponse(saved);
     }
 
+    @Override
+    public void logout(String token) {
+        Assert.hasText(token, "Le token est obligatoire");
+
+        String digest = VerifiedTokenCache.digest(token);
+        VerifiedToken verified;
+        try {
+            verified = verifiedTokenCache.verify(digest, token);
+        } catch (JwtException e) {
+            // Token invalide ou déjà expiré : rien à révoquer
+            return;
+        }
+
+        tokenRevocationRegistry.revokeToken(verified.subject(), digest, verified.expiration());
+        verifiedTokenCache.invalidate(digest);
+        cacheInvalidationBus.publish(CachedEntity.TOKEN_REVOCATION, verified.subject());
+        log.info("Déconnexion de : {}", verified.subject());
+    }
+
     /**
      * Méthodes utilitaires privées pour la clarté
      */
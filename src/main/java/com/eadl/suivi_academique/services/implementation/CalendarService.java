@@ -0,0 +1,48 @@
+package com.eadl.suivi_academique.services.implementation;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+
+import org.springframework.stereotype.Service;
+
+import com.eadl.suivi_academique.dto.WeekCalendarDTO;
+import com.eadl.suivi_academique.scheduling.WeeklyCalendar;
+import com.eadl.suivi_academique.services.interfaces.CalendarInterface;
+import com.eadl.suivi_academique.utils.IsoWeeks;
+
+import lombok.RequiredArgsConstructor;
+
+// Lecture des emplois du temps hebdomadaires : aucun accès à la base, tout vient de WeeklyCalendar
+@Service
+@RequiredArgsConstructor
+public class CalendarService implements CalendarInterface {
+
+    private final WeeklyCalendar weeklyCalendar;
+
+    @Override
+    public WeekCalendarDTO getPersonnelWeek(String codePersonnel, String semaine) {
+        LocalDate monday = parseWeek(semaine);
+        return toDTO(codePersonnel, monday, weeklyCalendar.personnelWeek(codePersonnel,
+                monday.get(IsoFields.WEEK_BASED_YEAR), monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)));
+    }
+
+    @Override
+    public WeekCalendarDTO getSalleWeek(String codeSalle, String semaine) {
+        LocalDate monday = parseWeek(semaine);
+        return toDTO(codeSalle, monday, weeklyCalendar.salleWeek(codeSalle,
+                monday.get(IsoFields.WEEK_BASED_YEAR), monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)));
+    }
+
+    // Lundi de la semaine demandée, semaine courante par défaut
+    private static LocalDate parseWeek(String semaine) {
+        if (semaine == null || semaine.isBlank()) {
+            return LocalDate.now().with(DayOfWeek.MONDAY);
+        }
+        return IsoWeeks.parseMonday(semaine);
+    }
+
+    private static WeekCalendarDTO toDTO(String code, LocalDate monday, WeeklyCalendar.WeekView view) {
+        return new WeekCalendarDTO(code, IsoWeeks.format(monday), monday, monday.plusDays(6), view.seances(), view.version());
+    }
+}
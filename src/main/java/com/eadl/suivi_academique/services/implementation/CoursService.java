@@ -1,16 +1,28 @@
 package com.eadl.suivi_academique.services.implementation;
 
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
+import com.eadl.suivi_academique.cache.CoursCatalogCache;
+import com.eadl.suivi_academique.config.PaginationSettings;
 import com.eadl.suivi_academique.dto.CoursDTO;
+import com.eadl.suivi_academique.dto.CursorPage;
+import com.eadl.suivi_academique.dto.PageResponse;
 import com.eadl.suivi_academique.entities.Cours;
 import com.eadl.suivi_academique.exceptions.coursexception.CoursNotFoundException;
 import com.eadl.suivi_academique.exceptions.coursexception.InvalidCoursException;
 import com.eadl.suivi_academique.mappers.CoursMapper;
 import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.search.CoursSearchIndex;
 import com.eadl.suivi_academique.services.interfaces.CoursInterface;
+import com.eadl.suivi_academique.utils.CachedEntity;
+import com.eadl.suivi_academique.utils.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 
 import java.util.List;
 
@@ -22,6 +34,13 @@ public class CoursService implements CoursInterface {
 
     private final CoursRepository coursRepository;
     private final CoursMapper coursMapper;
+    private final PaginationSettings paginationSettings;
+    private final CoursCatalogCache coursCatalogCache;
+    private final CoursSearchIndex coursSearchIndex;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${cours.search.max-page-size:100}")
+    private int maxSearchPageSize;
 
     @Override
     public CoursDTO createCours(CoursDTO dto) {
@@ -31,24 +50,34 @@ public class CoursService implements CoursInterface {
         
         Cours cours = coursMapper.toEntity(dto);
         Cours saved = coursRepository.save(cours);
+        coursCatalogCache.invalidateAfterCommit(saved.getCodeCours());
+        coursSearchIndex.indexAfterCommit(saved);
+        cacheInvalidationBus.publish(CachedEntity.COURS, saved.getCodeCours());
         
         return coursMapper.toDTO(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CoursDTO> getAllCours() {
-        return coursRepository.findAll().stream()
-                .map(coursMapper::toDTO)
-                .toList();
+    public CursorPage<CoursDTO> getAllCours(String cursor, Integer size) {
+        int pageSize = paginationSettings.resolve(size);
+        String[] after = CursorCodec.decode(cursor, 1);
+        String afterCode = after == null ? "" : after[0];
+        return coursCatalogCache.page(afterCode, pageSize, () -> {
+            List<Cours> fetched = coursRepository.findByCodeCoursGreaterThanOrderByCodeCours(
+                    afterCode, Limit.of(pageSize + 1));
+            return CursorPage.of(fetched, pageSize, coursMapper::toDTO, c -> new String[] { c.getCodeCours() });
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public CoursDTO getCoursByCode(String codeCours) {
-        return coursRepository.findById(codeCours)
-                .map(coursMapper::toDTO)
-                .orElseThrow(() -> new CoursNotFoundException("Cours introuvable avec le code : " + codeCours));
+        CoursDTO cours = coursCatalogCache.get(codeCours);
+        if (cours == null) {
+            throw new CoursNotFoundException("Cours introuvable avec le code : " + codeCours);
+        }
+        return cours;
     }
 
     @Override
@@ -59,6 +88,16 @@ public class CoursService implements CoursInterface {
                 .toList();
     }
 
+    // Servie par l'index en mémoire : aucune requête ni transaction
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PageResponse<CoursDTO> searchCours(String query, int page, int size) {
+        Assert.isTrue(page >= 0, "Le numéro de page doit être positif");
+        Assert.isTrue(size > 0 && size <= maxSearchPageSize,
+                "La taille de page doit être comprise entre 1 et " + maxSearchPageSize);
+        return coursSearchIndex.search(query, page, size);
+    }
+
     @Override
     public CoursDTO updateCours(String codeCours, CoursDTO dto) {
         log.info("Mise à jour du cours code : {}", codeCours);
@@ -68,7 +107,11 @@ public class CoursService implements CoursInterface {
         return coursRepository.findById(codeCours)
                 .map(existingCours -> {
                     updateFields(existingCours, dto);
-                    return coursMapper.toDTO(coursRepository.save(existingCours));
+                    Cours saved = coursRepository.save(existingCours);
+                    coursCatalogCache.invalidateAfterCommit(codeCours);
+                    coursSearchIndex.indexAfterCommit(saved);
+                    cacheInvalidationBus.publish(CachedEntity.COURS, codeCours);
+                    return coursMapper.toDTO(saved);
                 })
                 .orElseThrow(() -> new CoursNotFoundException("Cours introuvable : " + codeCours));
     }
@@ -81,6 +124,9 @@ public class CoursService implements CoursInterface {
             throw new CoursNotFoundException("Impossible de supprimer : cours introuvable");
         }
         coursRepository.deleteById(codeCours);
+        coursCatalogCache.invalidateAfterCommit(codeCours);
+        coursSearchIndex.removeAfterCommit(codeCours);
+        cacheInvalidationBus.publish(CachedEntity.COURS, codeCours);
     }
 
     @Override
@@ -98,17 +144,13 @@ public class CoursService implements CoursInterface {
     @Override
     @Transactional(readOnly = true)
     public List<CoursDTO> getCoursByMinCredit(int minCredit) {
-        return coursRepository.findByNbCreditCoursGreaterThanEqual(minCredit).stream()
-                .map(coursMapper::toDTO)
-                .toList();
+        return coursCatalogCache.withMinCredit(minCredit);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CoursDTO> getCoursByMinHeures(int minHeures) {
-        return coursRepository.findByNbHeureCoursGreaterThanEqual(minHeures).stream()
-                .map(coursMapper::toDTO)
-                .toList();
+        return coursCatalogCache.withMinHeures(minHeures);
     }
 
     // --- Méthodes privées utilitaires ---
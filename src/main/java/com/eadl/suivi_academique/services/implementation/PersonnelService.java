@@ -1,21 +1,46 @@
 package com.eadl.suivi_academique.services.implementation;
 
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
+import com.eadl.suivi_academique.config.BoundedPasswordEncoder;
+import com.eadl.suivi_academique.config.PaginationSettings;
+import com.eadl.suivi_academique.config.TokenRevocationRegistry;
+import com.eadl.suivi_academique.config.VerifiedTokenCache;
+import com.eadl.suivi_academique.dto.CursorPage;
+import com.eadl.suivi_academique.dto.PageResponse;
 import com.eadl.suivi_academique.dto.PersonnelDTO;
+import com.eadl.suivi_academique.dto.PersonnelImportLine;
+import com.eadl.suivi_academique.dto.PersonnelImportResult;
 import com.eadl.suivi_academique.entities.Personnel;
 import com.eadl.suivi_academique.exceptions.personnelexception.PersonnelNotFoundException;
 import com.eadl.suivi_academique.mappers.PersonnelMapper;
 import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.search.PersonnelSearchIndex;
 import com.eadl.suivi_academique.services.interfaces.PersonnelInterface;
+import com.eadl.suivi_academique.utils.CachedEntity;
 import com.eadl.suivi_academique.utils.CodeGenerator;
+import com.eadl.suivi_academique.utils.CursorCodec;
+import com.eadl.suivi_academique.utils.PersonnelCsvReader;
 import com.eadl.suivi_academique.utils.RolePersonnel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,10 +48,22 @@ import java.util.List;
 @Transactional
 public class PersonnelService implements PersonnelInterface {
 
+    // Taille des paquets traités d'un bloc lors d'un import massif
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+
     private final PersonnelRepository personnelRepository;
     private final PersonnelMapper personnelMapper;
     private final CodeGenerator codeGenerator;
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PersonnelSearchIndex personnelSearchIndex;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PaginationSettings paginationSettings;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${personnel.search.max-page-size:100}")
+    private int maxSearchPageSize;
 
     @Override
     public PersonnelDTO createPersonnel(PersonnelDTO dto) {
@@ -34,6 +71,7 @@ public class PersonnelService implements PersonnelInterface {
 
         validateNewPersonnel(dto);
 
+        String passwordHash = passwordEncoder.encode(dto.getPasswordPersonnel());
         String generatedCode = codeGenerator.generate(dto.getRolePersonnel());
         Assert.notNull(generatedCode, "Échec de génération du code matricule");
 
@@ -41,20 +79,61 @@ public class PersonnelService implements PersonnelInterface {
                 .codePersonnel(generatedCode)
                 .nomPersonnel(dto.getNomPersonnel())
                 .loginPersonnel(dto.getLoginPersonnel())
-                .passwordPersonnel(passwordEncoder.encode(dto.getPasswordPersonnel()))
+                .passwordPersonnel(passwordHash)
                 .sexe(dto.getSexe())
                 .rolePersonnel(parseRole(dto.getRolePersonnel()))
                 .build();
 
-        return personnelMapper.toDTO(personnelRepository.save(personnel));
+        Personnel saved = personnelRepository.save(personnel);
+        personnelSearchIndex.indexAfterCommit(saved);
+        cacheInvalidationBus.publish(CachedEntity.PERSONNEL, saved.getCodePersonnel());
+        return personnelMapper.toDTO(saved);
+    }
+
+    // Hors transaction : chaque paquet est validé dans sa propre transaction, le hachage
+    // BCrypt se fait avant de prendre une connexion
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PersonnelImportResult importPersonnels(List<PersonnelDTO> dtos) {
+        log.info("Import massif de {} personnels", dtos.size());
+
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        List<PersonnelImportLine> lignes = new ArrayList<>(dtos.size());
+        Set<String> seenLogins = new HashSet<>();
+        for (int from = 0; from < dtos.size(); from += IMPORT_CHUNK_SIZE) {
+            importChunk(dtos.subList(from, Math.min(from + IMPORT_CHUNK_SIZE, dtos.size())), from, seenLogins,
+                    lignes, chunkTransaction);
+        }
+
+        int importes = (int) lignes.stream().filter(l -> PersonnelImportLine.IMPORTE.equals(l.getStatut())).count();
+        log.info("Import massif terminé : {} importés, {} rejetés", importes, lignes.size() - importes);
+        return new PersonnelImportResult(lignes.size(), importes, lignes.size() - importes, lignes);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PersonnelImportResult importPersonnelsCsv(InputStream csv) {
+        return importPersonnels(PersonnelCsvReader.read(csv));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PersonnelDTO> getAllPersonnels() {
-        return personnelRepository.findAll().stream()
-                .map(personnelMapper::toDTO)
-                .toList();
+    public CursorPage<PersonnelDTO> getAllPersonnels(String cursor, Integer size) {
+        int pageSize = paginationSettings.resolve(size);
+        String[] after = CursorCodec.decode(cursor, 1);
+        List<Personnel> fetched = personnelRepository.findByCodePersonnelGreaterThanOrderByCodePersonnel(
+                after == null ? "" : after[0], Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, personnelMapper::toDTO, p -> new String[] { p.getCodePersonnel() });
+    }
+
+    // Servie par l'index en mémoire : aucune requête ni transaction
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PageResponse<PersonnelDTO> searchPersonnels(String query, int page, int size) {
+        Assert.isTrue(page >= 0, "Le numéro de page doit être positif");
+        Assert.isTrue(size > 0 && size <= maxSearchPageSize,
+                "La taille de page doit être comprise entre 1 et " + maxSearchPageSize);
+        return personnelSearchIndex.search(query, page, size);
     }
 
     @Override
@@ -84,8 +163,17 @@ public class PersonnelService implements PersonnelInterface {
 
         return personnelRepository.findById(code)
                 .map(existing -> {
+                    String previousLogin = existing.getLoginPersonnel();
                     updatePersonnelFields(existing, dto);
-                    return personnelMapper.toDTO(personnelRepository.save(existing));
+                    Personnel saved = personnelRepository.save(existing);
+                    // Le rôle et le login sont signés dans les tokens déjà émis : on les révoque une
+                    // fois la mise à jour validée (le registre n'applique la révocation qu'au commit)
+                    tokenRevocationRegistry.revokeTokensOf(previousLogin);
+                    verifiedTokenCache.invalidateAllOf(previousLogin);
+                    cacheInvalidationBus.publish(CachedEntity.TOKEN_REVOCATION, previousLogin);
+                    personnelSearchIndex.indexAfterCommit(saved);
+                    cacheInvalidationBus.publish(CachedEntity.PERSONNEL, code);
+                    return personnelMapper.toDTO(saved);
                 })
                 .orElseThrow(() -> new PersonnelNotFoundException("Mise à jour impossible, personnel introuvable"));
     }
@@ -95,16 +183,25 @@ public class PersonnelService implements PersonnelInterface {
         log.warn("Suppression du personnel : {}", code);
         Assert.hasText(code, "Le code personnel est obligatoire");
         
-        if (!personnelRepository.existsById(code)) {
-            throw new PersonnelNotFoundException("Suppression impossible : personnel introuvable");
-        }
-        personnelRepository.deleteById(code);
+        Personnel personnel = personnelRepository.findById(code)
+                .orElseThrow(() -> new PersonnelNotFoundException("Suppression impossible : personnel introuvable"));
+        personnelRepository.delete(personnel);
+        tokenRevocationRegistry.revokeTokensOf(personnel.getLoginPersonnel());
+        verifiedTokenCache.invalidateAllOf(personnel.getLoginPersonnel());
+        cacheInvalidationBus.publish(CachedEntity.TOKEN_REVOCATION, personnel.getLoginPersonnel());
+        personnelSearchIndex.removeAfterCommit(code);
+        cacheInvalidationBus.publish(CachedEntity.PERSONNEL, code);
     }
 
     @Override
     public void deleteAllPersonnels() {
         log.error("ATTENTION : Suppression de TOUS les personnels");
         personnelRepository.deleteAll();
+        tokenRevocationRegistry.revokeAllTokens();
+        verifiedTokenCache.invalidateAll();
+        cacheInvalidationBus.publishAll(CachedEntity.TOKEN_REVOCATION);
+        personnelSearchIndex.clearAfterCommit();
+        cacheInvalidationBus.publishAll(CachedEntity.PERSONNEL);
     }
 
     @Override
@@ -121,6 +218,117 @@ public class PersonnelService implements PersonnelInterface {
 
     // --- Méthodes privées utilitaires ---
 
+    // Un paquet : validation et hachage hors transaction, puis une transaction courte pour
+    // réserver les matricules et insérer par lots JDBC. Un paquet validé reste importé même
+    // si un paquet suivant échoue.
+    private void importChunk(List<PersonnelDTO> chunk, int offset, Set<String> seenLogins,
+            List<PersonnelImportLine> lignes, TransactionTemplate chunkTransaction) {
+        Set<String> existingLogins = personnelRepository.findExistingLogins(chunk.stream()
+                .map(PersonnelDTO::getLoginPersonnel)
+                .filter(login -> login != null && !login.isBlank())
+                .toList());
+
+        Map<Integer, PersonnelImportLine> report = new LinkedHashMap<>();
+        Map<Integer, PersonnelDTO> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            PersonnelDTO dto = chunk.get(i);
+            String rejection = validateImportedPersonnel(dto, existingLogins, seenLogins);
+            PersonnelImportLine ligne = PersonnelImportLine.builder()
+                    .ligne(offset + i + 1)
+                    .loginPersonnel(dto.getLoginPersonnel())
+                    .statut(rejection == null ? PersonnelImportLine.IMPORTE : PersonnelImportLine.REJETE)
+                    .message(rejection)
+                    .build();
+            report.put(i, ligne);
+            if (rejection == null) {
+                accepted.put(i, dto);
+            }
+        }
+
+        Map<Integer, String> hashes = new LinkedHashMap<>();
+        Iterator<String> hashIterator = passwordEncoder.encodeAll(accepted.values().stream()
+                .map(PersonnelDTO::getPasswordPersonnel)
+                .toList()).iterator();
+        accepted.keySet().forEach(index -> hashes.put(index, hashIterator.next()));
+
+        chunkTransaction.executeWithoutResult(status -> {
+            // Un login a pu être créé pendant le hachage
+            Set<String> takenLogins = personnelRepository.findExistingLogins(accepted.values().stream()
+                    .map(PersonnelDTO::getLoginPersonnel)
+                    .toList());
+            accepted.entrySet().removeIf(entry -> {
+                if (!takenLogins.contains(entry.getValue().getLoginPersonnel())) {
+                    return false;
+                }
+                report.get(entry.getKey()).setStatut(PersonnelImportLine.REJETE);
+                report.get(entry.getKey()).setMessage("Ce login existe déjà");
+                return true;
+            });
+
+            Map<RolePersonnel, Iterator<String>> codesByRole = new LinkedHashMap<>();
+            accepted.values().stream()
+                    .map(dto -> parseRole(dto.getRolePersonnel()))
+                    .collect(Collectors.groupingBy(role -> role, Collectors.counting()))
+                    .forEach((role, count) -> codesByRole.put(role,
+                            codeGenerator.generate(role.name(), count.intValue()).iterator()));
+
+            List<Personnel> personnels = new ArrayList<>(accepted.size());
+            accepted.forEach((index, dto) -> {
+                RolePersonnel role = parseRole(dto.getRolePersonnel());
+                Personnel personnel = Personnel.builder()
+                        .codePersonnel(codesByRole.get(role).next())
+                        .nomPersonnel(dto.getNomPersonnel())
+                        .loginPersonnel(dto.getLoginPersonnel())
+                        .passwordPersonnel(hashes.get(index))
+                        .sexe(dto.getSexe())
+                        .rolePersonnel(role)
+                        .build();
+                report.get(index).setCodePersonnel(personnel.getCodePersonnel());
+                personnels.add(personnel);
+            });
+
+            personnelRepository.insertAll(personnels);
+            personnelSearchIndex.indexAfterCommit(personnels);
+            if (!personnels.isEmpty()) {
+                // Une ligne d'outbox par paquet : les autres nœuds reconstruisent leur index
+                cacheInvalidationBus.publishAll(CachedEntity.PERSONNEL);
+            }
+        });
+
+        lignes.addAll(report.values());
+    }
+
+    // Retourne le motif de rejet, ou null si la ligne est importable
+    private String validateImportedPersonnel(PersonnelDTO dto, Set<String> existingLogins, Set<String> seenLogins) {
+        if (dto.getNomPersonnel() == null || dto.getNomPersonnel().isBlank()) {
+            return "Le nom est obligatoire";
+        }
+        if (dto.getLoginPersonnel() == null || dto.getLoginPersonnel().isBlank()) {
+            return "Le login est obligatoire";
+        }
+        if (dto.getPasswordPersonnel() == null || dto.getPasswordPersonnel().isBlank()) {
+            return "Le mot de passe est obligatoire";
+        }
+        if (dto.getSexe() == null || dto.getSexe().isBlank()) {
+            return "Le sexe est obligatoire";
+        }
+        if (dto.getRolePersonnel() == null) {
+            return "Le rôle est obligatoire";
+        }
+        try {
+            parseRole(dto.getRolePersonnel());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        if (existingLogins.contains(dto.getLoginPersonnel())) {
+            return "Ce login existe déjà";
+        }
+        if (!seenLogins.add(dto.getLoginPersonnel())) {
+            return "Login en double dans l'import";
+        }
+        return null;
+    }
+
     private void validateNewPersonnel(PersonnelDTO dto) {
         Assert.hasText(dto.getNomPersonnel(), "Le nom est obligatoire");
         Assert.hasText(dto.getLoginPersonnel(), "Le login est obligatoire");
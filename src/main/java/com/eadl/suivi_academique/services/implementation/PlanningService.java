@@ -0,0 +1,359 @@
+package com.eadl.suivi_academique.services.implementation;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
+import com.eadl.suivi_academique.dto.AffectationSummary;
+import com.eadl.suivi_academique.dto.PlanningJobDTO;
+import com.eadl.suivi_academique.dto.PlanningRequest;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Programmation;
+import com.eadl.suivi_academique.exceptions.planningexception.InvalidPlanningException;
+import com.eadl.suivi_academique.exceptions.planningexception.PlanningJobNotFoundException;
+import com.eadl.suivi_academique.exceptions.planningexception.PlanningSaturatedException;
+import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationConflictException;
+import com.eadl.suivi_academique.repositories.AffectationRepository;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.scheduling.PlanningJob;
+import com.eadl.suivi_academique.scheduling.ProgrammationConflictDetector;
+import com.eadl.suivi_academique.scheduling.ProgrammationSlot;
+import com.eadl.suivi_academique.scheduling.SalleAvailabilityIndex;
+import com.eadl.suivi_academique.scheduling.TimetableSolver;
+import com.eadl.suivi_academique.scheduling.WeeklyCalendar;
+import com.eadl.suivi_academique.services.interfaces.PlanningInterface;
+import com.eadl.suivi_academique.utils.CachedEntity;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Génération asynchrone d'un planning de semestre.
+ *
+ * Chaque séance de cours (nbHeureCours découpé en séances) reçoit un créneau et une salle
+ * via {@link TimetableSolver}, en tenant compte des programmations déjà enregistrées.
+ * Un planning sans conflit est enregistré en une seule transaction ; sinon rien n'est écrit.
+ */
+@Slf4j
+@Service
+public class PlanningService implements PlanningInterface, DisposableBean {
+
+    private static final int MAX_RETAINED_JOBS = 50;
+    private static final int MAX_SEMESTER_DAYS = 366;
+
+    private final CoursRepository coursRepository;
+    private final AffectationRepository affectationRepository;
+    private final SalleRepository salleRepository;
+    private final PersonnelRepository personnelRepository;
+    private final ProgrammationRepository programmationRepository;
+    private final SalleAvailabilityIndex salleAvailabilityIndex;
+    private final ProgrammationConflictDetector conflictDetector;
+    private final WeeklyCalendar weeklyCalendar;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate persistTransaction;
+
+    private final int chains;
+    private final long defaultIterations;
+    private final long maxIterations;
+
+    // Un seul planning calculé à la fois ; ses chaînes de recuit se partagent le pool de calcul
+    private final ThreadPoolExecutor jobExecutor;
+    private final ExecutorService solverPool;
+    private final Map<String, PlanningJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PlanningJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    public PlanningService(
+            CoursRepository coursRepository,
+            AffectationRepository affectationRepository,
+            SalleRepository salleRepository,
+            PersonnelRepository personnelRepository,
+            ProgrammationRepository programmationRepository,
+            SalleAvailabilityIndex salleAvailabilityIndex,
+            ProgrammationConflictDetector conflictDetector,
+            WeeklyCalendar weeklyCalendar,
+            CacheInvalidationBus cacheInvalidationBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${planning.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${planning.iterations:200000}") long defaultIterations,
+            @Value("${planning.max-iterations:5000000}") long maxIterations,
+            @Value("${planning.queue-capacity:4}") int queueCapacity
+    ) {
+        this.coursRepository = coursRepository;
+        this.affectationRepository = affectationRepository;
+        this.salleRepository = salleRepository;
+        this.personnelRepository = personnelRepository;
+        this.programmationRepository = programmationRepository;
+        this.salleAvailabilityIndex = salleAvailabilityIndex;
+        this.conflictDetector = conflictDetector;
+        this.weeklyCalendar = weeklyCalendar;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.persistTransaction = new TransactionTemplate(transactionManager);
+        this.chains = Math.max(1, threads);
+        this.defaultIterations = defaultIterations;
+        this.maxIterations = maxIterations;
+        this.jobExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("planning-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.solverPool = Executors.newFixedThreadPool(this.chains, new CustomizableThreadFactory("planning-solver-"));
+    }
+
+    @Override
+    public PlanningJobDTO submit(PlanningRequest request) {
+        validate(request);
+        long iterations = request.getIterations() == null ? defaultIterations : request.getIterations();
+        long seed = request.getSeed() == null ? System.nanoTime() : request.getSeed();
+
+        PlanningJob job = new PlanningJob(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+        try {
+            jobExecutor.execute(() -> run(job, request, iterations, seed));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new PlanningSaturatedException("Trop de plannings en attente, réessayez plus tard");
+        }
+        log.info("Génération de planning {} soumise : {} -> {}", job.getId(), request.getDebut(), request.getFin());
+        return job.toDTO();
+    }
+
+    @Override
+    public PlanningJobDTO getJob(String jobId) {
+        PlanningJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new PlanningJobNotFoundException("Génération de planning introuvable : " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    @Override
+    public void destroy() {
+        jobExecutor.shutdownNow();
+        solverPool.shutdownNow();
+    }
+
+    private void run(PlanningJob job, PlanningRequest request, long iterations, long seed) {
+        try {
+            long[] slotStarts = slotStarts(request);
+            long slotLength = TimeUnit.HOURS.toMillis(request.getDureeSeance());
+            int slotsPerDay = (request.getHeureFinJournee() - request.getHeureDebutJournee()) / request.getDureeSeance();
+            long windowStart = slotStarts[0];
+            long windowEnd = slotStarts[slotStarts.length - 1] + slotLength;
+
+            // Séances : nbHeureCours découpé en séances, enseignants affectés pris à tour de rôle
+            Map<String, List<String>> teachersByCours = new LinkedHashMap<>();
+            for (AffectationSummary affectation : affectationRepository.findAllSummaries()) {
+                teachersByCours.computeIfAbsent(affectation.getCodeCours(), key -> new ArrayList<>())
+                        .add(affectation.getCodePersonnel());
+            }
+            List<Cours> cours = new ArrayList<>(request.getCodesCours() == null || request.getCodesCours().isEmpty()
+                    ? coursRepository.findAll()
+                    : coursRepository.findAllById(request.getCodesCours()));
+            cours.sort((a, b) -> a.getCodeCours().compareTo(b.getCodeCours()));
+
+            List<String> coursCodes = new ArrayList<>();
+            List<String> teacherCodes = new ArrayList<>();
+            Map<String, Integer> teacherIndex = new LinkedHashMap<>();
+            List<Integer> sessionCours = new ArrayList<>();
+            List<Integer> sessionTeacher = new ArrayList<>();
+            List<String> skipped = new ArrayList<>();
+            for (Cours c : cours) {
+                List<String> teachers = teachersByCours.get(c.getCodeCours());
+                if (teachers == null || c.getNbHeureCours() <= 0) {
+                    skipped.add(c.getCodeCours());
+                    continue;
+                }
+                int coursIndex = coursCodes.size();
+                coursCodes.add(c.getCodeCours());
+                int count = (c.getNbHeureCours() + request.getDureeSeance() - 1) / request.getDureeSeance();
+                for (int i = 0; i < count; i++) {
+                    String teacher = teachers.get(i % teachers.size());
+                    sessionCours.add(coursIndex);
+                    sessionTeacher.add(teacherIndex.computeIfAbsent(teacher, key -> {
+                        teacherCodes.add(key);
+                        return teacherCodes.size() - 1;
+                    }));
+                }
+            }
+
+            Map<String, Integer> reservable = salleAvailabilityIndex.reservableRooms(request.getEffectif());
+            if (request.getCodesSalles() != null && !request.getCodesSalles().isEmpty()) {
+                reservable.keySet().retainAll(request.getCodesSalles());
+            }
+            if (reservable.isEmpty() && !sessionCours.isEmpty()) {
+                job.fail("Aucune salle libre d'au moins " + request.getEffectif() + " places");
+                return;
+            }
+            List<String> roomCodes = new ArrayList<>(reservable.keySet());
+            int[] roomCapacity = reservable.values().stream().mapToInt(Integer::intValue).toArray();
+
+            // Créneaux déjà pris par les programmations existantes
+            int slots = slotStarts.length;
+            BitSet roomBlocked = new BitSet(roomCodes.size() * slots);
+            for (int r = 0; r < roomCodes.size(); r++) {
+                for (long[] booking : conflictDetector.salleBookings(roomCodes.get(r), windowStart, windowEnd)) {
+                    block(roomBlocked, r * slots, slotStarts, slotLength, booking);
+                }
+            }
+            BitSet teacherBlocked = new BitSet(teacherCodes.size() * slots);
+            for (int t = 0; t < teacherCodes.size(); t++) {
+                for (long[] booking : conflictDetector.personnelBookings(teacherCodes.get(t), windowStart, windowEnd)) {
+                    block(teacherBlocked, t * slots, slotStarts, slotLength, booking);
+                }
+            }
+
+            TimetableSolver.Problem problem = new TimetableSolver.Problem(
+                    slotsPerDay,
+                    slots / slotsPerDay,
+                    roomCapacity,
+                    sessionCours.stream().mapToInt(Integer::intValue).toArray(),
+                    sessionTeacher.stream().mapToInt(Integer::intValue).toArray(),
+                    coursCodes.size(),
+                    teacherCodes.size(),
+                    roomBlocked,
+                    teacherBlocked,
+                    request.getEffectif());
+
+            job.start(problem.sessions(), chains * iterations, skipped);
+            TimetableSolver.Solution best = TimetableSolver.solve(problem, chains, iterations, seed, solverPool, job.progress());
+            job.solved(best);
+            log.info("Planning {} : {} séances, score {} (initial {}), {} conflits",
+                    job.getId(), problem.sessions(), best.score(), best.initialScore(), best.hardViolations());
+
+            if (best.hardViolations() > 0) {
+                job.fail("Aucun planning sans conflit trouvé (" + best.hardViolations()
+                        + " conflits restants) : élargir la période ou les plages horaires");
+                return;
+            }
+
+            Integer created = persistTransaction.execute(status -> persist(
+                    problem, best, slotStarts, slotLength, roomCodes, coursCodes, teacherCodes, request));
+            job.succeed(created == null ? 0 : created, skipped.isEmpty()
+                    ? null
+                    : skipped.size() + " cours ignorés (aucune affectation ou aucune heure)");
+        } catch (ProgrammationConflictException e) {
+            job.fail("Créneau réservé pendant la génération, relancer le planning : " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Échec de la génération du planning {}", job.getId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    // Une seule transaction : un créneau pris entre-temps annule tout le planning
+    private int persist(TimetableSolver.Problem problem, TimetableSolver.Solution solution, long[] slotStarts,
+            long slotLength, List<String> roomCodes, List<String> coursCodes, List<String> teacherCodes,
+            PlanningRequest request) {
+        List<Programmation> programmations = new ArrayList<>(problem.sessions());
+        for (int s = 0; s < problem.sessions(); s++) {
+            long start = slotStarts[solution.slot()[s]];
+            Programmation programmation = new Programmation();
+            programmation.setNbHeureProgammation(request.getDureeSeance());
+            LocalDateTime debut = ProgrammationSlot.ofEpochMilli(start);
+            programmation.setDateProgammation(debut.toLocalDate().atStartOfDay());
+            programmation.setDebutProgammation(debut);
+            programmation.setFinProgammation(ProgrammationSlot.ofEpochMilli(start + slotLength));
+            programmation.setStatusProgrammation(StatusProgrammation.PROGAMME);
+            programmation.setSalle(salleRepository.getReferenceById(roomCodes.get(solution.room()[s])));
+            programmation.setCours(coursRepository.getReferenceById(coursCodes.get(problem.sessionCours()[s])));
+            programmation.setPersonnelProg(personnelRepository.getReferenceById(teacherCodes.get(problem.sessionTeacher()[s])));
+            programmations.add(programmation);
+        }
+
+        List<Programmation> saved = programmationRepository.saveAll(programmations);
+        // Un seul passage : salles et enseignants verrouillés en base dans un ordre fixe
+        List<ProgrammationSlot> slots = new ArrayList<>(saved.size());
+        for (int s = 0; s < saved.size(); s++) {
+            Programmation programmation = saved.get(s);
+            slots.add(new ProgrammationSlot(
+                    programmation.getCodeProgrammation(),
+                    roomCodes.get(solution.room()[s]),
+                    teacherCodes.get(problem.sessionTeacher()[s]),
+                    programmation.getDebutProgammation(),
+                    programmation.getFinProgammation()));
+        }
+        conflictDetector.reserveAll(slots);
+        weeklyCalendar.refreshAfterCommit(saved.stream().map(Programmation::getCodeProgrammation).toList());
+        cacheInvalidationBus.publishEach(CachedEntity.PROGRAMMATION, saved.stream()
+                .map(p -> String.valueOf(p.getCodeProgrammation()))
+                .toList());
+        return saved.size();
+    }
+
+    // Débuts des créneaux du semestre, jours ouvrés uniquement, dans l'ordre chronologique
+    private static long[] slotStarts(PlanningRequest request) {
+        int slotsPerDay = (request.getHeureFinJournee() - request.getHeureDebutJournee()) / request.getDureeSeance();
+        List<Long> starts = new ArrayList<>();
+        for (LocalDate day = request.getDebut(); !day.isAfter(request.getFin()); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            for (int period = 0; period < slotsPerDay; period++) {
+                starts.add(day.atTime(request.getHeureDebutJournee() + period * request.getDureeSeance(), 0)
+                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        }
+        return starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Marque les créneaux (triés) qui chevauchent la réservation [début, fin)
+    private static void block(BitSet blocked, int offset, long[] slotStarts, long slotLength, long[] booking) {
+        int i = Arrays.binarySearch(slotStarts, booking[0]);
+        if (i < 0) {
+            i = -i - 1;
+            if (i > 0 && slotStarts[i - 1] + slotLength > booking[0]) {
+                i--;
+            }
+        }
+        for (; i < slotStarts.length && slotStarts[i] < booking[1]; i++) {
+            blocked.set(offset + i);
+        }
+    }
+
+    private void validate(PlanningRequest request) {
+        if (request.getDebut() == null || request.getFin() == null || request.getFin().isBefore(request.getDebut())) {
+            throw new InvalidPlanningException("La période doit avoir une date de fin postérieure au début");
+        }
+        if (ChronoUnit.DAYS.between(request.getDebut(), request.getFin()) >= MAX_SEMESTER_DAYS) {
+            throw new InvalidPlanningException("La période ne peut pas dépasser un an");
+        }
+        if (request.getDureeSeance() <= 0 || request.getHeureDebutJournee() < 0 || request.getHeureFinJournee() > 24
+                || request.getHeureFinJournee() - request.getHeureDebutJournee() < request.getDureeSeance()) {
+            throw new InvalidPlanningException("Les plages horaires doivent contenir au moins une séance");
+        }
+        if (request.getIterations() != null && (request.getIterations() <= 0 || request.getIterations() > maxIterations)) {
+            throw new InvalidPlanningException("Le nombre d'itérations doit être compris entre 1 et " + maxIterations);
+        }
+        if (slotStarts(request).length == 0) {
+            throw new InvalidPlanningException("La période ne contient aucun jour ouvré");
+        }
+    }
+}
@@ -1,25 +1,65 @@
 package com.eadl.suivi_academique.services.implementation;
 
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
+import com.eadl.suivi_academique.config.PaginationSettings;
+import com.eadl.suivi_academique.dto.CursorPage;
 import com.eadl.suivi_academique.dto.ProgrammationDTO;
+import com.eadl.suivi_academique.dto.ProgrammationExportFilter;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.dto.ProgrammationWindowFilter;
 import com.eadl.suivi_academique.dto.ProgrammationRequest;
 import com.eadl.suivi_academique.entities.*;
 import com.eadl.suivi_academique.exceptions.coursexception.CoursNotFoundException;
+import com.eadl.suivi_academique.exceptions.paginationexception.InvalidCursorException;
 import com.eadl.suivi_academique.exceptions.personnelexception.PersonnelNotFoundException;
+import com.eadl.suivi_academique.exceptions.programmationexception.InvalidProgrammationException;
 import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationNotFoundException;
 import com.eadl.suivi_academique.exceptions.salleexception.SalleIndisponibleException;
 import com.eadl.suivi_academique.exceptions.salleexception.SalleNotFoundException;
 import com.eadl.suivi_academique.mappers.ProgrammationMapper;
 import com.eadl.suivi_academique.mappers.ProgrammationReqMapper;
 import com.eadl.suivi_academique.repositories.*;
+import com.eadl.suivi_academique.scheduling.ProgrammationConflictDetector;
+import com.eadl.suivi_academique.scheduling.ProgrammationSlot;
+import com.eadl.suivi_academique.scheduling.WeeklyCalendar;
 import com.eadl.suivi_academique.services.interfaces.ProgrammationInterface;
+import com.eadl.suivi_academique.utils.CachedEntity;
+import com.eadl.suivi_academique.utils.CursorCodec;
+import com.eadl.suivi_academique.utils.IsoWeeks;
+import com.eadl.suivi_academique.utils.ExportFormat;
 import com.eadl.suivi_academique.utils.StatusProgrammation;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -33,6 +73,14 @@ public class ProgrammationService implements ProgrammationInterface {
     private final SalleRepository salleRepository;
     private final CoursRepository coursRepository;
     private final PersonnelRepository personnelRepository;
+    private final PaginationSettings paginationSettings;
+    private final ObjectMapper objectMapper;
+    private final ProgrammationConflictDetector conflictDetector;
+    private final WeeklyCalendar weeklyCalendar;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${programmation.bulk.max-size:5000}")
+    private int bulkMaxSize;
 
     @Override
     public ProgrammationDTO createProgrammation(ProgrammationRequest dto) {
@@ -43,14 +91,159 @@ public class ProgrammationService implements ProgrammationInterface {
 
         Programmation programmation = programmationReqMapper.toEntity(dto);
         // Le mapper gère normalement les associations, sinon on les réassigne ici
-        
-        return programmationMapper.toDTO(programmationRepository.save(programmation));
+
+        Programmation saved = programmationRepository.save(programmation);
+        // Après l'insertion (identifiant connu) : un conflit annule la transaction
+        if (ProgrammationConflictDetector.occupies(saved.getStatusProgrammation())) {
+            conflictDetector.reserve(new ProgrammationSlot(saved.getCodeProgrammation(), dto.getCodeSalle(),
+                    dto.getCodePersonnelProg(), dto.getDebutProgammation(), dto.getFinProgammation()));
+        }
+        weeklyCalendar.refreshAfterCommit(List.of(saved.getCodeProgrammation()));
+        cacheInvalidationBus.publish(CachedEntity.PROGRAMMATION, String.valueOf(saved.getCodeProgrammation()));
+        return programmationMapper.toDTO(saved);
+    }
+
+    /**
+     * Création groupée : une requête IN par type de référence, validation et détection des
+     * conflits en une passe, puis insertions par lots JDBC. Le lot est accepté ou refusé en entier.
+     */
+    @Override
+    public List<ProgrammationSummary> createProgrammations(List<ProgrammationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidProgrammationException("Le lot de programmations est vide");
+        }
+        if (requests.size() > bulkMaxSize) {
+            throw new InvalidProgrammationException("Lot trop volumineux : " + requests.size()
+                    + " programmations (maximum " + bulkMaxSize + ")");
+        }
+        log.info("Création groupée de {} programmations", requests.size());
+
+        List<StatusProgrammation> statuses = new ArrayList<>(requests.size());
+        Set<String> codesSalles = new HashSet<>();
+        Set<String> codesCours = new HashSet<>();
+        Set<String> codesPersonnels = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ProgrammationRequest dto = requests.get(i);
+            statuses.add(validateBulkItem(dto, i + 1));
+            codesSalles.add(dto.getCodeSalle());
+            codesCours.add(dto.getCodeCours());
+            codesPersonnels.add(dto.getCodePersonnelProg());
+            if (dto.getCodePersonnelVal() != null) {
+                codesPersonnels.add(dto.getCodePersonnelVal());
+            }
+        }
+
+        Map<String, Salle> salles = indexById(salleRepository.findAllById(codesSalles), Salle::getCodeSalle);
+        Map<String, Cours> cours = indexById(coursRepository.findAllById(codesCours), Cours::getCodeCours);
+        Map<String, Personnel> personnels = indexById(personnelRepository.findAllById(codesPersonnels), Personnel::getCodePersonnel);
+        requireAll(codesSalles, salles, missing -> new SalleNotFoundException("Salles introuvables : " + missing));
+        requireAll(codesCours, cours, missing -> new CoursNotFoundException("Cours introuvables : " + missing));
+        requireAll(codesPersonnels, personnels, missing -> new PersonnelNotFoundException("Personnels introuvables : " + missing));
+        salles.values().forEach(this::verifyAvailability);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Programmation> programmations = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ProgrammationRequest dto = requests.get(i);
+            programmations.add(new Programmation(0, dto.getNbHeureProgammation(),
+                    dto.getDateProgammation() == null ? now : dto.getDateProgammation(),
+                    dto.getDebutProgammation(), dto.getFinProgammation(), statuses.get(i),
+                    salles.get(dto.getCodeSalle()), cours.get(dto.getCodeCours()),
+                    personnels.get(dto.getCodePersonnelProg()),
+                    dto.getCodePersonnelVal() == null ? null : personnels.get(dto.getCodePersonnelVal())));
+        }
+
+        // Identifiants attribués dès persist (générateur par blocs) : les conflits sont détectés avant tout INSERT
+        List<Programmation> saved = programmationRepository.saveAll(programmations);
+        conflictDetector.reserveAll(saved.stream()
+                .filter(p -> ProgrammationConflictDetector.occupies(p.getStatusProgrammation()))
+                .map(p -> new ProgrammationSlot(p.getCodeProgrammation(), p.getSalle().getCodeSalle(),
+                        p.getPersonnelProg().getCodePersonnel(), p.getDebutProgammation(), p.getFinProgammation()))
+                .toList());
+
+        List<ProgrammationSummary> summaries = saved.stream().map(ProgrammationService::toSummary).toList();
+        weeklyCalendar.indexAfterCommit(summaries);
+        cacheInvalidationBus.publishEach(CachedEntity.PROGRAMMATION, saved.stream()
+                .map(p -> String.valueOf(p.getCodeProgrammation()))
+                .toList());
+        return summaries;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProgrammationDTO> getAllProgrammations() {
-        return programmationMapper.tDtos(programmationRepository.findAll());
+    public CursorPage<ProgrammationDTO> getAllProgrammations(String cursor, Integer size) {
+        int pageSize = paginationSettings.resolve(size);
+        List<Programmation> fetched = programmationRepository.findByCodeProgrammationGreaterThanOrderByCodeProgrammation(
+                CursorCodec.decodeInt(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, programmationMapper::toDTO,
+                p -> new String[] { String.valueOf(p.getCodeProgrammation()) });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProgrammationSummary> getProgrammationSummaries(String cursor, Integer size) {
+        int pageSize = paginationSettings.resolve(size);
+        List<ProgrammationSummary> fetched = programmationRepository.findSummariesAfter(
+                CursorCodec.decodeInt(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, summary -> summary,
+                summary -> new String[] { String.valueOf(summary.getCodeProgrammation()) });
+    }
+
+    /**
+     * Séances qui débutent dans la fenêtre, dans l'ordre chronologique. La clé de pagination
+     * (début, code) suit l'ordre des index composites : chaque page est une plage d'index.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProgrammationSummary> getProgrammationsInWindow(ProgrammationWindowFilter filter,
+            String cursor, Integer size) {
+        if (filter.getCodeSalle() != null && filter.getCodePersonnel() != null) {
+            throw new InvalidProgrammationException("Indiquer une salle ou un enseignant, pas les deux");
+        }
+        LocalDateTime[] window = resolveWindow(filter);
+        LocalDateTime afterDebut = window[0];
+        int afterCode = 0;
+        String[] after = CursorCodec.decode(cursor, 2);
+        if (after != null) {
+            LocalDateTime cursorDebut = parseCursorDate(after[0]);
+            // Un curseur antérieur à la fenêtre ne doit pas en élargir le début
+            if (!cursorDebut.isBefore(afterDebut)) {
+                afterDebut = cursorDebut;
+                afterCode = parseCursorCode(after[1]);
+            }
+        }
+
+        int pageSize = paginationSettings.resolve(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<ProgrammationSummary> fetched;
+        if (filter.getCodeSalle() != null) {
+            fetched = programmationRepository.findSalleSummariesStartingBetween(
+                    filter.getCodeSalle(), afterDebut, afterCode, window[1], limit);
+        } else if (filter.getCodePersonnel() != null) {
+            fetched = programmationRepository.findPersonnelSummariesStartingBetween(
+                    filter.getCodePersonnel(), afterDebut, afterCode, window[1], limit);
+        } else {
+            fetched = programmationRepository.findSummariesStartingBetween(afterDebut, afterCode, window[1], limit);
+        }
+        return CursorPage.of(fetched, pageSize, summary -> summary, summary -> new String[] {
+                summary.getDebutProgammation().toString(), String.valueOf(summary.getCodeProgrammation()) });
+    }
+
+    // La transaction reste ouverte pendant toute l'écriture : le curseur JDBC est lu au fil de l'eau
+    @Override
+    @Transactional(readOnly = true)
+    public long exportProgrammations(ProgrammationExportFilter filter, ExportFormat format, OutputStream output) {
+        log.info("Export des programmations ({}) - filtre : {}", format, filter);
+        long count;
+        try (Stream<ProgrammationSummary> rows = programmationRepository.streamForExport(filter)) {
+            count = format == ExportFormat.CSV
+                    ? writeCsv(rows.iterator(), output)
+                    : writeNdjson(rows.iterator(), output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture de l'export interrompue", e);
+        }
+        log.info("Export des programmations terminé : {} lignes", count);
+        return count;
     }
 
     @Override
@@ -62,6 +255,14 @@ public class ProgrammationService implements ProgrammationInterface {
                 .orElseThrow(() -> new ProgrammationNotFoundException("Programmation introuvable : " + id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProgrammationSummary getProgrammationSummary(int id) {
+        Assert.isTrue(id > 0, "L'ID doit être positif");
+        return programmationRepository.findSummaryById(id)
+                .orElseThrow(() -> new ProgrammationNotFoundException("Programmation introuvable : " + id));
+    }
+
     @Override
     public ProgrammationDTO updateProgrammation(int id, ProgrammationRequest dto) {
         log.info("Mise à jour programmation ID : {}", id);
@@ -71,6 +272,9 @@ public class ProgrammationService implements ProgrammationInterface {
         return programmationRepository.findById(id)
                 .map(existing -> {
                     updateProgrammationFields(existing, dto);
+                    syncSlot(existing);
+                    weeklyCalendar.refreshAfterCommit(List.of(id));
+                    cacheInvalidationBus.publish(CachedEntity.PROGRAMMATION, String.valueOf(id));
                     return programmationMapper.toDTO(programmationRepository.save(existing));
                 })
                 .orElseThrow(() -> new ProgrammationNotFoundException("Impossible de mettre à jour : ID " + id + " inconnu"));
@@ -83,33 +287,195 @@ public class ProgrammationService implements ProgrammationInterface {
             throw new ProgrammationNotFoundException("Suppression impossible : ID " + id + " inconnu");
         }
         programmationRepository.deleteById(id);
+        conflictDetector.releaseAfterCommit(id);
+        weeklyCalendar.removeAfterCommit(id);
+        cacheInvalidationBus.publish(CachedEntity.PROGRAMMATION, String.valueOf(id));
     }
 
     @Override
     public void deleteAllProgrammations() {
         log.error("Suppression de TOUTES les programmations");
         programmationRepository.deleteAll();
+        conflictDetector.clearAfterCommit();
+        weeklyCalendar.clearAfterCommit();
+        cacheInvalidationBus.publishAll(CachedEntity.PROGRAMMATION);
     }
 
     // --- Méthodes privées de support ---
 
+    private long writeNdjson(Iterator<ProgrammationSummary> rows, OutputStream output) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (rows.hasNext()) {
+            objectMapper.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<ProgrammationSummary> rows, OutputStream output) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("codeProgrammation;nbHeureProgammation;dateProgammation;debutProgammation;finProgammation;"
+                + "statusProgrammation;codeSalle;codeCours;labelCours;codePersonnelProg;nomPersonnelProg;"
+                + "codePersonnelVal;nomPersonnelVal\n");
+        while (rows.hasNext()) {
+            ProgrammationSummary row = rows.next();
+            writer.write(String.join(";",
+                    String.valueOf(row.getCodeProgrammation()),
+                    String.valueOf(row.getNbHeureProgammation()),
+                    csvDate(row.getDateProgammation()),
+                    csvDate(row.getDebutProgammation()),
+                    csvDate(row.getFinProgammation()),
+                    row.getStatusProgrammation() == null ? "" : row.getStatusProgrammation().name(),
+                    csvField(row.getCodeSalle()),
+                    csvField(row.getCodeCours()),
+                    csvField(row.getLabelCours()),
+                    csvField(row.getCodePersonnelProg()),
+                    csvField(row.getNomPersonnelProg()),
+                    csvField(row.getCodePersonnelVal()),
+                    csvField(row.getNomPersonnelVal())));
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // Instant UTC, comme avant le passage à java.time : le format du fichier ne change pas
+    private static String csvDate(LocalDateTime date) {
+        return date == null ? "" : date.atZone(ZoneId.systemDefault()).toInstant().toString();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Bornes [début, fin) : exactement un critère parmi jour, semaine ou fenêtre libre
+    private static LocalDateTime[] resolveWindow(ProgrammationWindowFilter filter) {
+        boolean custom = filter.getDebut() != null || filter.getFin() != null;
+        boolean semaine = filter.getSemaine() != null && !filter.getSemaine().isBlank();
+        int criteria = (filter.getJour() != null ? 1 : 0) + (semaine ? 1 : 0) + (custom ? 1 : 0);
+        if (criteria != 1) {
+            throw new InvalidProgrammationException("Indiquer un jour, une semaine ou une fenêtre debut/fin");
+        }
+        if (filter.getJour() != null) {
+            return new LocalDateTime[] { filter.getJour().atStartOfDay(), filter.getJour().plusDays(1).atStartOfDay() };
+        }
+        if (semaine) {
+            LocalDate monday = IsoWeeks.parseMonday(filter.getSemaine());
+            return new LocalDateTime[] { monday.atStartOfDay(), monday.plusWeeks(1).atStartOfDay() };
+        }
+        if (filter.getDebut() == null || filter.getFin() == null || !filter.getFin().isAfter(filter.getDebut())) {
+            throw new InvalidProgrammationException("Fenêtre invalide : debut et fin obligatoires, fin postérieure au début");
+        }
+        return new LocalDateTime[] { filter.getDebut(), filter.getFin() };
+    }
+
+    private static LocalDateTime parseCursorDate(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+    }
+
+    private static int parseCursorCode(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+    }
+
     private void validateProgrammationDates(ProgrammationRequest dto) {
         Assert.notNull(dto.getDebutProgammation(), "Date de début obligatoire");
         Assert.notNull(dto.getFinProgammation(), "Date de fin obligatoire");
-        if (dto.getFinProgammation().before(dto.getDebutProgammation())) {
+        if (dto.getFinProgammation().isBefore(dto.getDebutProgammation())) {
             throw new IllegalArgumentException("La date de fin doit être postérieure à la date de début");
         }
     }
 
+    // Erreurs de saisie signalées avec le rang de l'élément dans le lot
+    private StatusProgrammation validateBulkItem(ProgrammationRequest dto, int rank) {
+        if (dto == null) {
+            throw new InvalidProgrammationException("Élément " + rank + " du lot : programmation vide");
+        }
+        if (dto.getCodeSalle() == null || dto.getCodeCours() == null || dto.getCodePersonnelProg() == null) {
+            throw new InvalidProgrammationException("Élément " + rank + " du lot : salle, cours et programmateur obligatoires");
+        }
+        if (dto.getDebutProgammation() == null || dto.getFinProgammation() == null
+                || !dto.getFinProgammation().isAfter(dto.getDebutProgammation())) {
+            throw new InvalidProgrammationException("Élément " + rank + " du lot : dates de début et de fin invalides");
+        }
+        try {
+            return StatusProgrammation.valueOf(dto.getStatusProgrammation());
+        } catch (RuntimeException e) {
+            throw new InvalidProgrammationException("Élément " + rank + " du lot : statut invalide : "
+                    + dto.getStatusProgrammation());
+        }
+    }
+
+    private static <T> Map<String, T> indexById(Collection<T> entities, Function<T, String> id) {
+        Map<String, T> index = new HashMap<>(entities.size() * 2);
+        entities.forEach(entity -> index.put(id.apply(entity), entity));
+        return index;
+    }
+
+    private static void requireAll(Set<String> codes, Map<String, ?> found,
+            Function<String, RuntimeException> notFound) {
+        if (found.size() < codes.size()) {
+            Set<String> missing = new TreeSet<>(codes);
+            missing.removeAll(found.keySet());
+            throw notFound.apply(String.join(", ", missing));
+        }
+    }
+
+    private static ProgrammationSummary toSummary(Programmation p) {
+        Personnel val = p.getPersonnelVal();
+        return new ProgrammationSummary(p.getCodeProgrammation(), p.getNbHeureProgammation(),
+                p.getDateProgammation(), p.getDebutProgammation(), p.getFinProgammation(),
+                p.getStatusProgrammation(), p.getSalle().getCodeSalle(), p.getCours().getCodeCours(),
+                p.getCours().getLabelCours(), p.getPersonnelProg().getCodePersonnel(),
+                p.getPersonnelProg().getNomPersonnel(),
+                val == null ? null : val.getCodePersonnel(), val == null ? null : val.getNomPersonnel());
+    }
+
     private Salle fetchSalleAndVerifyAvailability(String codeSalle) {
         Salle salle = salleRepository.findByCodeSalle(codeSalle)
                 .orElseThrow(() -> new SalleNotFoundException("Salle introuvable : " + codeSalle));
+        verifyAvailability(salle);
+        return salle;
+    }
 
+    private void verifyAvailability(Salle salle) {
+        String codeSalle = salle.getCodeSalle();
         String status = String.valueOf(salle.getStatusSalle());
         if ("FERMEE".equals(status) || "OCCUPEE".equals(status)) {
             throw new SalleIndisponibleException("La salle " + codeSalle + " est actuellement " + status);
         }
-        return salle;
+    }
+
+    private void syncSlot(Programmation programmation) {
+        if (!ProgrammationConflictDetector.occupies(programmation.getStatusProgrammation())) {
+            conflictDetector.releaseAfterCommit(programmation.getCodeProgrammation());
+            return;
+        }
+        conflictDetector.reserve(new ProgrammationSlot(
+                programmation.getCodeProgrammation(),
+                programmation.getSalle() == null ? null : programmation.getSalle().getCodeSalle(),
+                programmation.getPersonnelProg() == null ? null : programmation.getPersonnelProg().getCodePersonnel(),
+                programmation.getDebutProgammation(),
+                programmation.getFinProgammation()));
     }
 
     private void updateProgrammationFields(Programmation entity, ProgrammationRequest dto) {
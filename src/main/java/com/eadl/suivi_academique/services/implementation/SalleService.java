@@ -1,18 +1,30 @@
 package com.eadl.suivi_academique.services.implementation;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
 import com.eadl.suivi_academique.config.CurrentUserProvider;
+import com.eadl.suivi_academique.config.PaginationSettings;
 import com.eadl.suivi_academique.config.RequestContextProvider;
+import com.eadl.suivi_academique.dto.CursorPage;
 import com.eadl.suivi_academique.dto.SalleDTO;
+import com.eadl.suivi_academique.dto.SalleDisponibiliteDTO;
 import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.exceptions.paginationexception.InvalidCursorException;
 import com.eadl.suivi_academique.exceptions.salleexception.InvalidSalleException;
 import com.eadl.suivi_academique.exceptions.salleexception.SalleNotFoundException;
 import com.eadl.suivi_academique.mappers.SalleMapper;
 import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.repositories.projections.SalleView;
+import com.eadl.suivi_academique.scheduling.SalleAvailabilityIndex;
 import com.eadl.suivi_academique.services.interfaces.SalleInterface;
+import com.eadl.suivi_academique.utils.CachedEntity;
+import com.eadl.suivi_academique.utils.CursorCodec;
 import com.eadl.suivi_academique.utils.SalleStatus;
 
 import lombok.RequiredArgsConstructor;
@@ -27,6 +39,9 @@ public class SalleService implements SalleInterface {
     private final CurrentUserProvider currentUserProvider;
     private final SalleRepository salleRepository;
     private final SalleMapper salleMapper;
+    private final PaginationSettings paginationSettings;
+    private final SalleAvailabilityIndex salleAvailabilityIndex;
+    private final CacheInvalidationBus cacheInvalidationBus;
     
     // CREATE - Créer une nouvelle salle
     public SalleDTO createSalle(SalleDTO salleDTO) {
@@ -89,6 +104,8 @@ public class SalleService implements SalleInterface {
             log.debug("Sauvegarde de la salle en base de données");
             
             Salle savedSalle = salleRepository.save(salle);
+            salleAvailabilityIndex.indexAfterCommit(savedSalle);
+            cacheInvalidationBus.publish(CachedEntity.SALLE, savedSalle.getCodeSalle());
             
             log.info("Salle créée avec succès - code: {}, libellé: {}, contenance: {}, statut: {}", 
                     savedSalle.getCodeSalle(), 
@@ -108,25 +125,22 @@ public class SalleService implements SalleInterface {
         }
     }
     
-    // READ - Récupérer toutes les salles
-    public List<SalleDTO> getAllSalles() {
-        log.info("Récupération de toutes les salles");
+    // READ - Récupérer les salles page par page (pagination par clé sur codeSalle)
+    public CursorPage<SalleDTO> getAllSalles(String cursor, Integer size) {
+        log.info("Récupération d'une page de salles");
         
         try {
-            List<Salle> salles = salleRepository.findAll();
+            int pageSize = paginationSettings.resolve(size);
+            String[] after = CursorCodec.decode(cursor, 1);
+            List<Salle> salles = salleRepository.findByCodeSalleGreaterThanOrderByCodeSalle(
+                    after == null ? "" : after[0], Limit.of(pageSize + 1));
             
-            log.info("Nombre de salles récupérées: {}", salles.size());
+            log.info("Nombre de salles récupérées: {}", Math.min(salles.size(), pageSize));
             
-            if (salles.isEmpty()) {
-                log.debug("Aucune salle trouvée dans le système");
-            }
-            
-            log.debug("Conversion de {} salles en DTO", salles.size());
-            
-            return salles.stream()
-                    .map(salleMapper::toDTO)
-                    .toList();
+            return CursorPage.of(salles, pageSize, salleMapper::toDTO, s -> new String[] { s.getCodeSalle() });
                     
+        } catch (InvalidCursorException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Erreur lors de la récupération de toutes les salles", e);
             throw new RuntimeException("Erreur lors de la récupération des salles", e);
@@ -209,12 +223,7 @@ public class SalleService implements SalleInterface {
                 throw new IllegalArgumentException("Le statut de la salle est obligatoire");
             }
             
-            List<Salle> allSalles = salleRepository.findAll();
-            
-            log.debug("Filtrage de {} salles par statut: {}", allSalles.size(), status);
-            
-            List<SalleDTO> salleDTOs = allSalles.stream()
-                    .filter(salle -> salle.getStatusSalle() == status)
+            List<SalleDTO> salleDTOs = salleRepository.findViewsByStatusSalle(status).stream()
                     .map(salleMapper::toDTO)
                     .toList();
             
@@ -234,6 +243,60 @@ public class SalleService implements SalleInterface {
         }
     }
     
+    // READ - Filtre combiné statut + contenance minimale, en une seule requête
+    public List<SalleDTO> filterSalles(SalleStatus status, int minContenance) {
+        log.info("Filtrage des salles - statut: {}, contenance minimale: {}", status, minContenance);
+        
+        try {
+            if (minContenance < 0) {
+                log.error("Filtrage échoué - Contenance minimale invalide: {}", minContenance);
+                throw new IllegalArgumentException("La contenance minimale ne peut pas être négative");
+            }
+            
+            List<SalleView> salles = status == null
+                    ? salleRepository.findViewsByContenanceGreaterThanEqualOrderByContenance(minContenance)
+                    : salleRepository.findViewsByStatusSalleAndContenanceGreaterThanEqualOrderByContenance(
+                            status, minContenance);
+            
+            log.info("Nombre de salles trouvées - statut: {}, contenance >= {}: {}", 
+                    status, minContenance, salles.size());
+            
+            return salles.stream()
+                    .map(salleMapper::toDTO)
+                    .toList();
+            
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Erreur lors du filtrage des salles - statut: {}, contenance: {}", 
+                     status, minContenance, e);
+            throw new RuntimeException("Erreur lors de la recherche des salles", e);
+        }
+    }
+    
+    // READ - Salles libres sur une fenêtre, de la plus petite contenance suffisante à la plus grande
+    public List<SalleDisponibiliteDTO> findAvailableSalles(LocalDateTime debut, LocalDateTime fin,
+            int minContenance, Integer dureeMinutes, Integer limit) {
+        if (debut == null || fin == null || !fin.isAfter(debut)) {
+            throw new InvalidSalleException("La fenêtre de recherche doit avoir une fin postérieure au début");
+        }
+        long start = debut.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long end = fin.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long minDuration = end - start;
+        if (dureeMinutes != null) {
+            if (dureeMinutes <= 0 || dureeMinutes * 60_000L > minDuration) {
+                throw new InvalidSalleException("La durée doit être positive et tenir dans la fenêtre de recherche");
+            }
+            minDuration = dureeMinutes * 60_000L;
+        }
+
+        List<SalleDisponibiliteDTO> salles = salleAvailabilityIndex.findAvailable(
+                start, end, minContenance, minDuration, paginationSettings.resolve(limit));
+        log.debug("Recherche de salles disponibles [{} - {}], contenance >= {} : {} résultats",
+                debut, fin, minContenance, salles.size());
+        return salles;
+    }
+
     // UPDATE - Mettre à jour une salle
     public SalleDTO updateSalle(String codeSalle, SalleDTO salleDTO) {
         log.info("Tentative de mise à jour de la salle - code: {}", codeSalle);
@@ -293,6 +356,8 @@ public class SalleService implements SalleInterface {
                      salle.getDescSalle(), salle.getContenance(), salle.getStatusSalle());
             
             Salle updatedSalle = salleRepository.save(salle);
+            salleAvailabilityIndex.indexAfterCommit(updatedSalle);
+            cacheInvalidationBus.publish(CachedEntity.SALLE, codeSalle);
             
             log.info("Salle mise à jour avec succès - code: {}, libellé: {}, statut: {}", 
                     updatedSalle.getCodeSalle(), 
@@ -333,6 +398,8 @@ public class SalleService implements SalleInterface {
             SalleStatus statusSalle = salle.getStatusSalle();
             
             salleRepository.delete(salle);
+            salleAvailabilityIndex.removeAfterCommit(codeSalle);
+            cacheInvalidationBus.publish(CachedEntity.SALLE, codeSalle);
             
             log.info("Salle supprimée avec succès - code: {}, libellé: {}, statut: {}", 
                     codeSalle, libelleSalle, statusSalle);
@@ -0,0 +1,247 @@
+package com.eadl.suivi_academique.services.implementation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.dto.ValidationBatchDTO;
+import com.eadl.suivi_academique.dto.ValidationRequest;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.exceptions.personnelexception.PersonnelNotFoundException;
+import com.eadl.suivi_academique.exceptions.programmationexception.InvalidProgrammationException;
+import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationConflictException;
+import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationNotFoundException;
+import com.eadl.suivi_academique.exceptions.programmationexception.ValidationBatchNotFoundException;
+import com.eadl.suivi_academique.exceptions.programmationexception.ValidationSaturatedException;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.scheduling.ProgrammationConflictDetector;
+import com.eadl.suivi_academique.scheduling.ValidationBatch;
+import com.eadl.suivi_academique.scheduling.WeeklyCalendar;
+import com.eadl.suivi_academique.services.interfaces.ValidationInterface;
+import com.eadl.suivi_academique.utils.CachedEntity;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit de validation des programmations : PROGAMME -> VALIDE ou NON_VALIDE.
+ *
+ * Un changement ne touche que le statut et le validateur, par UPDATE conditionnel sur le statut
+ * courant. Les lots sont découpés en tranches traitées sur des threads virtuels, une transaction
+ * et un seul UPDATE par tranche ; le nombre de tranches simultanées est borné (connexions JDBC).
+ */
+@Slf4j
+@Service
+public class ValidationService implements ValidationInterface, DisposableBean {
+
+    private static final int MAX_RETAINED_BATCHES = 50;
+
+    private final ProgrammationRepository programmationRepository;
+    private final PersonnelRepository personnelRepository;
+    private final ProgrammationConflictDetector conflictDetector;
+    private final WeeklyCalendar weeklyCalendar;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate chunkTransaction;
+
+    private final int chunkSize;
+    private final int maxSize;
+    private final int queueCapacity;
+
+    private final ExecutorService workers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("validation-", 0).factory());
+    private final Semaphore writers;
+    private final AtomicInteger pendingBatches = new AtomicInteger();
+    private final Map<String, ValidationBatch> batches = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ValidationBatch> eldest) {
+            return size() > MAX_RETAINED_BATCHES;
+        }
+    });
+
+    public ValidationService(
+            ProgrammationRepository programmationRepository,
+            PersonnelRepository personnelRepository,
+            ProgrammationConflictDetector conflictDetector,
+            WeeklyCalendar weeklyCalendar,
+            CacheInvalidationBus cacheInvalidationBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${validation.chunk-size:500}") int chunkSize,
+            @Value("${validation.max-size:10000}") int maxSize,
+            @Value("${validation.concurrency:4}") int concurrency,
+            @Value("${validation.queue-capacity:16}") int queueCapacity
+    ) {
+        this.programmationRepository = programmationRepository;
+        this.personnelRepository = personnelRepository;
+        this.conflictDetector = conflictDetector;
+        this.weeklyCalendar = weeklyCalendar;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxSize = maxSize;
+        this.queueCapacity = queueCapacity;
+        this.writers = new Semaphore(Math.max(1, concurrency));
+    }
+
+    @Override
+    @Transactional
+    public ProgrammationSummary changeStatus(int codeProgrammation, String statut, String codeValidateur) {
+        StatusProgrammation target = parseTarget(statut);
+        Personnel validator = findValidator(codeValidateur);
+
+        int updated = programmationRepository.transitionStatus(List.of(codeProgrammation),
+                StatusProgrammation.PROGAMME, target, validator);
+        if (updated == 0) {
+            if (!programmationRepository.existsById(codeProgrammation)) {
+                throw new ProgrammationNotFoundException("Programmation introuvable : " + codeProgrammation);
+            }
+            throw new ProgrammationConflictException("La programmation " + codeProgrammation
+                    + " n'est plus au statut " + StatusProgrammation.PROGAMME);
+        }
+        if (!ProgrammationConflictDetector.occupies(target)) {
+            conflictDetector.releaseAfterCommit(codeProgrammation);
+        }
+        weeklyCalendar.refreshAfterCommit(List.of(codeProgrammation));
+        cacheInvalidationBus.publish(CachedEntity.PROGRAMMATION, String.valueOf(codeProgrammation));
+        log.info("Programmation {} passée au statut {} par {}", codeProgrammation, target, codeValidateur);
+        return programmationRepository.findSummaryById(codeProgrammation).orElseThrow();
+    }
+
+    @Override
+    public ValidationBatchDTO submit(ValidationRequest request, String codeValidateur) {
+        StatusProgrammation target = parseTarget(request.getStatut());
+        List<Integer> codes = request.getCodesProgrammations() == null
+                ? List.of()
+                : request.getCodesProgrammations().stream().filter(Objects::nonNull).distinct().toList();
+        if (codes.isEmpty()) {
+            throw new InvalidProgrammationException("Aucune programmation à traiter");
+        }
+        if (codes.size() > maxSize) {
+            throw new InvalidProgrammationException("Lot trop volumineux : " + codes.size()
+                    + " programmations (maximum " + maxSize + ")");
+        }
+        Personnel validator = findValidator(codeValidateur);
+
+        if (pendingBatches.incrementAndGet() > queueCapacity) {
+            pendingBatches.decrementAndGet();
+            throw new ValidationSaturatedException("Trop de lots de validation en attente, réessayez plus tard");
+        }
+        ValidationBatch batch = new ValidationBatch(UUID.randomUUID().toString(), target, codes.size());
+        batches.put(batch.getId(), batch);
+        workers.execute(() -> {
+            try {
+                run(batch, codes, target, validator);
+            } finally {
+                pendingBatches.decrementAndGet();
+            }
+        });
+        log.info("Lot de validation {} soumis par {} : {} programmations -> {}",
+                batch.getId(), codeValidateur, codes.size(), target);
+        return batch.toDTO();
+    }
+
+    @Override
+    public ValidationBatchDTO getBatch(String lotId) {
+        ValidationBatch batch = batches.get(lotId);
+        if (batch == null) {
+            throw new ValidationBatchNotFoundException("Lot de validation introuvable : " + lotId);
+        }
+        return batch.toDTO();
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    // --- Méthodes privées de support ---
+
+    private void run(ValidationBatch batch, List<Integer> codes, StatusProgrammation target, Personnel validator) {
+        batch.start();
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < codes.size(); from += chunkSize) {
+            List<Integer> chunk = codes.subList(from, Math.min(codes.size(), from + chunkSize));
+            chunks.add(workers.submit(() -> applyChunk(batch, chunk, target, validator)));
+        }
+
+        int failed = 0;
+        for (Future<?> chunk : chunks) {
+            try {
+                chunk.get();
+            } catch (ExecutionException e) {
+                failed++;
+                log.error("Échec d'une tranche du lot de validation {}", batch.getId(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.fail("Lot interrompu");
+                return;
+            }
+        }
+        // Chaque tranche est atomique : les programmations d'une tranche en échec restent au statut PROGAMME
+        if (failed > 0) {
+            batch.fail(failed + " tranche(s) sur " + chunks.size() + " en échec, le lot peut être resoumis");
+        } else {
+            batch.succeed();
+        }
+        log.info("Lot de validation {} terminé : {} programmations modifiées", batch.getId(), batch.toDTO().getModifiees());
+    }
+
+    private void applyChunk(ValidationBatch batch, List<Integer> chunk, StatusProgrammation target, Personnel validator) {
+        writers.acquireUninterruptibly();
+        try {
+            Integer updated = chunkTransaction.execute(status -> {
+                int changed = programmationRepository.transitionStatus(chunk, StatusProgrammation.PROGAMME, target, validator);
+                if (!ProgrammationConflictDetector.occupies(target)) {
+                    programmationRepository.findCodesByStatus(chunk, target)
+                            .forEach(conflictDetector::releaseAfterCommit);
+                }
+                weeklyCalendar.refreshAfterCommit(chunk);
+                cacheInvalidationBus.publishEach(CachedEntity.PROGRAMMATION, chunk.stream().map(String::valueOf).toList());
+                return changed;
+            });
+            batch.chunkDone(chunk.size(), updated == null ? 0 : updated);
+        } finally {
+            writers.release();
+        }
+    }
+
+    private static StatusProgrammation parseTarget(String statut) {
+        StatusProgrammation target;
+        try {
+            target = StatusProgrammation.valueOf(statut);
+        } catch (RuntimeException e) {
+            throw new InvalidProgrammationException("Statut invalide : " + statut);
+        }
+        if (target == StatusProgrammation.PROGAMME) {
+            throw new InvalidProgrammationException("Une programmation ne peut être que validée (VALIDE) ou refusée (NON_VALIDE)");
+        }
+        return target;
+    }
+
+    private Personnel findValidator(String codeValidateur) {
+        if (codeValidateur == null) {
+            throw new InvalidProgrammationException("Validateur non identifié");
+        }
+        return personnelRepository.findById(codeValidateur)
+                .orElseThrow(() -> new PersonnelNotFoundException("Validateur introuvable : " + codeValidateur));
+    }
+}
@@ -3,15 +3,26 @@ package com.eadl.suivi_academique.services.interfaces;
 import java.util.List;
 
 import com.eadl.suivi_academique.dto.AffectationDTO;
+import com.eadl.suivi_academique.dto.AffectationSummary;
+import com.eadl.suivi_academique.dto.AffectationWorkload;
+import com.eadl.suivi_academique.dto.CursorPage;
 
 public interface AffectationInterface {
 
     AffectationDTO create(AffectationDTO dto);
 
-    List<AffectationDTO> getAll();
+    CursorPage<AffectationDTO> getAll(String cursor, Integer size);
+
+    CursorPage<AffectationSummary> getSummaries(String cursor, Integer size);
 
     AffectationDTO getById(String codeCours, String codePersonnel);
 
+    AffectationSummary getSummary(String codeCours, String codePersonnel);
+
+    List<AffectationWorkload> getPersonnelWorkloads(List<String> codesPersonnel);
+
+    List<AffectationWorkload> getCoursWorkloads(List<String> codesCours);
+
     void delete(String codeCours, String codePersonnel);
 
 }
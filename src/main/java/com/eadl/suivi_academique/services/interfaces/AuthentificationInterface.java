@@ -9,4 +9,6 @@ public interface AuthentificationInterface {
     public AuthResponse authenticate(AuthRequest request);
 
     public AuthResponse register(PersonnelDTO personnel);
+
+    public void logout(String token);
 }
@@ -0,0 +1,13 @@
+package com.eadl.suivi_academique.services.interfaces;
+
+import com.eadl.suivi_academique.dto.WeekCalendarDTO;
+
+public interface CalendarInterface {
+
+    // Semaine ISO (ex : 2030-W01) d'un enseignant programmateur ; semaine courante si null
+    WeekCalendarDTO getPersonnelWeek(String codePersonnel, String semaine);
+
+    // Semaine ISO d'une salle ; semaine courante si null
+    WeekCalendarDTO getSalleWeek(String codeSalle, String semaine);
+
+}
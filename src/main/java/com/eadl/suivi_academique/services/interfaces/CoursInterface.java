@@ -2,6 +2,8 @@ package com.eadl.suivi_academique.services.interfaces;
 
 import java.util.List;
 import com.eadl.suivi_academique.dto.CoursDTO;
+import com.eadl.suivi_academique.dto.CursorPage;
+import com.eadl.suivi_academique.dto.PageResponse;
 
 public interface CoursInterface {
     
@@ -10,7 +12,7 @@ public interface CoursInterface {
     public CoursDTO createCours(CoursDTO coursDTO);
 
     // READ - Récupérer tous les cours
-    public List<CoursDTO> getAllCours();
+    public CursorPage<CoursDTO> getAllCours(String cursor, Integer size);
 
     // READ - Récupérer un cours par son code
     public CoursDTO getCoursByCode(String codeCours);
@@ -18,6 +20,9 @@ public interface CoursInterface {
     // READ - Récupérer les cours par label (recherche)
     public List<CoursDTO> getCoursByLabel(String labelCours);
 
+    // READ - Recherche plein texte sur le titre et la description, classée par pertinence
+    public PageResponse<CoursDTO> searchCours(String query, int page, int size);
+
     // UPDATE - Mettre à jour un cours
     public CoursDTO updateCours(String codeCours, CoursDTO coursDTO);
 
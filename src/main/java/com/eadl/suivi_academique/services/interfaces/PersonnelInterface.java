@@ -1,20 +1,33 @@
 package com.eadl.suivi_academique.services.interfaces;
 
+import java.io.InputStream;
 import java.util.List;
 
+import com.eadl.suivi_academique.dto.CursorPage;
+import com.eadl.suivi_academique.dto.PageResponse;
 import com.eadl.suivi_academique.dto.PersonnelDTO;
+import com.eadl.suivi_academique.dto.PersonnelImportResult;
 
 public interface PersonnelInterface {
 
     // CREATE - Créer un nouveau personnel
     public PersonnelDTO createPersonnel(PersonnelDTO personnelDTO);
 
+    // CREATE - Import massif (rapport ligne par ligne)
+    public PersonnelImportResult importPersonnels(List<PersonnelDTO> personnels);
+
+    // CREATE - Import massif depuis un fichier CSV
+    public PersonnelImportResult importPersonnelsCsv(InputStream csv);
+
     // READ - Récupérer tous les personnels
-    public List<PersonnelDTO> getAllPersonnels();
+    public CursorPage<PersonnelDTO> getAllPersonnels(String cursor, Integer size);
 
     //Recuperer un personnel par son role
     public PersonnelDTO getPersonnelByRole(String rolePersonnel);
 
+    // READ - Recherche classée et paginée par nom ou login
+    public PageResponse<PersonnelDTO> searchPersonnels(String query, int page, int size);
+
     // READ - Récupérer un personnel par son code
     public PersonnelDTO getPersonnelByCode(String codePersonnel);
 
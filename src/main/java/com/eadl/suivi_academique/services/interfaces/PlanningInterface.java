@@ -0,0 +1,14 @@
+package com.eadl.suivi_academique.services.interfaces;
+
+import com.eadl.suivi_academique.dto.PlanningJobDTO;
+import com.eadl.suivi_academique.dto.PlanningRequest;
+
+public interface PlanningInterface {
+
+    // Lance la génération en tâche de fond et renvoie immédiatement son état initial
+    PlanningJobDTO submit(PlanningRequest request);
+
+    // État et progression d'une génération
+    PlanningJobDTO getJob(String jobId);
+
+}
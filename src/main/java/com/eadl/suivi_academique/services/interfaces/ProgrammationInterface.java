@@ -1,21 +1,42 @@
 package com.eadl.suivi_academique.services.interfaces;
 
 
+import java.io.OutputStream;
 import java.util.List;
+import com.eadl.suivi_academique.dto.CursorPage;
 import com.eadl.suivi_academique.dto.ProgrammationDTO;
+import com.eadl.suivi_academique.dto.ProgrammationExportFilter;
 import com.eadl.suivi_academique.dto.ProgrammationRequest;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.dto.ProgrammationWindowFilter;
+import com.eadl.suivi_academique.utils.ExportFormat;
 
 public interface ProgrammationInterface {
 
     // CREATE
 	public ProgrammationDTO createProgrammation(ProgrammationRequest dto);
 
+	// CREATE - lot, tout ou rien
+	public List<ProgrammationSummary> createProgrammations(List<ProgrammationRequest> requests);
+
 	// READ - all
-	public List<ProgrammationDTO> getAllProgrammations();
+	public CursorPage<ProgrammationDTO> getAllProgrammations(String cursor, Integer size);
+
+	// READ - all, vue compacte
+	public CursorPage<ProgrammationSummary> getProgrammationSummaries(String cursor, Integer size);
+
+	// READ - séances débutant dans une fenêtre de dates, par salle ou par enseignant
+	public CursorPage<ProgrammationSummary> getProgrammationsInWindow(ProgrammationWindowFilter filter, String cursor, Integer size);
+
+	// READ - export en flux (NDJSON ou CSV), renvoie le nombre de lignes écrites
+	public long exportProgrammations(ProgrammationExportFilter filter, ExportFormat format, OutputStream output);
 
 	// READ - by id
 	public ProgrammationDTO getProgrammationById(int codeProgrammation);
 
+	// READ - by id, vue compacte
+	public ProgrammationSummary getProgrammationSummary(int codeProgrammation);
+
 	// UPDATE
 	public ProgrammationDTO updateProgrammation(int codeProgrammation, ProgrammationRequest dto);
 
@@ -1,8 +1,11 @@
 package com.eadl.suivi_academique.services.interfaces;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import com.eadl.suivi_academique.dto.CursorPage;
 import com.eadl.suivi_academique.dto.SalleDTO;
+import com.eadl.suivi_academique.dto.SalleDisponibiliteDTO;
 import com.eadl.suivi_academique.utils.SalleStatus;
 
 public interface SalleInterface {
@@ -11,7 +14,7 @@ public interface SalleInterface {
     public SalleDTO createSalle(SalleDTO salleDTO);
 
     // READ - Récupérer toutes les salles
-    public List<SalleDTO> getAllSalles();
+    public CursorPage<SalleDTO> getAllSalles(String cursor, Integer size);
     // READ - Récupérer une salle par son code
     public SalleDTO getSalleByCode(String codeSalle);
 
@@ -21,6 +24,13 @@ public interface SalleInterface {
     // READ - Récupérer les salles par statut
     public List<SalleDTO> getSallesByStatus(SalleStatus status);
 
+    // READ - Filtre combiné statut (optionnel) + contenance minimale
+    public List<SalleDTO> filterSalles(SalleStatus status, int minContenance);
+
+    // READ - Salles libres sur une fenêtre (durée optionnelle en minutes), classées par contenance
+    public List<SalleDisponibiliteDTO> findAvailableSalles(LocalDateTime debut, LocalDateTime fin,
+            int minContenance, Integer dureeMinutes, Integer limit);
+
     // UPDATE - Mettre à jour une salle
     public SalleDTO updateSalle(String codeSalle, SalleDTO salleDTO);
 
@@ -0,0 +1,18 @@
+package com.eadl.suivi_academique.services.interfaces;
+
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.dto.ValidationBatchDTO;
+import com.eadl.suivi_academique.dto.ValidationRequest;
+
+public interface ValidationInterface {
+
+    // Passage immédiat d'une programmation PROGAMME vers VALIDE ou NON_VALIDE
+    ProgrammationSummary changeStatus(int codeProgrammation, String statut, String codeValidateur);
+
+    // Validation ou refus d'un lot en tâche de fond ; renvoie immédiatement son état initial
+    ValidationBatchDTO submit(ValidationRequest request, String codeValidateur);
+
+    // État et compteurs d'un lot
+    ValidationBatchDTO getBatch(String lotId);
+
+}
@@ -0,0 +1,14 @@
+package com.eadl.suivi_academique.utils;
+
+// Entités dont chaque nœud garde une copie locale (cache L2, index, catalogue, registre de révocation)
+public enum CachedEntity {
+    SALLE,
+    COURS,
+    PERSONNEL,
+    // Créneaux : index des conflits, disponibilités des salles et calendrier hebdomadaire
+    PROGRAMMATION,
+    // Clé : AffectationId.toKey() ; évince aussi la collection Cours.affectations du cours
+    AFFECTATION,
+    // Clé : login dont les tokens sont révoqués, null pour une révocation globale
+    TOKEN_REVOCATION
+}
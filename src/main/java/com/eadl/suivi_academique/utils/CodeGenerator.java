@@ -1,41 +1,190 @@
 package com.eadl.suivi_academique.utils;
 
 import java.time.LocalDate;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eadl.suivi_academique.entities.Programmation;
 import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Attribution des matricules ENS/RA/RD + année + n.
+ *
+ * Chaque nœud réserve en base un bloc de valeurs (hi/lo) par préfixe et par année, puis
+ * distribue ce bloc en mémoire : pas de requête dans le cas courant, et aucun doublon possible
+ * entre requêtes concurrentes ou entre nœuds. La réservation est validée dans une transaction
+ * courte sur un pool dédié de quelques connexions : elle ne garde pas le verrou du compteur
+ * jusqu'au commit de l'appelant et ne peut pas attendre une connexion du pool principal,
+ * même occupé en entier par les appelants eux-mêmes.
+ *
+ * Le compteur des identifiants de programmation (générateur de table Hibernate) est amorcé au
+ * même moment : absent, Hibernate le créerait à 1 sous des identifiants déjà pris.
+ */
+@Slf4j
 @Service
 public class CodeGenerator {
 
+    // Premier numéro distribué : conserve le format historique à 5 chiffres
+    private static final long FIRST_VALUE = 10000L;
+    private static final List<String> PREFIXES = List.of("ENS", "RA", "RD");
+
     private final PersonnelRepository personnelRepository;
-    
+    private final ProgrammationRepository programmationRepository;
+    private final HikariDataSource sequencePool;
+    private final JdbcTemplate sequenceJdbc;
+    private final TransactionTemplate reservationTransaction;
+    private final int blockSize;
+
+    private final Map<String, CodeBlock> blocks = new ConcurrentHashMap<>();
 
-    public CodeGenerator(PersonnelRepository personnelRepository) {
+    public CodeGenerator(
+            PersonnelRepository personnelRepository,
+            ProgrammationRepository programmationRepository,
+            DataSourceProperties dataSourceProperties,
+            @Value("${personnel.code.block-size:20}") int blockSize,
+            @Value("${personnel.code.pool-size:2}") int poolSize
+    ) {
         this.personnelRepository = personnelRepository;
+        this.programmationRepository = programmationRepository;
+        this.sequencePool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.sequencePool.setPoolName("code-sequence");
+        this.sequencePool.setMaximumPoolSize(poolSize);
+        this.sequencePool.setMinimumIdle(0);
+        this.sequenceJdbc = new JdbcTemplate(sequencePool);
+        this.reservationTransaction = new TransactionTemplate(new DataSourceTransactionManager(sequencePool));
+        this.blockSize = blockSize;
     }
 
+    // Compteurs de l'année en cours et de la suivante créés hors de toute requête métier
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedSequences() {
+        int year = LocalDate.now().getYear();
+        for (String prefix : PREFIXES) {
+            createIfAbsent(prefix + year);
+            createIfAbsent(prefix + (year + 1));
+        }
+        // Premier bloc distribué par l'optimiseur pooled : juste au-dessus des identifiants existants
+        insertIfAbsent(Programmation.ID_SEQUENCE,
+                (long) programmationRepository.findMaxCode() + Programmation.ID_ALLOCATION_SIZE);
+    }
+
+    @PreDestroy
+    void close() {
+        sequencePool.close();
+    }
 
     public String generate(String roleString){
-        
 
-        String prefix = switch (roleString){
+        List<String> codes = generate(roleString, 1);
+        return codes == null ? null : codes.get(0);
+
+    }
+
+    // Attribution groupée (import massif) : un bloc à la taille du lot s'il dépasse le bloc courant
+    public List<String> generate(String roleString, int count){
+
+        String prefix = prefixOf(roleString);
+        if (prefix == null) {
+            return null;
+        }
+
+        String sequenceKey = prefix + LocalDate.now().getYear();
+        CodeBlock block = blocks.computeIfAbsent(sequenceKey, key -> new CodeBlock());
+        List<String> codes = new ArrayList<>(count);
+        synchronized (block) {
+            for (int i = 0; i < count; i++) {
+                if (block.next >= block.end) {
+                    int size = Math.max(blockSize, count - i);
+                    block.next = reserveBlock(sequenceKey, size);
+                    block.end = block.next + size;
+                }
+                codes.add(sequenceKey + block.next++);
+            }
+        }
+        return codes;
+
+    }
+
+    private String prefixOf(String roleString) {
+        if (roleString == null) {
+            return null;
+        }
+        return switch (roleString){
             case "ENSEIGNANT" -> "ENS";
             case "RESPONSABLE_ACADEMIQUE" -> "RA";
             case "RESPONSABLE_DISCIPLINE" -> "RD";
             default -> null;
         };
+    }
 
-        long randomNumber = ThreadLocalRandom.current().nextInt(10000, 99999);
-        int year = LocalDate.now().getYear();
-        String code = prefix + year + randomNumber;
-        if (personnelRepository.existsById(code)) {
+    // Réserve [start, start + size) dans une transaction courte et indépendante de l'appelant
+    private long reserveBlock(String sequenceKey, int size) {
+        Long start = reservationTransaction.execute(status -> increment(sequenceKey, size));
+        if (start == null) {
+            // Compteur absent (application démarrée avant le changement d'année précédent)
+            createIfAbsent(sequenceKey);
+            start = reservationTransaction.execute(status -> increment(sequenceKey, size));
+        }
+        return start;
+    }
 
-            return generate(roleString); // Regenerate if code already exists
+    // L'UPDATE verrouille la ligne : la relecture voit notre incrément
+    private Long increment(String sequenceKey, int size) {
+        if (sequenceJdbc.update("UPDATE code_sequence SET next_value = next_value + ? WHERE code_sequence = ?",
+                size, sequenceKey) == 0) {
+            return null;
         }
-        else{
-            return code;
+        return sequenceJdbc.queryForObject("SELECT next_value FROM code_sequence WHERE code_sequence = ?",
+                Long.class, sequenceKey) - size;
+    }
+
+    private void createIfAbsent(String sequenceKey) {
+        insertIfAbsent(sequenceKey, firstFreeValue(sequenceKey));
+    }
+
+    private void insertIfAbsent(String sequenceKey, long nextValue) {
+        try {
+            sequenceJdbc.update("INSERT INTO code_sequence (code_sequence, next_value) VALUES (?, ?)",
+                    sequenceKey, nextValue);
+        } catch (DuplicateKeyException e) {
+            // Créé au même moment par un autre appelant ou un autre nœud
+            log.debug("Compteur {} déjà créé", sequenceKey);
+        }
+    }
+
+    // Amorçage d'un nouveau compteur après les matricules déjà attribués (anciens codes aléatoires)
+    private long firstFreeValue(String sequenceKey) {
+        List<String> highest = personnelRepository.findCodesByPrefixDesc(sequenceKey, PageRequest.of(0, 1));
+        if (highest.isEmpty()) {
+            return FIRST_VALUE;
         }
+        try {
+            return Math.max(FIRST_VALUE, Long.parseLong(highest.get(0).substring(sequenceKey.length())) + 1);
+        } catch (NumberFormatException e) {
+            return FIRST_VALUE;
+        }
+    }
 
+    private static final class CodeBlock {
+        private long next;
+        private long end;
     }
 }
@@ -0,0 +1,53 @@
+package com.eadl.suivi_academique.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.eadl.suivi_academique.exceptions.paginationexception.InvalidCursorException;
+
+/**
+ * Jetons de continuation opaques pour la pagination par clé (keyset) :
+ * la clé du dernier élément renvoyé, encodée en Base64 URL.
+ */
+public final class CursorCodec {
+
+    // Séparateur de champs absent des codes métier
+    private static final String SEPARATOR = "\u001F";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... keys) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, keys).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Renvoie null pour la première page (pas de curseur)
+    public static String[] decode(String cursor, int expectedKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+        if (keys.length != expectedKeys) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+        return keys;
+    }
+
+    public static int decodeInt(String cursor) {
+        String[] keys = decode(cursor, 1);
+        if (keys == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(keys[0]);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+    }
+}
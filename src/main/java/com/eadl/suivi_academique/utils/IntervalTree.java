@@ -0,0 +1,222 @@
+package com.eadl.suivi_academique.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Arbre d'intervalles semi-ouverts [début, fin) identifiés par un entier.
+ *
+ * Arbre binaire de recherche équilibré aléatoirement (treap) trié par début, où chaque nœud
+ * connaît la plus grande fin de son sous-arbre : insertion, suppression et recherche d'un
+ * chevauchement en O(log n) en moyenne. Non thread-safe : à protéger par l'appelant.
+ */
+public class IntervalTree {
+
+    private Node root;
+    private final Map<Integer, Node> byId = new HashMap<>();
+
+    // Remplace l'intervalle déjà associé à cet identifiant, le cas échéant
+    public void put(int id, long start, long end) {
+        if (end < start) {
+            throw new IllegalArgumentException("Intervalle invalide : fin avant début");
+        }
+        remove(id);
+        Node node = new Node(id, start, end, ThreadLocalRandom.current().nextInt());
+        root = insert(root, node);
+        byId.put(id, node);
+    }
+
+    public boolean remove(int id) {
+        Node node = byId.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return byId.containsKey(id);
+    }
+
+    // [début, fin] de l'intervalle de cet identifiant, ou null
+    public long[] get(int id) {
+        Node node = byId.get(id);
+        return node == null ? null : new long[] { node.start, node.end };
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    public void clear() {
+        root = null;
+        byId.clear();
+    }
+
+    /**
+     * Premier identifiant (par début croissant) dont l'intervalle chevauche [start, end),
+     * en ignorant {@code excludedId} ; -1 si aucun. Deux intervalles qui se touchent
+     * (fin de l'un = début de l'autre) ne se chevauchent pas.
+     */
+    public int findFirstOverlap(long start, long end, int excludedId) {
+        Node node = firstOverlap(root, start, end, excludedId);
+        return node == null ? -1 : node.id;
+    }
+
+    // Tous les identifiants chevauchant [start, end), par début croissant
+    public List<Integer> findOverlaps(long start, long end) {
+        List<Integer> ids = new ArrayList<>();
+        collectOverlaps(root, start, end, ids);
+        return ids;
+    }
+
+    private Node firstOverlap(Node node, long start, long end, int excludedId) {
+        if (node == null || node.maxEnd <= start || start >= end) {
+            return null;
+        }
+        Node found = firstOverlap(node.left, start, end, excludedId);
+        if (found != null) {
+            return found;
+        }
+        if (node.start >= end) {
+            // Tout le sous-arbre droit commence encore plus tard
+            return null;
+        }
+        if (node.end > start && node.start < node.end && node.id != excludedId) {
+            return node;
+        }
+        return firstOverlap(node.right, start, end, excludedId);
+    }
+
+    private void collectOverlaps(Node node, long start, long end, List<Integer> ids) {
+        if (node == null || node.maxEnd <= start || start >= end) {
+            return;
+        }
+        collectOverlaps(node.left, start, end, ids);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start && node.start < node.end) {
+            ids.add(node.id);
+        }
+        collectOverlaps(node.right, start, end, ids);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (compare(removed, node) < 0) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        node.update();
+        return node;
+    }
+
+    // Fusion de deux sous-arbres dont toutes les clés de gauche précèdent celles de droite
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    // Ordre total : début, puis fin, puis identifiant
+    private static int compare(Node a, Node b) {
+        int byStart = Long.compare(a.start, b.start);
+        if (byStart != 0) {
+            return byStart;
+        }
+        int byEnd = Long.compare(a.end, b.end);
+        return byEnd != 0 ? byEnd : Integer.compare(a.id, b.id);
+    }
+
+    private static final class Node {
+        private final int id;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(int id, long start, long end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
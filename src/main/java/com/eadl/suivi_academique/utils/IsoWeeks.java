@@ -0,0 +1,36 @@
+package com.eadl.suivi_academique.utils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.eadl.suivi_academique.exceptions.programmationexception.InvalidProgrammationException;
+
+// Semaines ISO 8601 au format « 2030-W01 »
+public final class IsoWeeks {
+
+    private static final Pattern ISO_WEEK = Pattern.compile("(\\d{4})-W(\\d{2})");
+
+    private IsoWeeks() {
+    }
+
+    // Lundi de la semaine indiquée
+    public static LocalDate parseMonday(String semaine) {
+        Matcher matcher = ISO_WEEK.matcher(semaine.trim());
+        if (!matcher.matches()) {
+            throw new InvalidProgrammationException("Semaine invalide : " + semaine + " (format attendu : 2030-W01)");
+        }
+        LocalDate reference = LocalDate.of(Integer.parseInt(matcher.group(1)), 6, 1);
+        int week = Integer.parseInt(matcher.group(2));
+        if (week < 1 || week > reference.range(IsoFields.WEEK_OF_WEEK_BASED_YEAR).getMaximum()) {
+            throw new InvalidProgrammationException("Semaine invalide : " + semaine);
+        }
+        return reference.with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, week).with(DayOfWeek.MONDAY);
+    }
+
+    public static String format(LocalDate day) {
+        return String.format("%d-W%02d", day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+}
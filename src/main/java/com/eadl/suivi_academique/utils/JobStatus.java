@@ -0,0 +1,8 @@
+package com.eadl.suivi_academique.utils;
+
+// État des traitements asynchrones (génération de planning, lots de validation)
+public enum JobStatus {
+
+    EN_ATTENTE, EN_COURS, TERMINE, ECHEC
+
+}
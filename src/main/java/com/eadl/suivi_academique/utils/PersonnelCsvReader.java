@@ -0,0 +1,119 @@
+package com.eadl.suivi_academique.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.eadl.suivi_academique.dto.PersonnelDTO;
+
+/**
+ * Lecture d'un fichier CSV de personnels (UTF-8, séparateur ';' ou ',').
+ *
+ * La première ligne est l'en-tête : nomPersonnel, loginPersonnel, passwordPersonnel,
+ * sexe, rolePersonnel (ou nom, login, password, role), dans n'importe quel ordre.
+ * Les champs peuvent être entre guillemets ; les retours à la ligne dans un champ ne sont pas gérés.
+ */
+public final class PersonnelCsvReader {
+
+    private static final Map<String, String> COLUMN_ALIASES = Map.of(
+            "nompersonnel", "nom", "nom", "nom",
+            "loginpersonnel", "login", "login", "login",
+            "passwordpersonnel", "password", "password", "password",
+            "sexe", "sexe",
+            "rolepersonnel", "role", "role", "role");
+
+    private PersonnelCsvReader() {
+    }
+
+    public static List<PersonnelDTO> read(InputStream input) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || header.isBlank()) {
+                throw new IllegalArgumentException("Fichier CSV vide ou sans en-tête");
+            }
+            // Retire l'éventuel BOM UTF-8 laissé par les tableurs
+            header = header.startsWith("\uFEFF") ? header.substring(1) : header;
+            char separator = header.indexOf(';') >= 0 ? ';' : ',';
+            Map<String, Integer> columns = columnsOf(split(header, separator));
+
+            List<PersonnelDTO> rows = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = split(line, separator);
+                rows.add(new PersonnelDTO(
+                        null,
+                        field(fields, columns.get("nom")),
+                        field(fields, columns.get("login")),
+                        field(fields, columns.get("password")),
+                        field(fields, columns.get("sexe")),
+                        field(fields, columns.get("role"))));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du fichier CSV impossible", e);
+        }
+    }
+
+    private static Map<String, Integer> columnsOf(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = COLUMN_ALIASES.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column != null) {
+                columns.put(column, i);
+            }
+        }
+        for (String required : List.of("nom", "login", "password", "sexe", "role")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Colonne manquante dans l'en-tête CSV : " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> split(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
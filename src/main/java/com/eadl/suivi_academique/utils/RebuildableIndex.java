@@ -0,0 +1,111 @@
+package com.eadl.suivi_academique.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Écritures d'un index en mémoire reconstruit par rechargement complet depuis la base.
+ *
+ * Le chargement se fait hors verrou : les écritures appliquées pendant ce temps sont
+ * journalisées puis rejouées sur les données rechargées, sinon la bascule les perdrait.
+ * Un vidage complet n'est pas rejoué, car il effacerait aussi ce que le chargement a lu
+ * après lui : il relance le chargement.
+ */
+public final class RebuildableIndex {
+
+    private final Lock writeLock;
+
+    // Non null pendant le chargement d'une reconstruction
+    private List<Runnable> replay;
+    private boolean reloadRequested;
+
+    public RebuildableIndex(Lock writeLock) {
+        this.writeLock = writeLock;
+    }
+
+    public void write(Runnable update) {
+        writeLock.lock();
+        try {
+            update.run();
+            if (replay != null) {
+                replay.add(update);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clear(Runnable clear) {
+        writeLock.lock();
+        try {
+            clear.run();
+            if (replay != null) {
+                reloadRequested = true;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Charge les données hors verrou, puis remplace l'index sous verrou (swap) et rejoue les
+     * écritures journalisées. En cas d'échec du chargement, l'index courant est conservé.
+     */
+    public synchronized <T> T rebuild(Supplier<T> load, Consumer<T> swap) {
+        startJournal();
+        while (true) {
+            T loaded;
+            try {
+                loaded = load.get();
+            } catch (RuntimeException e) {
+                stopJournal();
+                throw e;
+            }
+            if (trySwap(loaded, swap)) {
+                return loaded;
+            }
+        }
+    }
+
+    private void startJournal() {
+        writeLock.lock();
+        try {
+            replay = new ArrayList<>();
+            reloadRequested = false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void stopJournal() {
+        writeLock.lock();
+        try {
+            replay = null;
+            reloadRequested = false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // false : vidage pendant le chargement, à recommencer avec un journal neuf
+    private <T> boolean trySwap(T loaded, Consumer<T> swap) {
+        writeLock.lock();
+        try {
+            if (reloadRequested) {
+                replay = new ArrayList<>();
+                reloadRequested = false;
+                return false;
+            }
+            List<Runnable> pending = replay;
+            replay = null;
+            swap.accept(loaded);
+            pending.forEach(Runnable::run);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.eadl.suivi_academique.utils;
+
+import java.util.Locale;
+
+// Représentation demandée par le client via ?view= : compacte (codes et libellés) ou détaillée
+public enum ResponseView {
+
+    COMPACT,
+    EXPANDED;
+
+    // Insensible à la casse : ?view=compact comme ?view=COMPACT
+    public static ResponseView from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public boolean isCompact() {
+        return this == COMPACT;
+    }
+}
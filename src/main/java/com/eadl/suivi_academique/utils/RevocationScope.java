@@ -0,0 +1,8 @@
+package com.eadl.suivi_academique.utils;
+
+// Portée d'une révocation de tokens : un token, tous ceux d'un login, ou tous
+public enum RevocationScope {
+    TOKEN,
+    LOGIN,
+    ALL
+}
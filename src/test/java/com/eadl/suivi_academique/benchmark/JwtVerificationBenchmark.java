@@ -0,0 +1,93 @@
+package com.eadl.suivi_academique.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.eadl.suivi_academique.config.JwtUtil;
+import com.eadl.suivi_academique.config.VerifiedToken;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Coût de vérification d'un JWT par requête : ancien chemin (clé et parser
+ * reconstruits à chaque appel, token parsé deux fois) contre le chemin actuel.
+ *
+ * Lancement (JMH forke une JVM, il faut donc un classpath complet) :
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *        com.eadl.suivi_academique.benchmark.JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86400000L);
+        token = jwtUtil.generateToken(Personnel.builder()
+                .codePersonnel("ENS202610001")
+                .loginPersonnel("jdupont")
+                .passwordPersonnel("x")
+                .rolePersonnel(RolePersonnel.ENSEIGNANT)
+                .build());
+    }
+
+    // Ancien JwtUtil : décodage de la clé + nouveau parser, et deux parsings (sujet puis expiration)
+    @Benchmark
+    public boolean avantParserPartage() {
+        String subject = ancienParsing(token).getSubject();
+        Date expiration = ancienParsing(token).getExpiration();
+        return subject.equals("jdupont") && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean apresParserPartage() {
+        VerifiedToken verified = jwtUtil.parseToken(token);
+        return verified.subject().equals("jdupont") && !verified.isExpired();
+    }
+
+    private static Claims ancienParsing(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,140 @@
+package com.eadl.suivi_academique.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Recherche des séances d'une salle sur une semaine (page de 50, même requête que
+ * ProgrammationRepository.findSalleSummariesStartingBetween) quand l'historique grossit.
+ *
+ * Chaque salle a 25 séances par semaine quel que soit le volume : avec l'index composite
+ * (code_salle, debut_progammation) le temps reste quasi constant (O(log n + k)), sans index
+ * il croît avec le nombre de lignes.
+ *
+ * Lancement (JMH forke une JVM, il faut donc un classpath complet) :
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *        com.eadl.suivi_academique.benchmark.ProgrammationWindowBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgrammationWindowBenchmark {
+
+    private static final int SALLES = 200;
+    private static final int SEANCES_PAR_SEMAINE = 25;
+    private static final LocalDateTime ORIGINE = LocalDateTime.of(2020, 1, 6, 8, 0);
+    private static final int PAGE = 50;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int lignes;
+
+    @Param({ "true", "false" })
+    private boolean indexe;
+
+    private Connection connection;
+    private PreparedStatement semaineSalle;
+    private int semaines;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:fenetres_" + lignes + "_" + indexe);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE programmation (code_programmation INT PRIMARY KEY, "
+                    + "code_salle VARCHAR(255), code_personnel_prog VARCHAR(255), debut_progammation TIMESTAMP)");
+        }
+        semaines = Math.max(1, lignes / (SALLES * SEANCES_PAR_SEMAINE));
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO programmation VALUES (?, ?, ?, ?)")) {
+            for (int code = 1; code <= lignes; code++) {
+                int salle = code % SALLES;
+                int rang = (code / SALLES) % (semaines * SEANCES_PAR_SEMAINE);
+                // 5 jours ouvrés de 5 créneaux de 2 h
+                LocalDateTime debut = ORIGINE.plusWeeks(rang / SEANCES_PAR_SEMAINE)
+                        .plusDays(rang % SEANCES_PAR_SEMAINE / 5).plusHours(2L * (rang % 5));
+                insert.setInt(1, code);
+                insert.setString(2, "S" + salle);
+                insert.setString(3, "P" + salle);
+                insert.setTimestamp(4, Timestamp.valueOf(debut));
+                insert.addBatch();
+                if (code % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        if (indexe) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE INDEX idx_programmation_salle_debut ON programmation (code_salle, debut_progammation)");
+                ddl.execute("CREATE INDEX idx_programmation_personnel_prog_debut "
+                        + "ON programmation (code_personnel_prog, debut_progammation)");
+                ddl.execute("CREATE INDEX idx_programmation_debut ON programmation (debut_progammation)");
+            }
+        }
+        semaineSalle = connection.prepareStatement("SELECT code_programmation, debut_progammation FROM programmation "
+                + "WHERE code_salle = ? AND debut_progammation >= ? AND debut_progammation < ? "
+                + "AND (debut_progammation > ? OR (debut_progammation = ? AND code_programmation > ?)) "
+                + "ORDER BY debut_progammation, code_programmation LIMIT ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int semaineDUneSalle() throws SQLException {
+        Timestamp debut = Timestamp.valueOf(ORIGINE.minusHours(8).plusWeeks(random.nextInt(semaines)));
+        Timestamp fin = Timestamp.valueOf(debut.toLocalDateTime().plusWeeks(1));
+        semaineSalle.setString(1, "S" + random.nextInt(SALLES));
+        semaineSalle.setTimestamp(2, debut);
+        semaineSalle.setTimestamp(3, fin);
+        semaineSalle.setTimestamp(4, debut);
+        semaineSalle.setTimestamp(5, debut);
+        semaineSalle.setInt(6, 0);
+        semaineSalle.setInt(7, PAGE + 1);
+        int seances = 0;
+        try (ResultSet rows = semaineSalle.executeQuery()) {
+            while (rows.next()) {
+                seances++;
+            }
+        }
+        return seances;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProgrammationWindowBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
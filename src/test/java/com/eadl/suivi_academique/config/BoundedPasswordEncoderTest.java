@@ -0,0 +1,112 @@
+package com.eadl.suivi_academique.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.eadl.suivi_academique.exceptions.authexception.PasswordHashingSaturatedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Encodeur lent : bloque tant que le test ne le libère pas
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void should_delegate_hashing_to_the_pool() {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        release.countDown();
+
+        assertEquals("hash:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hash:secret"));
+        assertEquals(2, meterRegistry.find("password.hashing.latency").timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void should_reject_immediately_when_queue_is_full() throws Exception {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        // 1 tâche en cours + 1 en file : le pool est saturé
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(PasswordHashingSaturatedException.class, () -> encoder.encode("c"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash:a", running.get());
+        assertEquals("hash:b", queued.get());
+    }
+
+    @Test
+    void should_keep_serving_logins_while_an_import_is_hashing() throws Exception {
+        // Les hachages d'import bloquent ; les vérifications de connexion répondent aussitôt
+        PasswordEncoder importBlocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return slowEncoder.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return ("hash:" + rawPassword).equals(encodedPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(importBlocking, 1, 1, 1, Duration.ofMillis(500), meterRegistry);
+
+        CompletableFuture<List<String>> importing = CompletableFuture.supplyAsync(
+                () -> encoder.encodeAll(Collections.nCopies(100, "secret")));
+        Thread.sleep(50);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(encoder.matches("secret", "hash:secret"));
+        }
+        assertEquals(0.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(100, importing.get().size());
+    }
+}
@@ -0,0 +1,103 @@
+package com.eadl.suivi_academique.config;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eadl.suivi_academique.dto.AuthResponse;
+import com.eadl.suivi_academique.dto.PersonnelDTO;
+import com.eadl.suivi_academique.repositories.TokenRevocationRepository;
+import com.eadl.suivi_academique.services.implementation.PersonnelService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenRevocationRegistryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private PersonnelService personnelService;
+
+    @Test
+    void should_authenticate_from_token_claims_and_reject_after_logout() throws Exception {
+        String token = register("jdupont.auth").getToken();
+
+        mockMvc.perform(get("/api/salles/count").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/salles/count").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void should_keep_revocations_across_a_restart() {
+        Date issuedAt = new Date(System.currentTimeMillis() - 60_000);
+        TokenRevocationRegistry registry = newRegistry();
+        registry.revokeTokensOf("redemarrage.login");
+        registry.revokeToken("redemarrage.token", "empreinte-redemarrage", new Date(System.currentTimeMillis() + 60_000));
+
+        // Nouvelle instance : seul l'état en base subsiste
+        TokenRevocationRegistry restarted = newRegistry();
+        restarted.load();
+
+        assertTrue(restarted.isRevoked("redemarrage.login", issuedAt));
+        assertTrue(restarted.isTokenRevoked("empreinte-redemarrage"));
+    }
+
+    @Test
+    void should_not_revoke_tokens_when_the_update_is_rejected() throws Exception {
+        AuthResponse auth = register("rollback.auth");
+        PersonnelDTO invalid = new PersonnelDTO();
+        invalid.setNomPersonnel("Jean Dupont");
+        invalid.setLoginPersonnel("rollback.auth");
+        invalid.setRolePersonnel("INCONNU");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> personnelService.updatePersonnel(auth.getCodePersonnel(), invalid));
+
+        mockMvc.perform(get("/api/salles/count").header("Authorization", "Bearer " + auth.getToken()))
+                .andExpect(status().isOk());
+    }
+
+    private AuthResponse register(String login) throws Exception {
+        // Le mot de passe n'est pas sérialisé par PersonnelDTO (WRITE_ONLY) : corps construit à la main
+        Map<String, String> dto = Map.of("nomPersonnel", "Jean Dupont", "loginPersonnel", login,
+                "passwordPersonnel", "motdepasse", "sexe", "M", "rolePersonnel", "ENSEIGNANT");
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, AuthResponse.class);
+    }
+
+    private TokenRevocationRegistry newRegistry() {
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(tokenRevocationRepository);
+        ReflectionTestUtils.setField(registry, "jwtExpiration", 86_400_000L);
+        return registry;
+    }
+}
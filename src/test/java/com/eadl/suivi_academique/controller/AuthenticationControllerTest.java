@@ -0,0 +1,56 @@
+package com.eadl.suivi_academique.controller;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eadl.suivi_academique.dto.AuthRequest;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthenticationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Test
+    void should_upgrade_legacy_hash_on_successful_login() throws Exception {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("ancienMotDePasse");
+        personnelRepository.save(Personnel.builder()
+                .codePersonnel("ENS202600001")
+                .nomPersonnel("Ancien Compte")
+                .loginPersonnel("legacy.auth")
+                .passwordPersonnel(legacyHash)
+                .sexe("F")
+                .rolePersonnel(RolePersonnel.ENSEIGNANT)
+                .build());
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest("legacy.auth", "ancienMotDePasse"))))
+                .andExpect(status().isOk());
+
+        String upgraded = personnelRepository.findByLoginPersonnel("legacy.auth").orElseThrow().getPasswordPersonnel();
+        assertFalse(upgraded.equals(legacyHash));
+        assertTrue(upgraded.startsWith("{bcrypt}"));
+    }
+}
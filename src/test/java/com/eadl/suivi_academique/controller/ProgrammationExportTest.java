@@ -0,0 +1,120 @@
+package com.eadl.suivi_academique.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.eadl.suivi_academique.dto.AuthResponse;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Programmation;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.utils.SalleStatus;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProgrammationExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    private String token;
+    private String codeSalle;
+    private String codeCours;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "nomPersonnel", "Export Test", "loginPersonnel", "export." + System.nanoTime(),
+                                "passwordPersonnel", "motdepasse", "sexe", "F", "rolePersonnel", "ENSEIGNANT"))))
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readValue(body, AuthResponse.class).getToken();
+
+        // Codes propres à chaque test : les lignes exportées ne dépendent pas de l'ordre d'exécution
+        String suffix = String.valueOf(System.nanoTime());
+        codeSalle = "EXP-S" + suffix;
+        codeCours = "EXP-C" + suffix;
+        Salle salle = salleRepository.save(new Salle(codeSalle, "Salle export", 40, SalleStatus.LIBRE, null));
+        Cours cours = coursRepository.save(new Cours(codeCours, "Algèbre; \"avancée\"", "desc", 3, 30, null, null));
+        for (StatusProgrammation status : new StatusProgrammation[] {
+                StatusProgrammation.VALIDE, StatusProgrammation.VALIDE, StatusProgrammation.NON_VALIDE }) {
+            programmationRepository.save(new Programmation(
+                    0, 2, LocalDateTime.now(), LocalDateTime.now(), LocalDateTime.now(), status, salle, cours, null, null));
+        }
+    }
+
+    @Test
+    void should_stream_filtered_rows_as_csv() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/programmations/export")
+                        .param("format", "CSV")
+                        .param("status", "VALIDE")
+                        .param("codeSalle", codeSalle)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = csv.split("\n");
+        assertTrue(lines[0].startsWith("codeProgrammation;"));
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].contains(";VALIDE;" + codeSalle + ";" + codeCours + ";\"Algèbre; \"\"avancée\"\"\";"));
+    }
+
+    @Test
+    void should_stream_one_json_document_per_line() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/programmations/export")
+                        .param("codeCours", codeCours)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String ndjson = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            assertEquals(codeCours, objectMapper.readTree(line).get("codeCours").asText());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.eadl.suivi_academique.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eadl.suivi_academique.dto.AuthResponse;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Programmation;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.support.SqlStatementCounter;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Nombre exact de requêtes SQL par endpoint de lecture des programmations (garde-fou N+1)
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlStatementCounter.class)
+class ProgrammationQueryCountTest {
+
+    private static final int PROGRAMMATIONS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    private String token;
+    private int lastId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "nomPersonnel", "Compteur SQL", "loginPersonnel", "sql." + System.nanoTime(),
+                                "passwordPersonnel", "motdepasse", "sexe", "M", "rolePersonnel", "ENSEIGNANT"))))
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readValue(body, AuthResponse.class).getToken();
+
+        // Associations toutes distinctes : le pire cas pour un chargement ligne par ligne
+        for (int i = 0; i < PROGRAMMATIONS; i++) {
+            String suffix = System.nanoTime() + "-" + i;
+            Salle salle = salleRepository.save(new Salle("NQ-S" + suffix, "Salle", 30, SalleStatus.LIBRE, null));
+            Cours cours = coursRepository.save(new Cours("NQ-C" + suffix, "Cours", "desc", 3, 30, null, null));
+            Personnel prog = personnelRepository.save(personnel("NQ-P" + suffix));
+            Personnel val = personnelRepository.save(personnel("NQ-V" + suffix));
+            lastId = programmationRepository.save(new Programmation(0, 2, LocalDateTime.now(), LocalDateTime.now(), LocalDateTime.now(),
+                    StatusProgrammation.VALIDE, salle, cours, prog, val)).getCodeProgrammation();
+        }
+    }
+
+    @Test
+    void listing_a_page_issues_a_single_select() throws Exception {
+        sqlStatementCounter.reset();
+
+        mockMvc.perform(get("/programmations").param("size", "100").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].salleDTO.codeSalle").exists())
+                .andExpect(jsonPath("$.content[0].personnelValDto.codePersonnel").exists())
+                .andExpect(jsonPath("$.content[0].personnelValDto.passwordPersonnel").doesNotExist());
+
+        assertEquals(1, sqlStatementCounter.count());
+    }
+
+    @Test
+    void reading_one_programmation_issues_a_single_select() throws Exception {
+        sqlStatementCounter.reset();
+
+        mockMvc.perform(get("/programmations/" + lastId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.coursDTO.codeCours").exists())
+                .andExpect(jsonPath("$.personnelProgDto.codePersonnel").exists());
+
+        assertEquals(1, sqlStatementCounter.count());
+    }
+
+    @Test
+    void compact_view_selects_codes_and_labels_only() throws Exception {
+        sqlStatementCounter.reset();
+
+        mockMvc.perform(get("/programmations").param("size", "100").param("view", "compact")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].codeSalle").exists())
+                .andExpect(jsonPath("$.content[0].labelCours").exists())
+                .andExpect(jsonPath("$.content[0].nomPersonnelVal").exists())
+                .andExpect(jsonPath("$.content[0].salleDTO").doesNotExist());
+
+        mockMvc.perform(get("/programmations/" + lastId).param("view", "compact")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.codeProgrammation").value(lastId))
+                .andExpect(jsonPath("$.codeCours").exists());
+
+        assertEquals(2, sqlStatementCounter.count());
+    }
+
+    private static Personnel personnel(String code) {
+        return Personnel.builder()
+                .codePersonnel(code)
+                .nomPersonnel(code)
+                .loginPersonnel(code.toLowerCase())
+                .passwordPersonnel("hash")
+                .sexe("F")
+                .rolePersonnel(RolePersonnel.ENSEIGNANT)
+                .build();
+    }
+}
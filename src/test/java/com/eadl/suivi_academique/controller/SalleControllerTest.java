@@ -1,7 +1,10 @@
 package com.eadl.suivi_academique.controller;
 
 import com.eadl.suivi_academique.config.JwtUtil;
+import com.eadl.suivi_academique.config.TokenRevocationRegistry;
+import com.eadl.suivi_academique.config.VerifiedTokenCache;
 import com.eadl.suivi_academique.controllers.SalleController;
+import com.eadl.suivi_academique.dto.CursorPage;
 import com.eadl.suivi_academique.dto.SalleDTO;
 import com.eadl.suivi_academique.services.implementation.SalleService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -35,6 +38,12 @@ class SalleControllerTest {
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -64,13 +73,16 @@ class SalleControllerTest {
         SalleDTO salle2 = new SalleDTO("S002", "Salle B", 30, "LIBRE");
         List<SalleDTO> salles = Arrays.asList(salle1, salle2);
 
-        when(salleService.getAllSalles()).thenReturn(salles);
+        when(salleService.getAllSalles(isNull(), eq(2)))
+                .thenReturn(new CursorPage<>(salles, 2, true, "UzAwMg"));
 
-        mockMvc.perform(get("/api/salles"))
+        mockMvc.perform(get("/api/salles").param("size", "2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].codeSalle").value("S001"))
-                .andExpect(jsonPath("$[1].codeSalle").value("S002"));
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].codeSalle").value("S001"))
+                .andExpect(jsonPath("$.content[1].codeSalle").value("S002"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("UzAwMg"));
     }
 
     @Test
@@ -146,4 +158,23 @@ class SalleControllerTest {
                 .andExpect(jsonPath("$[0].descSalle").value("Salle Active"))
                 .andExpect(jsonPath("$[0].statusSalle").value("LIBRE"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFilterSallesByStatusAndMinContenance() throws Exception {
+        SalleDTO salle = new SalleDTO("S005", "Amphi", 200, "LIBRE");
+        when(salleService.filterSalles(any(), eq(150))).thenReturn(List.of(salle));
+
+        mockMvc.perform(get("/api/salles/filter").param("status", "LIBRE").param("minContenance", "150"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].codeSalle").value("S005"))
+                .andExpect(jsonPath("$[0].contenance").value(200));
+    }
+
+    @Test
+    void shouldRejectUnknownStatusWithBadRequest() throws Exception {
+        mockMvc.perform(get("/api/salles/filter").param("status", "INCONNU"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/salles/filter/status/INCONNU"))
+                .andExpect(status().isBadRequest());
+    }
+}
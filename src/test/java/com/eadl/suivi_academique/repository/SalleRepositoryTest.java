@@ -0,0 +1,48 @@
+package com.eadl.suivi_academique.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.repositories.projections.SalleView;
+import com.eadl.suivi_academique.utils.SalleStatus;
+
+@SpringBootTest
+@Transactional
+class SalleRepositoryTest {
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void should_filter_by_status_and_min_contenance_through_the_composite_index() {
+        salleRepository.saveAll(List.of(
+                new Salle("IDX-S1", "Amphi A", 9200, SalleStatus.LIBRE, null),
+                new Salle("IDX-S2", "Amphi B", 9100, SalleStatus.LIBRE, null),
+                new Salle("IDX-S3", "Amphi C", 9300, SalleStatus.OCCUPEE, null),
+                new Salle("IDX-S4", "Salle D", 8900, SalleStatus.LIBRE, null)));
+        salleRepository.flush();
+
+        List<SalleView> salles = salleRepository
+                .findViewsByStatusSalleAndContenanceGreaterThanEqualOrderByContenance(SalleStatus.LIBRE, 9000);
+
+        assertEquals(List.of("IDX-S2", "IDX-S1"), salles.stream().map(SalleView::getCodeSalle).toList());
+
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT code_salle FROM salles WHERE status_salle = 'LIBRE' AND contenance >= 9000",
+                String.class);
+        assertTrue(plan.toUpperCase().contains("IDX_SALLES_STATUS_CONTENANCE"), plan);
+    }
+}
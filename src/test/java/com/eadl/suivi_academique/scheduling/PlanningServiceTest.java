@@ -0,0 +1,129 @@
+package com.eadl.suivi_academique.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.eadl.suivi_academique.dto.PlanningJobDTO;
+import com.eadl.suivi_academique.dto.PlanningRequest;
+import com.eadl.suivi_academique.entities.Affectation;
+import com.eadl.suivi_academique.entities.AffectationId;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.exceptions.planningexception.InvalidPlanningException;
+import com.eadl.suivi_academique.repositories.AffectationRepository;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.services.implementation.PlanningService;
+import com.eadl.suivi_academique.utils.JobStatus;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+
+// Pas de @Transactional : le planning est calculé et enregistré sur un autre thread
+@SpringBootTest
+class PlanningServiceTest {
+
+    @Autowired
+    private PlanningService planningService;
+
+    @Autowired
+    private SalleAvailabilityIndex salleAvailabilityIndex;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private AffectationRepository affectationRepository;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    @Autowired
+    private ProgrammationConflictDetector conflictDetector;
+
+    // Données validées par le job : on les retire pour ne pas fausser les autres tests
+    @AfterEach
+    void cleanUp() {
+        for (String code : List.of("PLAN-C1", "PLAN-C2")) {
+            programmationRepository.deleteAll(programmationRepository.findByCoursCode(code));
+            affectationRepository.deleteAll(affectationRepository.findByCoursCode(code));
+            coursRepository.deleteById(code);
+        }
+        personnelRepository.deleteById("PLAN-P1");
+        salleRepository.deleteById("PLAN-S1");
+        conflictDetector.rebuild();
+        salleAvailabilityIndex.rebuild();
+    }
+
+    @Test
+    void should_generate_and_persist_a_conflict_free_semester() throws Exception {
+        salleRepository.save(new Salle("PLAN-S1", "Salle planning", 40, SalleStatus.LIBRE, null));
+        Personnel enseignant = personnelRepository.save(Personnel.builder()
+                .codePersonnel("PLAN-P1").nomPersonnel("Planning").loginPersonnel("plan.p1")
+                .passwordPersonnel("hash").sexe("F").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+        for (String code : List.of("PLAN-C1", "PLAN-C2")) {
+            Cours cours = coursRepository.save(new Cours(code, code, code, 3, 8, null, null));
+            affectationRepository.save(new Affectation(new AffectationId(code, "PLAN-P1"), enseignant, cours));
+        }
+        salleAvailabilityIndex.rebuild();
+
+        PlanningRequest request = new PlanningRequest();
+        // Une semaine, 2 créneaux de 2 h par jour : 10 créneaux pour 8 séances
+        request.setDebut(LocalDate.of(2032, 9, 6));
+        request.setFin(LocalDate.of(2032, 9, 10));
+        request.setHeureDebutJournee(8);
+        request.setHeureFinJournee(12);
+        request.setCodesCours(List.of("PLAN-C1", "PLAN-C2"));
+        request.setCodesSalles(List.of("PLAN-S1"));
+        request.setIterations(20_000L);
+        request.setSeed(11L);
+
+        PlanningJobDTO job = planningService.submit(request);
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (isRunning(job) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            job = planningService.getJob(job.getJobId());
+        }
+
+        assertEquals(JobStatus.TERMINE.name(), job.getStatut(), job.getMessage());
+        assertEquals(100, job.getProgression());
+        assertEquals(8, job.getSeances());
+        assertEquals(0L, job.getConflits());
+        assertEquals(8, job.getProgrammationsCreees());
+        assertNull(job.getMessage());
+        assertEquals(4, programmationRepository.findByCoursCode("PLAN-C1").size());
+        assertEquals(4, programmationRepository.findByCoursCode("PLAN-C2").size());
+    }
+
+    @Test
+    void should_reject_window_without_working_day() {
+        PlanningRequest request = new PlanningRequest();
+        request.setDebut(LocalDate.of(2032, 9, 11));
+        request.setFin(LocalDate.of(2032, 9, 12));
+
+        assertThrows(InvalidPlanningException.class, () -> planningService.submit(request));
+    }
+
+    private static boolean isRunning(PlanningJobDTO job) {
+        return job.getStatut().equals(JobStatus.EN_ATTENTE.name())
+                || job.getStatut().equals(JobStatus.EN_COURS.name());
+    }
+}
@@ -0,0 +1,151 @@
+package com.eadl.suivi_academique.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Programmation;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationConflictException;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+
+// Deux instances du détecteur sur la même base : deux nœuds dont les index s'ignorent
+@SpringBootTest
+class ProgrammationConflictDetectorTest {
+
+    private static final LocalDateTime HUIT_HEURES = LocalDateTime.of(2032, 2, 2, 8, 0);
+
+    @Autowired
+    private ProgrammationConflictDetector nodeA;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProgrammationConflictDetector nodeB;
+    private TransactionTemplate transaction;
+    private final ConcurrentLinkedQueue<Integer> created = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        salleRepository.save(new Salle("NODE-S", "Salle partagée", 40, SalleStatus.LIBRE, null));
+        coursRepository.save(new Cours("NODE-C", "Topologie", "Topologie", 3, 30, null, null));
+        for (String code : new String[] { "NODE-P1", "NODE-P2" }) {
+            personnelRepository.save(Personnel.builder()
+                    .codePersonnel(code).nomPersonnel(code).loginPersonnel(code.toLowerCase())
+                    .passwordPersonnel("hash").sexe("F").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+        }
+        nodeB = new ProgrammationConflictDetector(programmationRepository, salleRepository, personnelRepository);
+        nodeB.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(nodeA::releaseAfterCommit);
+        programmationRepository.deleteAllById(created);
+        salleRepository.deleteById("NODE-S");
+        coursRepository.deleteById("NODE-C");
+        personnelRepository.deleteAllById(List.of("NODE-P1", "NODE-P2"));
+    }
+
+    @Test
+    void should_reject_a_slot_booked_through_another_node() {
+        transaction.executeWithoutResult(status -> book(nodeA, "NODE-P1", 0, 2));
+
+        assertThrows(ProgrammationConflictException.class,
+                () -> transaction.executeWithoutResult(status -> book(nodeB, "NODE-P2", 1, 3)));
+        assertEquals(0, nodeB.size());
+        assertEquals(1, programmationRepository.findSlotsExcludingStatus(StatusProgrammation.NON_VALIDE).stream()
+                .filter(slot -> "NODE-S".equals(slot.codeSalle()))
+                .count());
+    }
+
+    @Test
+    void should_let_only_one_of_two_concurrent_nodes_book_the_same_room() throws Exception {
+        CyclicBarrier start = new CyclicBarrier(2);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            workers.add(CompletableFuture.runAsync(() -> bookConcurrently(nodeA, "NODE-P1", start, failures), pool));
+            workers.add(CompletableFuture.runAsync(() -> bookConcurrently(nodeB, "NODE-P2", start, failures), pool));
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, failures.size());
+        assertEquals(ProgrammationConflictException.class, failures.peek().getClass());
+        assertEquals(1, programmationRepository.findSlotsExcludingStatus(StatusProgrammation.NON_VALIDE).stream()
+                .filter(slot -> "NODE-S".equals(slot.codeSalle()))
+                .count());
+    }
+
+    private void bookConcurrently(ProgrammationConflictDetector node, String codePersonnel, CyclicBarrier start,
+            ConcurrentLinkedQueue<Throwable> failures) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                salleRepository.count();
+                await(start);
+                book(node, codePersonnel, 0, 2);
+            });
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+    }
+
+    private void book(ProgrammationConflictDetector node, String codePersonnel, int fromHour, int toHour) {
+        Programmation saved = programmationRepository.save(new Programmation(0, toHour - fromHour, HUIT_HEURES,
+                HUIT_HEURES.plusHours(fromHour), HUIT_HEURES.plusHours(toHour), StatusProgrammation.PROGAMME,
+                salleRepository.getReferenceById("NODE-S"), coursRepository.getReferenceById("NODE-C"),
+                personnelRepository.getReferenceById(codePersonnel), null));
+        created.add(saved.getCodeProgrammation());
+        node.reserve(new ProgrammationSlot(saved.getCodeProgrammation(), "NODE-S", codePersonnel,
+                saved.getDebutProgammation(), saved.getFinProgammation()));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
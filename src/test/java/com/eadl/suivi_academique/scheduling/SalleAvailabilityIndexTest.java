@@ -0,0 +1,92 @@
+package com.eadl.suivi_academique.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eadl.suivi_academique.dto.ProgrammationRequest;
+import com.eadl.suivi_academique.dto.SalleDisponibiliteDTO;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.services.implementation.ProgrammationService;
+import com.eadl.suivi_academique.services.implementation.SalleService;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+
+@SpringBootTest
+@Transactional
+class SalleAvailabilityIndexTest {
+
+    private static final LocalDateTime HUIT_HEURES = LocalDateTime.of(2031, 3, 10, 8, 0);
+
+    @Autowired
+    private SalleService salleService;
+
+    @Autowired
+    private ProgrammationService programmationService;
+
+    @Autowired
+    private SalleAvailabilityIndex salleAvailabilityIndex;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @BeforeEach
+    void setUp() {
+        salleRepository.save(new Salle("DISPO-S30", "Petite", 30, SalleStatus.LIBRE, null));
+        salleRepository.save(new Salle("DISPO-S80", "Amphi", 80, SalleStatus.LIBRE, null));
+        salleRepository.save(new Salle("DISPO-S50", "Moyenne", 50, SalleStatus.LIBRE, null));
+        salleRepository.save(new Salle("DISPO-S20", "Bureau", 20, SalleStatus.LIBRE, null));
+        salleRepository.save(new Salle("DISPO-F", "Fermée", 100, SalleStatus.FERMEE, null));
+        coursRepository.save(new Cours("DISPO-C", "Analyse", "Analyse", 3, 30, null, null));
+        personnelRepository.save(Personnel.builder()
+                .codePersonnel("DISPO-P").nomPersonnel("Dispo").loginPersonnel("dispo.p")
+                .passwordPersonnel("hash").sexe("M").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+        salleAvailabilityIndex.rebuild();
+
+        // DISPO-S30 occupée de 8h à 10h
+        programmationService.createProgrammation(new ProgrammationRequest(0, 2,
+                HUIT_HEURES, HUIT_HEURES, HUIT_HEURES.plusHours(2),
+                "PROGAMME", "DISPO-S30", "DISPO-C", "DISPO-P", "DISPO-P"));
+    }
+
+    @Test
+    void should_rank_free_rooms_by_capacity_and_skip_booked_or_closed_ones() {
+        List<SalleDisponibiliteDTO> salles = salleService.findAvailableSalles(
+                HUIT_HEURES, HUIT_HEURES.plusHours(4), 25, null, null);
+
+        assertEquals(List.of("DISPO-S50", "DISPO-S80"), codes(salles));
+    }
+
+    @Test
+    void should_return_first_gap_long_enough_for_the_requested_duration() {
+        List<SalleDisponibiliteDTO> salles = salleService.findAvailableSalles(
+                HUIT_HEURES, HUIT_HEURES.plusHours(4), 25, 120, null);
+
+        assertEquals(List.of("DISPO-S30", "DISPO-S50", "DISPO-S80"), codes(salles));
+        assertEquals(HUIT_HEURES.plusHours(2), salles.get(0).getDebutLibre());
+        assertEquals(HUIT_HEURES.plusHours(4), salles.get(0).getFinLibre());
+    }
+
+    private static List<String> codes(List<SalleDisponibiliteDTO> salles) {
+        // Le contexte est partagé : d'autres tests ont pu créer des salles
+        return salles.stream().map(SalleDisponibiliteDTO::getCodeSalle).filter(code -> code.startsWith("DISPO-")).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.eadl.suivi_academique.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TimetableSolverTest {
+
+    // Une semaine de 5 jours, 4 créneaux par jour
+    private static final int SLOTS_PER_DAY = 4;
+    private static final int DAYS = 5;
+    private static final int SLOTS = SLOTS_PER_DAY * DAYS;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void should_find_conflict_free_timetable_respecting_existing_bookings() {
+        // 4 cours de 5 séances ; l'enseignant 0 assure les cours 0 et 1 (10 séances)
+        int[] sessionCours = new int[20];
+        int[] sessionTeacher = new int[20];
+        for (int s = 0; s < 20; s++) {
+            sessionCours[s] = s / 5;
+            sessionTeacher[s] = s < 10 ? 0 : s / 5 - 1;
+        }
+        BitSet roomBlocked = new BitSet();
+        BitSet teacherBlocked = new BitSet();
+        // Salle 0 déjà prise le lundi matin, enseignant 0 indisponible le mardi matin
+        roomBlocked.set(0, 2);
+        teacherBlocked.set(SLOTS_PER_DAY, SLOTS_PER_DAY + 2);
+
+        TimetableSolver.Problem problem = new TimetableSolver.Problem(SLOTS_PER_DAY, DAYS, new int[] { 30, 60 },
+                sessionCours, sessionTeacher, 4, 3, roomBlocked, teacherBlocked, 25);
+        AtomicLong progress = new AtomicLong();
+
+        TimetableSolver.Solution solution = TimetableSolver.solve(problem, 2, 50_000, 7L, pool, progress);
+
+        assertEquals(0, solution.hardViolations());
+        assertEquals(100_000, progress.get());
+        Set<Integer> roomSlots = new HashSet<>();
+        Set<Integer> teacherSlots = new HashSet<>();
+        for (int s = 0; s < problem.sessions(); s++) {
+            int slot = solution.slot()[s];
+            int room = solution.room()[s];
+            assertTrue(roomSlots.add(room * SLOTS + slot), "salle réservée deux fois");
+            assertTrue(teacherSlots.add(sessionTeacher[s] * SLOTS + slot), "enseignant réservé deux fois");
+            assertFalse(roomBlocked.get(room * SLOTS + slot));
+            assertFalse(teacherBlocked.get(sessionTeacher[s] * SLOTS + slot));
+        }
+        // Cinq séances sur cinq jours : chaque cours est réparti sur toute la semaine
+        Set<Integer> coursDays = new HashSet<>();
+        for (int s = 0; s < problem.sessions(); s++) {
+            assertTrue(coursDays.add(sessionCours[s] * DAYS + solution.slot()[s] / SLOTS_PER_DAY), "cours doublé dans la journée");
+        }
+    }
+
+    @Test
+    void should_report_conflicts_when_no_timetable_fits() {
+        // 25 séances du même enseignant pour 20 créneaux
+        TimetableSolver.Problem problem = new TimetableSolver.Problem(SLOTS_PER_DAY, DAYS, new int[] { 30 },
+                new int[25], new int[25], 1, 1, new BitSet(), new BitSet(), 0);
+
+        TimetableSolver.Solution solution = TimetableSolver.solve(problem, 2, 10_000, 1L, pool, new AtomicLong());
+
+        assertEquals(5, solution.hardViolations() / 2);
+    }
+}
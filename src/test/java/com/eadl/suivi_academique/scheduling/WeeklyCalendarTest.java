@@ -0,0 +1,167 @@
+package com.eadl.suivi_academique.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eadl.suivi_academique.dto.AuthResponse;
+import com.eadl.suivi_academique.dto.ProgrammationRequest;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.dto.WeekCalendarDTO;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.services.implementation.CalendarService;
+import com.eadl.suivi_academique.services.implementation.ProgrammationService;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Pas de @Transactional : le calendrier n'est mis à jour qu'après validation des transactions
+@SpringBootTest
+@AutoConfigureMockMvc
+class WeeklyCalendarTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private WeeklyCalendar weeklyCalendar;
+
+    @Autowired
+    private ProgrammationService programmationService;
+
+    @Autowired
+    private ProgrammationConflictDetector conflictDetector;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    private List<Integer> codes;
+
+    @BeforeEach
+    void setUp() {
+        salleRepository.save(new Salle("CAL-S1", "Salle calendrier", 40, SalleStatus.LIBRE, null));
+        coursRepository.save(new Cours("CAL-C1", "Topologie", "Topologie", 3, 30, null, null));
+        for (String code : List.of("CAL-P1", "CAL-V1")) {
+            personnelRepository.save(Personnel.builder()
+                    .codePersonnel(code).nomPersonnel(code).loginPersonnel(code.toLowerCase())
+                    .passwordPersonnel("hash").sexe("F").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+        }
+        // Semaine 2030-W02 : lundi 7 janvier à 8 h et 10 h ; semaine 2030-W03 : lundi 14 janvier à 8 h
+        codes = programmationService.createProgrammations(List.of(
+                        request(LocalDateTime.of(2030, 1, 7, 10, 0)),
+                        request(LocalDateTime.of(2030, 1, 7, 8, 0)),
+                        request(LocalDateTime.of(2030, 1, 14, 8, 0))))
+                .stream().map(ProgrammationSummary::getCodeProgrammation).toList();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        programmationRepository.deleteAllById(codes);
+        coursRepository.deleteById("CAL-C1");
+        salleRepository.deleteById("CAL-S1");
+        personnelRepository.deleteAllById(List.of("CAL-P1", "CAL-V1"));
+        conflictDetector.rebuild();
+        weeklyCalendar.rebuild();
+    }
+
+    @Test
+    void should_follow_moves_and_deletions_week_by_week() {
+        WeekCalendarDTO week2 = calendarService.getPersonnelWeek("CAL-P1", "2030-W02");
+        assertEquals(List.of(codes.get(1), codes.get(0)), codesOf(week2));
+        assertEquals(codesOf(week2), codesOf(calendarService.getSalleWeek("CAL-S1", "2030-W02")));
+
+        // Déplacée en semaine 3 : quitte la semaine 2 et change sa version
+        programmationService.updateProgrammation(codes.get(0), request(LocalDateTime.of(2030, 1, 15, 8, 0)));
+        WeekCalendarDTO moved = calendarService.getPersonnelWeek("CAL-P1", "2030-W02");
+        assertEquals(List.of(codes.get(1)), codesOf(moved));
+        assertNotEquals(week2.getVersion(), moved.getVersion());
+        assertEquals(List.of(codes.get(2), codes.get(0)), codesOf(calendarService.getPersonnelWeek("CAL-P1", "2030-W03")));
+
+        programmationService.deleteProgrammation(codes.get(2));
+        assertEquals(List.of(codes.get(0)), codesOf(calendarService.getSalleWeek("CAL-S1", "2030-W03")));
+
+        // Reconstruction parallèle : même contenu que la mise à jour incrémentale
+        weeklyCalendar.rebuild();
+        assertEquals(List.of(codes.get(1)), codesOf(calendarService.getPersonnelWeek("CAL-P1", "2030-W02")));
+        assertEquals(List.of(codes.get(0)), codesOf(calendarService.getSalleWeek("CAL-S1", "2030-W03")));
+    }
+
+    @Test
+    void should_answer_not_modified_until_the_week_changes() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "nomPersonnel", "Calendrier", "loginPersonnel", "cal." + System.nanoTime(),
+                                "passwordPersonnel", "motdepasse", "sexe", "M", "rolePersonnel", "ENSEIGNANT"))))
+                .andReturn().getResponse().getContentAsString();
+        String token = "Bearer " + objectMapper.readValue(body, AuthResponse.class).getToken();
+
+        String etag = mockMvc.perform(get("/programmations/calendrier/salles/CAL-S1").param("semaine", "2030-W02")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.debut").value("2030-01-07"))
+                .andExpect(jsonPath("$.seances.length()").value(2))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/programmations/calendrier/salles/CAL-S1").param("semaine", "2030-W02")
+                        .header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        programmationService.deleteProgrammation(codes.get(1));
+
+        mockMvc.perform(get("/programmations/calendrier/salles/CAL-S1").param("semaine", "2030-W02")
+                        .header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seances.length()").value(1))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    private static List<Integer> codesOf(WeekCalendarDTO week) {
+        return week.getSeances().stream().map(ProgrammationSummary::getCodeProgrammation).toList();
+    }
+
+    private static ProgrammationRequest request(LocalDateTime debut) {
+        return new ProgrammationRequest(0, 2, null, debut, debut.plusHours(2),
+                "PROGAMME", "CAL-S1", "CAL-C1", "CAL-P1", "CAL-V1");
+    }
+}
@@ -0,0 +1,71 @@
+package com.eadl.suivi_academique.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.eadl.suivi_academique.dto.CoursDTO;
+import com.eadl.suivi_academique.dto.PageResponse;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+
+class CoursSearchIndexTest {
+
+    private final CoursRepository coursRepository = mock(CoursRepository.class);
+    private final CoursSearchIndex index = new CoursSearchIndex(coursRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(coursRepository.findAll()).thenReturn(List.of(
+                cours("INF101", "Algèbre linéaire", "Espaces vectoriels, matrices et déterminants"),
+                cours("INF102", "Analyse numérique", "Méthodes numériques : résolution de systèmes linéaires"),
+                cours("INF103", "Bases de données", "Modèle relationnel, algèbre relationnelle et SQL"),
+                cours("INF104", "Réseaux", "Protocoles et architecture des réseaux")));
+        index.rebuild();
+    }
+
+    @Test
+    void should_rank_title_matches_before_description_matches_ignoring_accents() {
+        PageResponse<CoursDTO> result = index.search("ALGEBRE", 0, 10);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of("INF101", "INF103"), codes(result));
+        assertEquals(List.of("INF102"), codes(index.search("resolution systemes", 0, 10)));
+    }
+
+    @Test
+    void should_complete_the_last_word_and_require_every_term() {
+        assertEquals(List.of("INF101", "INF102"), codes(index.search("linéai", 0, 10)));
+        assertEquals(List.of("INF102"), codes(index.search("numerique lin", 0, 10)));
+        // Seul le dernier terme est un préfixe
+        assertEquals(0, index.search("algeb lineaire", 0, 10).getTotalElements());
+
+        PageResponse<CoursDTO> secondPage = index.search("a", 1, 2);
+        assertEquals(4, secondPage.getTotalElements());
+        assertEquals(2, secondPage.getTotalPages());
+        assertEquals(2, secondPage.getContent().size());
+    }
+
+    @Test
+    void should_reflect_updates_and_removals() {
+        index.indexAfterCommit(cours("INF104", "Algèbre", "Codes correcteurs"));
+        index.removeAfterCommit("INF103");
+
+        // Même fréquence dans le titre : le cours le plus court l'emporte
+        assertEquals(List.of("INF104", "INF101"), codes(index.search("algebre", 0, 10)));
+        assertEquals(0, index.search("protocoles", 0, 10).getTotalElements());
+    }
+
+    private static List<String> codes(PageResponse<CoursDTO> result) {
+        return result.getContent().stream().map(CoursDTO::getCodeCours).toList();
+    }
+
+    private static Cours cours(String code, String label, String description) {
+        return new Cours(code, label, description, 3, 30, null, null);
+    }
+}
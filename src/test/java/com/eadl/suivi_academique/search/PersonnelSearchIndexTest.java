@@ -0,0 +1,91 @@
+package com.eadl.suivi_academique.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.eadl.suivi_academique.dto.PageResponse;
+import com.eadl.suivi_academique.dto.PersonnelDTO;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+
+class PersonnelSearchIndexTest {
+
+    private final PersonnelRepository personnelRepository = mock(PersonnelRepository.class);
+    private final PersonnelSearchIndex index = new PersonnelSearchIndex(personnelRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(personnelRepository.findAll()).thenReturn(List.of(
+                personnel("ENS1", "Hélène Dupont", "hdupont"),
+                personnel("ENS2", "Jean Dupontel", "jdupontel"),
+                personnel("ENS3", "Marc Ledupont", "mledupont"),
+                personnel("ENS4", "Jeanne Martin", "jmartin")));
+        index.rebuild();
+    }
+
+    @Test
+    void should_rank_exact_word_then_prefix_then_substring_ignoring_accents() {
+        PageResponse<PersonnelDTO> result = index.search("DUPONT", 0, 10);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(List.of("ENS1", "ENS2", "ENS3"),
+                result.getContent().stream().map(PersonnelDTO::getCodePersonnel).toList());
+        assertEquals("ENS1", index.search("helene", 0, 10).getContent().get(0).getCodePersonnel());
+    }
+
+    @Test
+    void should_match_every_term_and_paginate() {
+        assertEquals(List.of("ENS2"), index.search("jean dup", 0, 10).getContent().stream()
+                .map(PersonnelDTO::getCodePersonnel).toList());
+
+        PageResponse<PersonnelDTO> secondPage = index.search("j", 1, 1);
+        assertEquals(2, secondPage.getTotalElements());
+        assertEquals(2, secondPage.getTotalPages());
+        assertEquals("ENS4", secondPage.getContent().get(0).getCodePersonnel());
+    }
+
+    @Test
+    void should_reflect_updates_and_removals() {
+        index.indexAfterCommit(personnel("ENS4", "Jeanne Dupont", "jmartin"));
+        index.removeAfterCommit("ENS1");
+
+        assertEquals(List.of("ENS4", "ENS2", "ENS3"), index.search("dupont", 0, 10).getContent().stream()
+                .map(PersonnelDTO::getCodePersonnel).toList());
+        assertEquals(0, index.search("martin jeanne x", 0, 10).getTotalElements());
+    }
+
+    @Test
+    void should_keep_updates_committed_while_rebuilding() {
+        // La liste rechargée ne voit pas les écritures validées pendant le chargement
+        when(personnelRepository.findAll()).thenAnswer(invocation -> {
+            index.indexAfterCommit(personnel("ENS5", "Paul Dupontier", "pdupontier"));
+            index.removeAfterCommit("ENS2");
+            return List.of(
+                    personnel("ENS1", "Hélène Dupont", "hdupont"),
+                    personnel("ENS2", "Jean Dupontel", "jdupontel"));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of("ENS1", "ENS5"), index.search("dupont", 0, 10).getContent().stream()
+                .map(PersonnelDTO::getCodePersonnel).toList());
+    }
+
+    private static Personnel personnel(String code, String nom, String login) {
+        return Personnel.builder()
+                .codePersonnel(code)
+                .nomPersonnel(nom)
+                .loginPersonnel(login)
+                .passwordPersonnel("hash")
+                .sexe("F")
+                .rolePersonnel(RolePersonnel.ENSEIGNANT)
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eadl.suivi_academique.dto.AffectationSummary;
+import com.eadl.suivi_academique.dto.AffectationWorkload;
+import com.eadl.suivi_academique.entities.Affectation;
+import com.eadl.suivi_academique.entities.AffectationId;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.repositories.AffectationRepository;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.services.implementation.AffectationService;
+import com.eadl.suivi_academique.support.SqlStatementCounter;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+@Import(SqlStatementCounter.class)
+class AffectationWorkloadTest {
+
+    @Autowired
+    private AffectationService affectationService;
+
+    @Autowired
+    private AffectationRepository affectationRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @BeforeEach
+    void setUp() {
+        Personnel p1 = personnel("CHG-P1");
+        Personnel p2 = personnel("CHG-P2");
+        personnel("CHG-P3");
+        Cours c1 = coursRepository.save(new Cours("CHG-C1", "Optique", "Optique", 3, 30, null, null));
+        Cours c2 = coursRepository.save(new Cours("CHG-C2", "Mécanique", "Mécanique", 6, 45, null, null));
+        affectationRepository.save(new Affectation(new AffectationId("CHG-C1", "CHG-P1"), p1, c1));
+        affectationRepository.save(new Affectation(new AffectationId("CHG-C2", "CHG-P1"), p1, c2));
+        affectationRepository.save(new Affectation(new AffectationId("CHG-C2", "CHG-P2"), p2, c2));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void should_compute_every_teacher_workload_in_two_queries() {
+        sqlStatementCounter.reset();
+
+        List<AffectationWorkload> charges = affectationService.getPersonnelWorkloads(
+                List.of("CHG-P1", "CHG-P2", "CHG-P3", "CHG-P1", "INCONNU"));
+
+        assertEquals(2, sqlStatementCounter.count());
+        assertEquals(List.of("CHG-P1", "CHG-P2", "CHG-P3"), charges.stream().map(AffectationWorkload::getCode).toList());
+        AffectationWorkload p1 = charges.get(0);
+        assertEquals(2, p1.getNbAffectations());
+        assertEquals(75, p1.getTotalHeures());
+        assertEquals(9, p1.getTotalCredits());
+        assertEquals(List.of("CHG-C1", "CHG-C2"), p1.getAffectations().stream()
+                .map(AffectationSummary::getCodeCours).toList());
+        // Enseignant sans affectation : charge nulle
+        assertEquals(0, charges.get(2).getNbAffectations());
+        assertEquals(0, charges.get(2).getTotalHeures());
+    }
+
+    @Test
+    void should_compute_course_staffing_and_bound_the_number_of_codes() {
+        List<AffectationWorkload> effectifs = affectationService.getCoursWorkloads(List.of("CHG-C1", "CHG-C2"));
+
+        AffectationWorkload c2 = effectifs.get(1);
+        assertEquals("Mécanique", c2.getLibelle());
+        assertEquals(2, c2.getNbAffectations());
+        assertEquals(45, c2.getTotalHeures());
+        assertEquals(6, c2.getTotalCredits());
+        assertEquals(List.of("CHG-P1", "CHG-P2"), c2.getAffectations().stream()
+                .map(AffectationSummary::getCodePersonnel).toList());
+
+        assertEquals(30, effectifs.get(0).getTotalHeures());
+
+        List<String> tooMany = IntStream.rangeClosed(0, 500).mapToObj(i -> "C" + i).toList();
+        assertThrows(IllegalArgumentException.class, () -> affectationService.getCoursWorkloads(tooMany));
+        assertThrows(IllegalArgumentException.class, () -> affectationService.getCoursWorkloads(List.of()));
+    }
+
+    @Test
+    void should_count_course_hours_once_whatever_the_number_of_teachers() {
+        Cours c3 = coursRepository.save(new Cours("CHG-C3", "Analyse", "Analyse", 4, 40, null, null));
+        for (String code : List.of("CHG-P1", "CHG-P2", "CHG-P3")) {
+            affectationRepository.save(new Affectation(new AffectationId("CHG-C3", code),
+                    personnelRepository.getReferenceById(code), c3));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        AffectationWorkload effectif = affectationService.getCoursWorkloads(List.of("CHG-C3")).get(0);
+
+        assertEquals(3, effectif.getNbAffectations());
+        assertEquals(40, effectif.getTotalHeures());
+        assertEquals(4, effectif.getTotalCredits());
+        assertEquals(3, effectif.getAffectations().size());
+    }
+
+        private Personnel personnel(String code) {
+        return personnelRepository.save(Personnel.builder()
+                .codePersonnel(code).nomPersonnel(code).loginPersonnel(code.toLowerCase())
+                .passwordPersonnel("hash").sexe("M").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+    }
+}
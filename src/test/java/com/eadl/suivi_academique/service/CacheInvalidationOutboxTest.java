@@ -0,0 +1,277 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eadl.suivi_academique.cache.OutboxCacheInvalidationBus;
+import com.eadl.suivi_academique.config.PersonnelDetailsService;
+import com.eadl.suivi_academique.config.TokenRevocationRegistry;
+import com.eadl.suivi_academique.dto.AuthResponse;
+import com.eadl.suivi_academique.dto.AffectationDTO;
+import com.eadl.suivi_academique.dto.CoursDTO;
+import com.eadl.suivi_academique.dto.PersonnelDTO;
+import com.eadl.suivi_academique.dto.SalleDTO;
+import com.eadl.suivi_academique.entities.AffectationId;
+import com.eadl.suivi_academique.entities.CacheInvalidation;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.AffectationRepository;
+import com.eadl.suivi_academique.repositories.CacheInvalidationRepository;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.repositories.TokenRevocationRepository;
+import com.eadl.suivi_academique.scheduling.ProgrammationConflictDetector;
+import com.eadl.suivi_academique.scheduling.WeeklyCalendar;
+import com.eadl.suivi_academique.services.implementation.AffectationService;
+import com.eadl.suivi_academique.services.implementation.AuthentificationService;
+import com.eadl.suivi_academique.services.implementation.CoursService;
+import com.eadl.suivi_academique.services.implementation.SalleService;
+import com.eadl.suivi_academique.utils.CachedEntity;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+
+// Un autre nœud est simulé : écriture SQL directe, hors des caches, puis ligne d'outbox d'une autre origine.
+// Lecture périodique espacée : poll() est appelé explicitement
+@SpringBootTest(properties = {
+    "cache.invalidation.mode=outbox",
+    "cache.invalidation.node-id=noeud-test",
+    "cache.invalidation.poll-interval=1h"
+})
+class CacheInvalidationOutboxTest {
+
+    @Autowired
+    private OutboxCacheInvalidationBus bus;
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private CoursService coursService;
+
+    @Autowired
+    private SalleService salleService;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private AffectationService affectationService;
+
+    @Autowired
+    private AffectationRepository affectationRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AuthentificationService authentificationService;
+
+    @Autowired
+    private PersonnelDetailsService personnelDetailsService;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private ProgrammationConflictDetector conflictDetector;
+
+    @Autowired
+    private WeeklyCalendar weeklyCalendar;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void should_record_local_writes_in_the_outbox() {
+        coursService.createCours(new CoursDTO("OUTBOX-C1", "Optique", "Optique", 2, 20));
+
+        List<CacheInvalidation> rows = cacheInvalidationRepository.findAll();
+        assertTrue(rows.stream().anyMatch(row -> row.getEntityType() == CachedEntity.COURS
+                && "OUTBOX-C1".equals(row.getEntityKey()) && "noeud-test".equals(row.getOrigin())));
+    }
+
+    @Test
+    void should_record_registrations_and_password_upgrades_in_the_outbox() {
+        authentificationService.register(new PersonnelDTO(null, "Marie Curie", "outbox.register",
+                "motdepasse", "F", "ENSEIGNANT"));
+        Personnel personnel = personnelRepository.findByLoginPersonnel("outbox.register").orElseThrow();
+        assertEquals(1, outboxRows(CachedEntity.PERSONNEL, personnel.getCodePersonnel()));
+
+        personnelDetailsService.updatePassword(personnel, "nouveau-hachage");
+
+        assertEquals(2, outboxRows(CachedEntity.PERSONNEL, personnel.getCodePersonnel()));
+    }
+
+    @Test
+    void should_refresh_caches_after_a_remote_update() {
+        coursService.createCours(new CoursDTO("OUTBOX-C2", "Mécanique", "Mécanique", 6, 60));
+        salleService.createSalle(new SalleDTO("OUTBOX-S1", "Amphi", 300, "LIBRE"));
+        bus.poll();
+        // Mis en cache (catalogue et cache de second niveau) avant la modification distante
+        assertEquals("Mécanique", coursService.getCoursByCode("OUTBOX-C2").getLabelCours());
+        assertEquals(300, salleRepository.findById("OUTBOX-S1").orElseThrow().getContenance());
+
+        jdbcTemplate.update("UPDATE cours SET label_cours = 'Thermodynamique' WHERE code_cours = 'OUTBOX-C2'");
+        jdbcTemplate.update("UPDATE salles SET contenance = 120 WHERE code_salle = 'OUTBOX-S1'");
+        remoteInvalidation(CachedEntity.COURS, "OUTBOX-C2");
+        remoteInvalidation(CachedEntity.SALLE, "OUTBOX-S1");
+        assertEquals("Mécanique", coursService.getCoursByCode("OUTBOX-C2").getLabelCours());
+
+        bus.poll();
+
+        assertEquals("Thermodynamique", coursService.getCoursByCode("OUTBOX-C2").getLabelCours());
+        assertEquals(List.of("OUTBOX-C2"), coursService.searchCours("thermodynamique", 0, 10).getContent().stream()
+                .map(CoursDTO::getCodeCours).toList());
+        assertEquals(120, salleRepository.findById("OUTBOX-S1").orElseThrow().getContenance());
+    }
+
+    @Test
+    void should_apply_a_late_committed_row_below_the_last_read_id() {
+        coursService.createCours(new CoursDTO("OUTBOX-C3", "Optique", "Optique", 2, 20));
+        coursService.getCoursByCode("OUTBOX-C3");
+        bus.poll();
+
+        // Identifiant attribué avant le dernier lu, ligne visible seulement maintenant
+        jdbcTemplate.update("UPDATE cours SET label_cours = 'Optique ondulatoire' WHERE code_cours = 'OUTBOX-C3'");
+        long lateId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cache_invalidation", Long.class) - 1;
+        jdbcTemplate.update("INSERT INTO cache_invalidation (id, entity_type, entity_key, origin, created_at) "
+                + "VALUES (?, 'COURS', 'OUTBOX-C3', 'autre-noeud', ?)", lateId, LocalDateTime.now());
+
+        bus.poll();
+
+        assertEquals("Optique ondulatoire", coursService.getCoursByCode("OUTBOX-C3").getLabelCours());
+    }
+
+    @Test
+    void should_evict_cached_cours_affectations_after_a_remote_assignment() {
+        coursService.createCours(new CoursDTO("OUTBOX-C4", "Analyse", "Analyse", 4, 40));
+        for (String code : new String[] { "OUTBOX-P1", "OUTBOX-P2" }) {
+            personnelRepository.save(Personnel.builder()
+                    .codePersonnel(code).nomPersonnel(code).loginPersonnel(code.toLowerCase())
+                    .passwordPersonnel("hash").sexe("F").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+        }
+        affectationService.create(new AffectationDTO("OUTBOX-P1", "OUTBOX-C4", null, null));
+        bus.poll();
+        // Collection Cours.affectations et affectation mises en cache avant la modification distante
+        assertEquals(List.of("OUTBOX-P1"), personnelsOf("OUTBOX-C4"));
+        assertTrue(affectationRepository.findById(new AffectationId("OUTBOX-C4", "OUTBOX-P1")).isPresent());
+
+        jdbcTemplate.update("INSERT INTO affectation (code_cours, code_personnel) VALUES ('OUTBOX-C4', 'OUTBOX-P2')");
+        jdbcTemplate.update("DELETE FROM affectation WHERE code_cours = 'OUTBOX-C4' AND code_personnel = 'OUTBOX-P1'");
+        remoteInvalidation(CachedEntity.AFFECTATION, new AffectationId("OUTBOX-C4", "OUTBOX-P2").toKey());
+        remoteInvalidation(CachedEntity.AFFECTATION, new AffectationId("OUTBOX-C4", "OUTBOX-P1").toKey());
+        assertEquals(List.of("OUTBOX-P1"), personnelsOf("OUTBOX-C4"));
+        assertTrue(affectationRepository.findById(new AffectationId("OUTBOX-C4", "OUTBOX-P1")).isPresent());
+
+        bus.poll();
+
+        assertEquals(List.of("OUTBOX-P2"), personnelsOf("OUTBOX-C4"));
+        assertTrue(affectationRepository.findById(new AffectationId("OUTBOX-C4", "OUTBOX-P1")).isEmpty());
+    }
+
+    @Test
+    void should_apply_token_revocations_made_on_another_node() {
+        AuthResponse auth = authentificationService.register(new PersonnelDTO(null, "Jean Dupont", "outbox.logout",
+                "motdepasse", "M", "ENSEIGNANT"));
+        authentificationService.logout(auth.getToken());
+        assertTrue(cacheInvalidationRepository.findAll().stream()
+                .anyMatch(row -> row.getEntityType() == CachedEntity.TOKEN_REVOCATION
+                        && "outbox.logout".equals(row.getEntityKey())));
+
+        // Autre nœud : son propre registre écrit en base, celui de ce nœud n'en sait rien
+        TokenRevocationRegistry otherNode = new TokenRevocationRegistry(tokenRevocationRepository);
+        ReflectionTestUtils.setField(otherNode, "jwtExpiration", 86_400_000L);
+        Date issuedAt = new Date(System.currentTimeMillis() - 60_000);
+        otherNode.revokeTokensOf("distant.login");
+        otherNode.revokeToken("distant.token", "empreinte-distante", new Date(System.currentTimeMillis() + 60_000));
+        remoteInvalidation(CachedEntity.TOKEN_REVOCATION, "distant.login");
+        remoteInvalidation(CachedEntity.TOKEN_REVOCATION, "distant.token");
+        assertFalse(tokenRevocationRegistry.isRevoked("distant.login", issuedAt));
+        assertFalse(tokenRevocationRegistry.isTokenRevoked("empreinte-distante"));
+
+        bus.poll();
+
+        assertTrue(tokenRevocationRegistry.isRevoked("distant.login", issuedAt));
+        assertTrue(tokenRevocationRegistry.isTokenRevoked("empreinte-distante"));
+    }
+
+    @Test
+    void should_publish_a_programmation_chunk_in_one_row_and_refresh_it_remotely() {
+        salleRepository.save(new Salle("OUTBOX-S2", "Salle", 40, SalleStatus.LIBRE, null));
+        coursRepository.save(new Cours("OUTBOX-C5", "Algèbre", "Algèbre", 3, 30, null, null));
+        personnelRepository.save(Personnel.builder()
+                .codePersonnel("OUTBOX-P3").nomPersonnel("OUTBOX-P3").loginPersonnel("outbox-p3")
+                .passwordPersonnel("hash").sexe("F").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+        bus.poll();
+
+        // Tranche écrite par un autre nœud : lignes en SQL direct, puis une seule publication
+        LocalDateTime lundi = LocalDateTime.of(2034, 1, 2, 8, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime debut = lundi.plusDays(i);
+            rows.add(new Object[] { 900_000 + i, debut, debut, debut.plusHours(2) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO programmation (code_programmation, nb_heure_progammation, "
+                + "date_progammation, debut_progammation, fin_progammation, status_programmation, "
+                + "code_salle, code_cours, code_personnel_prog) VALUES (?, 2, ?, ?, ?, 'PROGAMME', 'OUTBOX-S2', 'OUTBOX-C5', 'OUTBOX-P3')",
+                rows);
+        long before = cacheInvalidationRepository.count();
+        transactionTemplate.executeWithoutResult(status -> bus.publishEach(CachedEntity.PROGRAMMATION,
+                rows.stream().map(row -> String.valueOf(row[0])).toList()));
+        assertEquals(before + 1, cacheInvalidationRepository.count());
+        jdbcTemplate.update("UPDATE cache_invalidation SET origin = 'autre-noeud' WHERE id = ?",
+                cacheInvalidationRepository.findMaxId());
+        assertTrue(weeklyCalendar.salleWeek("OUTBOX-S2", 2034, 1).seances().isEmpty());
+
+        bus.poll();
+
+        assertEquals(7, weeklyCalendar.salleWeek("OUTBOX-S2", 2034, 1).seances().size());
+        assertEquals(300, conflictDetector.salleBookings("OUTBOX-S2", Long.MIN_VALUE, Long.MAX_VALUE).size());
+    }
+
+    private List<String> personnelsOf(String codeCours) {
+        return transactionTemplate.execute(status -> coursRepository.findById(codeCours).orElseThrow()
+                .getAffectations().stream()
+                .map(affectation -> affectation.getCodeAffectation().getCodePersonnel())
+                .toList());
+    }
+
+    private long outboxRows(CachedEntity entity, String key) {
+        return cacheInvalidationRepository.findAll().stream()
+                .filter(row -> row.getEntityType() == entity && key.equals(row.getEntityKey()))
+                .count();
+    }
+
+    private void remoteInvalidation(CachedEntity entity, String key) {
+        cacheInvalidationRepository.save(CacheInvalidation.builder()
+                .entityType(entity)
+                .entityKey(key)
+                .origin("autre-noeud")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.eadl.suivi_academique.dto.CoursDTO;
+import com.eadl.suivi_academique.exceptions.coursexception.CoursNotFoundException;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.services.implementation.CoursService;
+import com.eadl.suivi_academique.support.SqlStatementCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Pas de @Transactional : le cache n'est vidé qu'après validation des écritures
+@SpringBootTest
+@Import(SqlStatementCounter.class)
+class CoursCatalogCacheTest {
+
+    private static final List<String> CODES = List.of("CACHE-C1", "CACHE-C2", "CACHE-C3");
+
+    @Autowired
+    private CoursService coursService;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        coursService.createCours(new CoursDTO("CACHE-C1", "Optique", "Optique", 2, 20));
+        coursService.createCours(new CoursDTO("CACHE-C2", "Mécanique", "Mécanique", 6, 60));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        CODES.stream().filter(coursRepository::existsById).forEach(coursService::deleteCours);
+    }
+
+    @Test
+    void should_serve_repeated_reads_from_cache_until_an_update() {
+        coursService.getCoursByCode("CACHE-C1");
+        sqlStatementCounter.reset();
+
+        assertEquals("Optique", coursService.getCoursByCode("CACHE-C1").getLabelCours());
+        assertEquals(0, sqlStatementCounter.count());
+
+        coursService.updateCours("CACHE-C1", new CoursDTO("CACHE-C1", "Optique ondulatoire", "Optique", 2, 20));
+        assertEquals("Optique ondulatoire", coursService.getCoursByCode("CACHE-C1").getLabelCours());
+
+        coursService.deleteCours("CACHE-C1");
+        assertThrows(CoursNotFoundException.class, () -> coursService.getCoursByCode("CACHE-C1"));
+        assertTrue(meterRegistry.get("cache.hit.ratio").tag("cache", "cours.par-code").gauge().value() > 0);
+    }
+
+    @Test
+    void should_answer_threshold_filters_from_the_sorted_index() {
+        assertEquals(List.of("CACHE-C1", "CACHE-C2"), codes(coursService.getCoursByMinCredit(2)));
+        sqlStatementCounter.reset();
+
+        assertEquals(List.of("CACHE-C2"), codes(coursService.getCoursByMinCredit(3)));
+        assertEquals(List.of("CACHE-C2"), codes(coursService.getCoursByMinHeures(21)));
+        assertEquals(0, sqlStatementCounter.count());
+
+        // Nouveau cours : le catalogue est rechargé une fois la création validée
+        coursService.createCours(new CoursDTO("CACHE-C3", "Thermodynamique", "Thermodynamique", 4, 40));
+        assertEquals(List.of("CACHE-C3", "CACHE-C2"), codes(coursService.getCoursByMinCredit(3)));
+        assertEquals(List.of("CACHE-C3", "CACHE-C2"), codes(coursService.getCoursByMinHeures(21)));
+    }
+
+    private static List<String> codes(List<CoursDTO> cours) {
+        // Le contexte est partagé : d'autres tests ont pu créer des cours
+        return cours.stream().map(CoursDTO::getCodeCours).filter(CODES::contains).toList();
+    }
+}
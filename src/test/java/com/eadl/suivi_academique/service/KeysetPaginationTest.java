@@ -0,0 +1,91 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eadl.suivi_academique.dto.AffectationDTO;
+import com.eadl.suivi_academique.dto.CursorPage;
+import com.eadl.suivi_academique.entities.Affectation;
+import com.eadl.suivi_academique.entities.AffectationId;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.exceptions.paginationexception.InvalidCursorException;
+import com.eadl.suivi_academique.repositories.AffectationRepository;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.services.implementation.AffectationService;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+
+@SpringBootTest
+@Transactional
+class KeysetPaginationTest {
+
+    @Autowired
+    private AffectationService affectationService;
+
+    @Autowired
+    private AffectationRepository affectationRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Test
+    void should_walk_composite_keys_page_by_page_without_gaps_or_duplicates() {
+        List<Personnel> personnels = new ArrayList<>();
+        for (String code : List.of("PAG-P1", "PAG-P2")) {
+            personnels.add(personnelRepository.save(Personnel.builder()
+                    .codePersonnel(code).nomPersonnel(code).loginPersonnel(code.toLowerCase())
+                    .passwordPersonnel("hash").sexe("M").rolePersonnel(RolePersonnel.ENSEIGNANT).build()));
+        }
+        for (String code : List.of("PAG-C1", "PAG-C2", "PAG-C3")) {
+            Cours cours = coursRepository.save(new Cours(code, code, code, 3, 30, null, null));
+            for (Personnel personnel : personnels) {
+                affectationRepository.save(new Affectation(
+                        new AffectationId(code, personnel.getCodePersonnel()), personnel, cours));
+            }
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<AffectationDTO> page = affectationService.getAll(cursor, 4);
+            page.getContent().forEach(a -> seen.add(a.getCodeCours() + "/" + a.getCodePersonnel()));
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasNext(), cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(2, pages);
+        assertEquals(List.of("PAG-C1/PAG-P1", "PAG-C1/PAG-P2", "PAG-C2/PAG-P1", "PAG-C2/PAG-P2",
+                "PAG-C3/PAG-P1", "PAG-C3/PAG-P2"), seen);
+    }
+
+    @Test
+    void should_reject_tampered_cursor() {
+        assertThrows(InvalidCursorException.class, () -> affectationService.getAll("pas-un-curseur!", 10));
+        assertThrows(InvalidCursorException.class, () -> affectationService.getAll("UzAwMg", 10));
+    }
+
+    @Test
+    void should_return_last_page_without_cursor() {
+        CursorPage<AffectationDTO> page = affectationService.getAll(null, 10);
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertTrue(page.getContent().size() <= 10);
+    }
+}
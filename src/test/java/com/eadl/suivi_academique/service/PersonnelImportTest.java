@@ -0,0 +1,113 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eadl.suivi_academique.dto.PersonnelDTO;
+import com.eadl.suivi_academique.dto.PersonnelImportLine;
+import com.eadl.suivi_academique.dto.PersonnelImportResult;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.services.implementation.PersonnelService;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+class PersonnelImportTest {
+
+    @Autowired
+    private PersonnelService personnelService;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void should_import_valid_rows_and_report_rejected_ones() {
+        personnelService.createPersonnel(
+                new PersonnelDTO(null, "Déjà Là", "import.existant", "motdepasse", "F", "ENSEIGNANT"));
+
+        String csv = """
+                nomPersonnel;loginPersonnel;passwordPersonnel;sexe;rolePersonnel
+                Alice Martin;import.alice;secret1;F;ENSEIGNANT
+                "Bob; dit ""Bobby""\";import.bob;secret2;M;RESPONSABLE_ACADEMIQUE
+                Claire;import.alice;secret3;F;ENSEIGNANT
+                Denis;import.existant;secret4;M;ENSEIGNANT
+                Eve;import.eve;secret5;F;DIRECTEUR
+                """;
+
+        PersonnelImportResult result = personnelService.importPersonnelsCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getImportes());
+        assertEquals(3, result.getRejetes());
+
+        List<PersonnelImportLine> lignes = result.getLignes();
+        assertEquals(PersonnelImportLine.IMPORTE, lignes.get(0).getStatut());
+        assertEquals(PersonnelImportLine.IMPORTE, lignes.get(1).getStatut());
+        assertEquals("Login en double dans l'import", lignes.get(2).getMessage());
+        assertEquals("Ce login existe déjà", lignes.get(3).getMessage());
+        assertEquals(PersonnelImportLine.REJETE, lignes.get(4).getStatut());
+
+        Personnel bob = personnelRepository.findByLoginPersonnel("import.bob").orElseThrow();
+        assertEquals("Bob; dit \"Bobby\"", bob.getNomPersonnel());
+        assertEquals(lignes.get(1).getCodePersonnel(), bob.getCodePersonnel());
+        assertTrue(bob.getCodePersonnel().startsWith("RA"));
+        assertTrue(bob.getPasswordPersonnel().startsWith("{bcrypt}"));
+        assertNotNull(personnelRepository.findByLoginPersonnel("import.alice").orElse(null));
+    }
+
+    @Test
+    void should_commit_each_chunk_outside_the_caller_transaction() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        outer.executeWithoutResult(status -> {
+            personnelService.importPersonnels(List.of(
+                    new PersonnelDTO(null, "Hors Transaction", "import.isole", "secret", "F", "ENSEIGNANT")));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(personnelRepository.findByLoginPersonnel("import.isole").isPresent());
+    }
+
+    @Test
+    void should_detach_only_the_inserted_personnels() {
+        personnelService.createPersonnel(
+                new PersonnelDTO(null, "Appelant", "import.appelant", "motdepasse", "M", "ENSEIGNANT"));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Personnel appelant = personnelRepository.findByLoginPersonnel("import.appelant").orElseThrow();
+            Personnel insere = Personnel.builder()
+                    .codePersonnel("ENSIMPORT01")
+                    .nomPersonnel("Inséré")
+                    .loginPersonnel("import.insere")
+                    .passwordPersonnel("{noop}x")
+                    .sexe("F")
+                    .rolePersonnel(RolePersonnel.ENSEIGNANT)
+                    .build();
+
+            personnelRepository.insertAll(List.of(insere));
+
+            assertTrue(entityManager.contains(appelant));
+            assertFalse(entityManager.contains(insere));
+        });
+    }
+}
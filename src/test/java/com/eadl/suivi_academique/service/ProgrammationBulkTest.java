@@ -0,0 +1,134 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eadl.suivi_academique.dto.ProgrammationRequest;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationConflictException;
+import com.eadl.suivi_academique.exceptions.salleexception.SalleNotFoundException;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.scheduling.ProgrammationConflictDetector;
+import com.eadl.suivi_academique.services.implementation.ProgrammationService;
+import com.eadl.suivi_academique.support.SqlStatementCounter;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+
+@SpringBootTest
+@Transactional
+@Import(SqlStatementCounter.class)
+class ProgrammationBulkTest {
+
+    private static final LocalDateTime MONDAY_8H = LocalDateTime.of(2030, 1, 1, 8, 0);
+    private static final int ROOMS = 4;
+
+    @Autowired
+    private ProgrammationService programmationService;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    @Autowired
+    private ProgrammationConflictDetector conflictDetector;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROOMS; i++) {
+            salleRepository.save(new Salle("BULK-S" + i, "Salle " + i, 40, SalleStatus.LIBRE, null));
+            personnelRepository.save(Personnel.builder()
+                    .codePersonnel("BULK-P" + i).nomPersonnel("Enseignant " + i).loginPersonnel("bulk.p" + i)
+                    .passwordPersonnel("hash").sexe("F").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+        }
+        coursRepository.save(new Cours("BULK-C1", "Analyse", "Analyse", 3, 30, null, null));
+        programmationRepository.flush();
+    }
+
+    @Test
+    void should_insert_a_batch_with_grouped_lookups_and_batched_inserts() {
+        // Quatre salles, chacune avec son enseignant, sur 50 créneaux consécutifs
+        List<ProgrammationRequest> requests = new ArrayList<>();
+        for (int hour = 0; hour < 50; hour++) {
+            for (int i = 0; i < ROOMS; i++) {
+                requests.add(request("BULK-S" + i, "BULK-P" + i, hour, hour + 1));
+            }
+        }
+        int indexed = conflictDetector.size();
+        sqlStatementCounter.reset();
+
+        List<ProgrammationSummary> created = programmationService.createProgrammations(requests);
+        programmationRepository.flush();
+
+        assertEquals(200, created.size());
+        assertEquals(200, created.stream().mapToInt(ProgrammationSummary::getCodeProgrammation).distinct().count());
+        assertEquals("Analyse", created.get(0).getLabelCours());
+        assertEquals(indexed + 200, conflictDetector.size());
+        // 3 lectures IN + quelques réservations d'identifiants + 4 lots de 50 INSERT (contre plus de 200 requêtes une à une)
+        assertTrue(sqlStatementCounter.count() < 20, "requêtes SQL : " + sqlStatementCounter.count());
+    }
+
+    @Test
+    void should_reject_the_whole_batch_on_a_conflict_inside_it() {
+        int indexed = conflictDetector.size();
+        List<ProgrammationRequest> requests = List.of(
+                request("BULK-S0", "BULK-P0", 0, 2),
+                request("BULK-S1", "BULK-P1", 0, 2),
+                // Même enseignant que le premier, dans une autre salle
+                request("BULK-S2", "BULK-P0", 1, 3));
+
+        ProgrammationConflictException conflict = assertThrows(ProgrammationConflictException.class,
+                () -> programmationService.createProgrammations(requests));
+
+        assertTrue(conflict.getMessage().startsWith("Élément 3 du lot"));
+        assertEquals(indexed, conflictDetector.size());
+    }
+
+    @Test
+    void should_report_every_unknown_reference() {
+        List<ProgrammationRequest> requests = List.of(
+                request("BULK-S0", "BULK-P0", 0, 1),
+                request("BULK-X1", "BULK-P0", 1, 2),
+                request("BULK-X2", "BULK-P0", 2, 3));
+
+        SalleNotFoundException notFound = assertThrows(SalleNotFoundException.class,
+                () -> programmationService.createProgrammations(requests));
+
+        assertEquals("Salles introuvables : BULK-X1, BULK-X2", notFound.getMessage());
+    }
+
+    private static ProgrammationRequest request(String codeSalle, String codePersonnel, int fromHour, int toHour) {
+        return new ProgrammationRequest(0, toHour - fromHour, null,
+                MONDAY_8H.plusHours(fromHour),
+                MONDAY_8H.plusHours(toHour),
+                "PROGAMME", codeSalle, "BULK-C1", codePersonnel, null);
+    }
+}
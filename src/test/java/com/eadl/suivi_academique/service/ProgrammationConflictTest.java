@@ -0,0 +1,82 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eadl.suivi_academique.dto.ProgrammationRequest;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationConflictException;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.services.implementation.ProgrammationService;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+
+@SpringBootTest
+@Transactional
+class ProgrammationConflictTest {
+
+    private static final LocalDateTime MONDAY_8H = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    @Autowired
+    private ProgrammationService programmationService;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @BeforeEach
+    void setUp() {
+        salleRepository.save(new Salle("CONF-S1", "Salle 1", 40, SalleStatus.LIBRE, null));
+        salleRepository.save(new Salle("CONF-S2", "Salle 2", 40, SalleStatus.LIBRE, null));
+        coursRepository.save(new Cours("CONF-C1", "Algèbre", "Algèbre", 3, 30, null, null));
+        for (String code : new String[] { "CONF-P1", "CONF-P2", "CONF-V" }) {
+            personnelRepository.save(Personnel.builder()
+                    .codePersonnel(code).nomPersonnel(code).loginPersonnel(code.toLowerCase())
+                    .passwordPersonnel("hash").sexe("F").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+        }
+    }
+
+    @Test
+    void should_reject_overlapping_booking_of_the_same_room() {
+        assertNotNull(programmationService.createProgrammation(request("CONF-S1", "CONF-P1", 0, 2)));
+        // Créneau contigu : accepté
+        assertNotNull(programmationService.createProgrammation(request("CONF-S1", "CONF-P2", 2, 4)));
+
+        assertThrows(ProgrammationConflictException.class,
+                () -> programmationService.createProgrammation(request("CONF-S1", "CONF-P2", 1, 3)));
+    }
+
+    @Test
+    void should_reject_teacher_booked_in_another_room() {
+        programmationService.createProgrammation(request("CONF-S1", "CONF-P1", 0, 2));
+
+        assertThrows(ProgrammationConflictException.class,
+                () -> programmationService.createProgrammation(request("CONF-S2", "CONF-P1", 1, 2)));
+        assertNotNull(programmationService.createProgrammation(request("CONF-S2", "CONF-P2", 1, 2)));
+    }
+
+    private static ProgrammationRequest request(String codeSalle, String codePersonnel, int fromHour, int toHour) {
+        return new ProgrammationRequest(0, toHour - fromHour,
+                MONDAY_8H,
+                MONDAY_8H.plusHours(fromHour),
+                MONDAY_8H.plusHours(toHour),
+                "PROGAMME", codeSalle, "CONF-C1", codePersonnel, "CONF-V");
+    }
+}
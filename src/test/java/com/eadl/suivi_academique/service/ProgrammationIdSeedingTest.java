@@ -0,0 +1,109 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Programmation;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.utils.CodeGenerator;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+
+// Contexte neuf : le générateur ne doit encore avoir distribué aucun bloc
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+class ProgrammationIdSeedingTest {
+
+    private static final int EXISTING_ROWS = 120;
+    private static final LocalDateTime DEBUT = LocalDateTime.of(2033, 9, 5, 8, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CodeGenerator codeGenerator;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @AfterEach
+    void cleanUp() {
+        programmationRepository.deleteAllInBatch();
+        salleRepository.deleteById("SEED-S");
+        coursRepository.deleteById("SEED-C");
+        personnelRepository.deleteById("SEED-P");
+    }
+
+    @Test
+    void should_generate_ids_above_the_rows_present_once_the_counter_is_seeded_at_startup() {
+        salleRepository.save(new Salle("SEED-S", "Salle", 40, SalleStatus.LIBRE, null));
+        coursRepository.save(new Cours("SEED-C", "Géométrie", "Géométrie", 3, 30, null, null));
+        personnelRepository.save(Personnel.builder()
+                .codePersonnel("SEED-P").nomPersonnel("Seed").loginPersonnel("seed.p")
+                .passwordPersonnel("hash").sexe("F").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+
+        // Lignes antérieures au générateur, avec leurs identifiants AUTO_INCREMENT
+        jdbcTemplate.batchUpdate("INSERT INTO programmation (code_programmation, nb_heure_progammation, "
+                + "date_progammation, debut_progammation, fin_progammation, status_programmation, "
+                + "code_salle, code_cours, code_personnel_prog) VALUES (?, 2, ?, ?, ?, 'PROGAMME', 'SEED-S', 'SEED-C', 'SEED-P')",
+                existingRows());
+        // Base existante sans compteur : amorçage du démarrage, qui ne touche pas un compteur présent
+        jdbcTemplate.update("DELETE FROM code_sequence WHERE code_sequence = 'PROGRAMMATION'");
+        codeGenerator.seedSequences();
+        codeGenerator.seedSequences();
+        assertEquals((long) EXISTING_ROWS + Programmation.ID_ALLOCATION_SIZE, jdbcTemplate.queryForObject(
+                "SELECT next_value FROM code_sequence WHERE code_sequence = 'PROGRAMMATION'", Long.class));
+
+        // Plus d'un bloc d'allocation
+        List<Programmation> programmations = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            programmations.add(new Programmation(0, 2, DEBUT, DEBUT.plusDays(i), DEBUT.plusDays(i).plusHours(2),
+                    StatusProgrammation.PROGAMME, salleRepository.getReferenceById("SEED-S"),
+                    coursRepository.getReferenceById("SEED-C"), personnelRepository.getReferenceById("SEED-P"), null));
+        }
+        List<Integer> ids = programmationRepository.saveAll(programmations).stream()
+                .map(Programmation::getCodeProgrammation)
+                .toList();
+
+        assertTrue(ids.stream().allMatch(id -> id > EXISTING_ROWS), ids::toString);
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(EXISTING_ROWS + 60, programmationRepository.count());
+    }
+
+    private static List<Object[]> existingRows() {
+        List<Object[]> rows = new ArrayList<>(EXISTING_ROWS);
+        for (int id = 1; id <= EXISTING_ROWS; id++) {
+            LocalDateTime debut = DEBUT.minusYears(1).plusDays(id);
+            rows.add(new Object[] { id, debut, debut, debut.plusHours(2) });
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,135 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.eadl.suivi_academique.dto.ProgrammationRequest;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.dto.ValidationBatchDTO;
+import com.eadl.suivi_academique.dto.ValidationRequest;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.exceptions.programmationexception.InvalidProgrammationException;
+import com.eadl.suivi_academique.exceptions.programmationexception.ProgrammationConflictException;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.scheduling.ProgrammationConflictDetector;
+import com.eadl.suivi_academique.services.implementation.ProgrammationService;
+import com.eadl.suivi_academique.services.implementation.ValidationService;
+import com.eadl.suivi_academique.utils.JobStatus;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+import com.eadl.suivi_academique.utils.StatusProgrammation;
+
+// Pas de @Transactional : les lots sont appliqués sur des threads virtuels, dans leurs propres transactions
+@SpringBootTest
+class ProgrammationValidationTest {
+
+    private static final LocalDateTime MONDAY_8H = LocalDateTime.of(2030, 1, 1, 8, 0);
+    private static final int PROGRAMMATIONS = 30;
+
+    @Autowired
+    private ValidationService validationService;
+
+    @Autowired
+    private ProgrammationService programmationService;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    @Autowired
+    private ProgrammationConflictDetector conflictDetector;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    private List<Integer> codes;
+
+    @BeforeEach
+    void setUp() {
+        salleRepository.save(new Salle("VALID-S1", "Salle validation", 40, SalleStatus.LIBRE, null));
+        coursRepository.save(new Cours("VALID-C1", "Statistiques", "Statistiques", 3, 30, null, null));
+        for (String code : List.of("VALID-P1", "VALID-V1")) {
+            personnelRepository.save(Personnel.builder()
+                    .codePersonnel(code).nomPersonnel(code).loginPersonnel(code.toLowerCase())
+                    .passwordPersonnel("hash").sexe("F").rolePersonnel(RolePersonnel.RESPONSABLE_ACADEMIQUE).build());
+        }
+        List<ProgrammationRequest> requests = new ArrayList<>();
+        for (int hour = 0; hour < PROGRAMMATIONS; hour++) {
+            requests.add(new ProgrammationRequest(0, 1, null,
+                    MONDAY_8H.plusHours(hour), MONDAY_8H.plusHours(hour + 1),
+                    "PROGAMME", "VALID-S1", "VALID-C1", "VALID-P1", null));
+        }
+        codes = programmationService.createProgrammations(requests).stream()
+                .map(ProgrammationSummary::getCodeProgrammation)
+                .toList();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        programmationRepository.deleteAllById(codes);
+        coursRepository.deleteById("VALID-C1");
+        salleRepository.deleteById("VALID-S1");
+        personnelRepository.deleteAllById(List.of("VALID-P1", "VALID-V1"));
+        conflictDetector.rebuild();
+    }
+
+    @Test
+    void should_change_status_once_and_record_the_validator() {
+        ProgrammationSummary validated = validationService.changeStatus(codes.get(0), "VALIDE", "VALID-V1");
+
+        assertEquals(StatusProgrammation.VALIDE, validated.getStatusProgrammation());
+        assertEquals("VALID-V1", validated.getCodePersonnelVal());
+        assertEquals(codes.get(0), validated.getCodeProgrammation());
+        // Déjà validée : la transition n'est plus possible
+        assertThrows(ProgrammationConflictException.class,
+                () -> validationService.changeStatus(codes.get(0), "NON_VALIDE", "VALID-V1"));
+        assertThrows(InvalidProgrammationException.class,
+                () -> validationService.changeStatus(codes.get(1), "PROGAMME", "VALID-V1"));
+    }
+
+    @Test
+    void should_reject_a_batch_and_free_the_slots() throws Exception {
+        validationService.changeStatus(codes.get(0), "VALIDE", "VALID-V1");
+        int indexed = conflictDetector.size();
+
+        ValidationBatchDTO batch = validationService.submit(new ValidationRequest("NON_VALIDE", codes), "VALID-V1");
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (isRunning(batch) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            batch = validationService.getBatch(batch.getLotId());
+        }
+
+        assertEquals(JobStatus.TERMINE.name(), batch.getStatut(), batch.getMessage());
+        assertEquals(PROGRAMMATIONS, batch.getTraitees());
+        assertEquals(PROGRAMMATIONS - 1, batch.getModifiees());
+        assertEquals(1, batch.getIgnorees());
+        assertEquals(indexed - (PROGRAMMATIONS - 1), conflictDetector.size());
+        assertEquals(PROGRAMMATIONS - 1, programmationRepository.findCodesByStatus(codes, StatusProgrammation.NON_VALIDE).size());
+    }
+
+    private static boolean isRunning(ValidationBatchDTO batch) {
+        return batch.getStatut().equals(JobStatus.EN_ATTENTE.name())
+                || batch.getStatut().equals(JobStatus.EN_COURS.name());
+    }
+}
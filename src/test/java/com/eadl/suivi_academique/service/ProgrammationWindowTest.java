@@ -0,0 +1,140 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eadl.suivi_academique.dto.CursorPage;
+import com.eadl.suivi_academique.dto.ProgrammationRequest;
+import com.eadl.suivi_academique.dto.ProgrammationSummary;
+import com.eadl.suivi_academique.dto.ProgrammationWindowFilter;
+import com.eadl.suivi_academique.entities.Cours;
+import com.eadl.suivi_academique.entities.Personnel;
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.exceptions.programmationexception.InvalidProgrammationException;
+import com.eadl.suivi_academique.repositories.CoursRepository;
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.services.implementation.ProgrammationService;
+import com.eadl.suivi_academique.utils.RolePersonnel;
+import com.eadl.suivi_academique.utils.SalleStatus;
+
+@SpringBootTest
+@Transactional
+class ProgrammationWindowTest {
+
+    // Lundi 7 janvier 2030 : semaine 2030-W02
+    private static final LocalDateTime MONDAY_8H = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+    @Autowired
+    private ProgrammationService programmationService;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        coursRepository.save(new Cours("WIN-C1", "Géométrie", "Géométrie", 3, 30, null, null));
+        for (int i = 1; i <= 2; i++) {
+            salleRepository.save(new Salle("WIN-S" + i, "Salle " + i, 40, SalleStatus.LIBRE, null));
+            personnelRepository.save(Personnel.builder()
+                    .codePersonnel("WIN-P" + i).nomPersonnel("Enseignant " + i).loginPersonnel("win.p" + i)
+                    .passwordPersonnel("hash").sexe("M").rolePersonnel(RolePersonnel.ENSEIGNANT).build());
+        }
+        // Deux salles occupées aux mêmes heures, du lundi au vendredi, puis le lundi suivant
+        List<ProgrammationRequest> requests = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            for (int i = 1; i <= 2; i++) {
+                requests.add(request("WIN-S" + i, "WIN-P" + i, MONDAY_8H.plusDays(day)));
+            }
+        }
+        requests.add(request("WIN-S1", "WIN-P1", MONDAY_8H.plusWeeks(1)));
+        programmationService.createProgrammations(requests);
+    }
+
+    @Test
+    void should_return_sessions_of_a_day_a_week_or_a_custom_window() {
+        assertEquals(2, page(window().jour(LocalDate.of(2030, 1, 9)), null, 50).getContent().size());
+        assertEquals(5, page(window().codeSalle("WIN-S1").semaine("2030-W02"), null, 50).getContent().size());
+        assertEquals(1, page(window().codePersonnel("WIN-P1").semaine("2030-W03"), null, 50).getContent().size());
+        // Borne haute exclue : la séance de 8 h le mercredi n'est pas dans [lundi 8 h, mercredi 8 h)
+        assertEquals(4, page(window().debut(MONDAY_8H).fin(MONDAY_8H.plusDays(2)), null, 50).getContent().size());
+    }
+
+    @Test
+    void should_page_in_chronological_order_across_equal_start_times() {
+        List<ProgrammationSummary> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ProgrammationSummary> page = page(window().semaine("2030-W02"), cursor, 3);
+            all.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(10, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            ProgrammationSummary previous = all.get(i - 1);
+            ProgrammationSummary current = all.get(i);
+            assertFalse(current.getDebutProgammation().isBefore(previous.getDebutProgammation()));
+            assertTrue(current.getDebutProgammation().isAfter(previous.getDebutProgammation())
+                    || current.getCodeProgrammation() > previous.getCodeProgrammation());
+        }
+    }
+
+    @Test
+    void should_reject_ambiguous_or_empty_windows() {
+        assertThrows(InvalidProgrammationException.class, () -> page(window(), null, 50));
+        assertThrows(InvalidProgrammationException.class,
+                () -> page(window().jour(LocalDate.of(2030, 1, 7)).semaine("2030-W02"), null, 50));
+        assertThrows(InvalidProgrammationException.class,
+                () -> page(window().debut(MONDAY_8H).fin(MONDAY_8H), null, 50));
+        assertThrows(InvalidProgrammationException.class,
+                () -> page(window().codeSalle("WIN-S1").codePersonnel("WIN-P1").semaine("2030-W02"), null, 50));
+    }
+
+    @Test
+    void should_create_composite_indexes_on_start_date() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE LOWER(TABLE_NAME) = 'programmation'",
+                String.class);
+
+        assertTrue(indexes.containsAll(List.of("idx_programmation_salle_debut",
+                "idx_programmation_personnel_prog_debut", "idx_programmation_debut")), indexes.toString());
+    }
+
+    private CursorPage<ProgrammationSummary> page(ProgrammationWindowFilter.ProgrammationWindowFilterBuilder filter,
+            String cursor, int size) {
+        return programmationService.getProgrammationsInWindow(filter.build(), cursor, size);
+    }
+
+    private static ProgrammationWindowFilter.ProgrammationWindowFilterBuilder window() {
+        return ProgrammationWindowFilter.builder();
+    }
+
+    private static ProgrammationRequest request(String codeSalle, String codePersonnel, LocalDateTime debut) {
+        return new ProgrammationRequest(0, 2, null, debut, debut.plusHours(2),
+                "PROGAMME", codeSalle, "WIN-C1", codePersonnel, null);
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.eadl.suivi_academique.cache.CacheInvalidationBus;
 import com.eadl.suivi_academique.config.RequestContextProvider;
 import com.eadl.suivi_academique.config.CurrentUserProvider;
 import com.eadl.suivi_academique.dto.SalleDTO;
@@ -19,8 +20,10 @@ import com.eadl.suivi_academique.entities.Salle;
 import com.eadl.suivi_academique.exceptions.salleexception.InvalidSalleException;
 import com.eadl.suivi_academique.mappers.SalleMapper;
 import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.scheduling.SalleAvailabilityIndex;
 import com.eadl.suivi_academique.services.implementation.SalleService;
 
+import com.eadl.suivi_academique.utils.CachedEntity;
 import com.eadl.suivi_academique.utils.SalleStatus;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +44,12 @@ public class SalleServiceTest {
     @Mock
     private CurrentUserProvider currentUserProvider;
 
+    @Mock
+    private SalleAvailabilityIndex salleAvailabilityIndex;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @Test
     void should_create_salle_successfully() {
         // GIVEN (préparation)
@@ -82,6 +91,7 @@ public class SalleServiceTest {
         verify(salleRepository).existsById("S001");
         verify(salleRepository).save(salle);
         verify(salleMapper).toDTO(salle);
+        verify(cacheInvalidationBus).publish(CachedEntity.SALLE, "S001");
     }
 
     @Test
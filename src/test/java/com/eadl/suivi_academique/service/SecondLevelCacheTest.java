@@ -0,0 +1,52 @@
+package com.eadl.suivi_academique.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.eadl.suivi_academique.entities.Salle;
+import com.eadl.suivi_academique.repositories.SalleRepository;
+import com.eadl.suivi_academique.support.SqlStatementCounter;
+import com.eadl.suivi_academique.utils.SalleStatus;
+
+// Pas de @Transactional : chaque lecture ouvre sa propre session, seul le cache L2 est partagé
+@SpringBootTest
+@Import(SqlStatementCounter.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @AfterEach
+    void cleanUp() {
+        salleRepository.deleteById("L2-S1");
+    }
+
+    @Test
+    void should_serve_entities_and_query_results_from_the_second_level_cache() {
+        salleRepository.save(new Salle("L2-S1", "Amphi", 300, SalleStatus.LIBRE, null));
+        salleRepository.findById("L2-S1");
+        salleRepository.findByContenanceGreaterThanEqualsNamed(250);
+        sqlStatementCounter.reset();
+
+        assertEquals(300, salleRepository.findById("L2-S1").orElseThrow().getContenance());
+        assertTrue(salleRepository.findByContenanceGreaterThanEqualsNamed(250).stream()
+                .anyMatch(salle -> salle.getCodeSalle().equals("L2-S1")));
+        assertEquals(0, sqlStatementCounter.count());
+
+        // Une écriture sur la table invalide les résultats de requêtes mis en cache
+        Salle salle = salleRepository.findById("L2-S1").orElseThrow();
+        salle.setContenance(200);
+        salleRepository.save(salle);
+        assertTrue(salleRepository.findByContenanceGreaterThanEqualsNamed(250).stream()
+                .noneMatch(s -> s.getCodeSalle().equals("L2-S1")));
+    }
+}
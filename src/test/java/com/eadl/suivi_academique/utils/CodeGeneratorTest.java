@@ -0,0 +1,134 @@
+package com.eadl.suivi_academique.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eadl.suivi_academique.repositories.PersonnelRepository;
+import com.eadl.suivi_academique.repositories.ProgrammationRepository;
+
+// Autant de threads que de connexions : chaque appelant tient déjà la sienne quand il réserve
+@SpringBootTest(properties = {
+    "spring.datasource.hikari.maximum-pool-size=" + CodeGeneratorTest.THREADS,
+    "spring.datasource.hikari.connection-timeout=5000"
+})
+class CodeGeneratorTest {
+
+    static final int THREADS = 8;
+    private static final int CODES_PER_THREAD = 25;
+
+    @Autowired
+    private CodeGenerator codeGenerator;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void should_hand_out_unique_codes_to_concurrent_transactions_without_a_second_pool_connection() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ConcurrentLinkedQueue<String> committed = new ConcurrentLinkedQueue<>();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                boolean rollback = t % 4 == 0;
+                workers.add(CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+                    personnelRepository.count();
+                    await(start);
+                    List<String> codes = new ArrayList<>();
+                    for (int i = 0; i < CODES_PER_THREAD; i++) {
+                        codes.add(codeGenerator.generate("ENSEIGNANT"));
+                    }
+                    codes.addAll(codeGenerator.generate("ENSEIGNANT", 5));
+                    if (rollback) {
+                        status.setRollbackOnly();
+                    } else {
+                        committed.addAll(codes);
+                    }
+                }), pool));
+            }
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int committedThreads = THREADS - (THREADS + 3) / 4;
+        assertEquals(committedThreads * (CODES_PER_THREAD + 5), committed.size());
+        assertEquals(committed.size(), new HashSet<>(committed).size());
+        assertTrue(committed.stream().allMatch(code -> code.startsWith("ENS")));
+    }
+
+    @Test
+    void should_create_a_missing_counter_once_when_two_nodes_race() throws Exception {
+        String sequenceKey = "RD" + LocalDate.now().getYear();
+        jdbcTemplate.update("DELETE FROM code_sequence WHERE code_sequence = ?", sequenceKey);
+        // Deux nœuds : chacun son bloc en mémoire, le compteur en base est partagé
+        List<CodeGenerator> nodes = List.of(newNode(), newNode());
+        CyclicBarrier start = new CyclicBarrier(nodes.size());
+        ExecutorService pool = Executors.newFixedThreadPool(nodes.size());
+        try {
+            List<CompletableFuture<List<String>>> workers = new ArrayList<>();
+            for (CodeGenerator node : nodes) {
+                workers.add(CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return node.generate("RESPONSABLE_DISCIPLINE", 3);
+                }, pool));
+            }
+            List<String> codes = new ArrayList<>();
+            for (CompletableFuture<List<String>> worker : workers) {
+                codes.addAll(worker.get(60, TimeUnit.SECONDS));
+            }
+
+            assertEquals(6, new HashSet<>(codes).size());
+            assertTrue(codes.stream().allMatch(code -> code.startsWith(sequenceKey)));
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM code_sequence WHERE code_sequence = ?", Integer.class, sequenceKey));
+        } finally {
+            pool.shutdownNow();
+            nodes.forEach(CodeGenerator::close);
+        }
+    }
+
+    private CodeGenerator newNode() {
+        return new CodeGenerator(personnelRepository, programmationRepository, dataSourceProperties, 20, 2);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
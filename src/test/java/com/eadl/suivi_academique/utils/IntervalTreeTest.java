@@ -0,0 +1,68 @@
+package com.eadl.suivi_academique.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntervalTreeTest {
+
+    @Test
+    void should_treat_intervals_as_half_open() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, 10, 20);
+
+        assertEquals(-1, tree.findFirstOverlap(20, 30, -1));
+        assertEquals(-1, tree.findFirstOverlap(0, 10, -1));
+        assertEquals(1, tree.findFirstOverlap(19, 21, -1));
+        assertEquals(1, tree.findFirstOverlap(12, 15, -1));
+        assertEquals(-1, tree.findFirstOverlap(12, 15, 1));
+
+        tree.put(1, 30, 40);
+        assertEquals(-1, tree.findFirstOverlap(12, 15, -1));
+        assertTrue(tree.remove(1));
+        assertFalse(tree.remove(1));
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    void should_match_brute_force_after_random_updates() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Integer, long[]> expected = new HashMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            int id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(id) != null, tree.remove(id));
+            } else {
+                long start = random.nextInt(10_000);
+                long end = start + random.nextInt(200);
+                tree.put(id, start, end);
+                expected.put(id, new long[] { start, end });
+            }
+
+            long queryStart = random.nextInt(10_000);
+            long queryEnd = queryStart + 1 + random.nextInt(300);
+            List<Integer> overlaps = new ArrayList<>();
+            expected.forEach((key, interval) -> {
+                if (interval[0] < queryEnd && interval[1] > queryStart && interval[0] < interval[1]) {
+                    overlaps.add(key);
+                }
+            });
+
+            List<Integer> found = tree.findOverlaps(queryStart, queryEnd);
+            assertEquals(overlaps.size(), found.size());
+            assertTrue(found.containsAll(overlaps));
+            assertEquals(overlaps.isEmpty(), tree.findFirstOverlap(queryStart, queryEnd, -1) < 0);
+        }
+        assertEquals(expected.size(), tree.size());
+    }
+}
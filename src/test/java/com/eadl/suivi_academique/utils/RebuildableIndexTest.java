@@ -0,0 +1,73 @@
+package com.eadl.suivi_academique.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.jupiter.api.Test;
+
+// Les écritures « concurrentes » sont faites depuis le chargement lui-même, hors verrou
+class RebuildableIndexTest {
+
+    private final Set<String> index = new TreeSet<>();
+    private final RebuildableIndex rebuildable = new RebuildableIndex(new ReentrantReadWriteLock().writeLock());
+
+    @Test
+    void should_replay_writes_applied_while_loading() {
+        index.add("ancien");
+
+        rebuildable.rebuild(() -> {
+            rebuildable.write(() -> index.add("pendant"));
+            rebuildable.write(() -> index.remove("charge"));
+            return List.of("charge", "autre");
+        }, this::swap);
+
+        assertEquals(Set.of("autre", "pendant"), index);
+    }
+
+    @Test
+    void should_reload_instead_of_replaying_a_clear_over_reloaded_data() {
+        // L'insertion est validée après le vidage mais notifiée avant lui : le second
+        // chargement la voit, rejouer le vidage l'effacerait
+        AtomicInteger loads = new AtomicInteger();
+        List<List<String>> database = List.of(List.of("perime"), List.of("valide-apres"));
+
+        rebuildable.rebuild(() -> {
+            int load = loads.getAndIncrement();
+            if (load == 0) {
+                rebuildable.write(() -> index.add("valide-apres"));
+                rebuildable.clear(index::clear);
+            }
+            return database.get(load);
+        }, this::swap);
+
+        assertEquals(2, loads.get());
+        assertEquals(Set.of("valide-apres"), index);
+    }
+
+    @Test
+    void should_keep_the_current_index_when_loading_fails() {
+        index.add("courant");
+
+        assertThrows(IllegalStateException.class, () -> rebuildable.rebuild(() -> {
+            rebuildable.write(() -> index.add("pendant"));
+            throw new IllegalStateException("base indisponible");
+        }, this::swap));
+        assertEquals(Set.of("courant", "pendant"), index);
+
+        rebuildable.rebuild(() -> new ArrayList<>(List.of("recharge")), this::swap);
+
+        assertEquals(Set.of("recharge"), index);
+    }
+
+    private void swap(List<String> loaded) {
+        index.clear();
+        index.addAll(loaded);
+    }
+}